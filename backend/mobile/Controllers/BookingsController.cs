@@ -6,6 +6,7 @@
 using Microsoft.AspNetCore.Mvc;
 using EVChargingAPI.Services;
 using EVChargingAPI.Models;
+using MongoDB.Bson;
 using MongoDB.Driver;
 
 namespace EVChargingAPI.Controllers
@@ -15,18 +16,59 @@ namespace EVChargingAPI.Controllers
     public class BookingsController : ControllerBase
     {
         private readonly MongoDBService _mongoDBService;
+        private readonly ChargingStationService _chargingStationService;
 
-        public BookingsController(MongoDBService mongoDBService)
+        public BookingsController(MongoDBService mongoDBService, ChargingStationService chargingStationService)
         {
             _mongoDBService = mongoDBService;
+            _chargingStationService = chargingStationService;
         }
 
-        // GET: api/bookings/user/{userId}
+        // GET: api/bookings/user/{userId}?status=&completed=&from=&to=&order=&page=&limit=
+        // All filters are optional; without page/limit the whole history is returned as before.
+        // The total number of matches is sent in X-Total-Count so clients know when to stop paging
         [HttpGet("user/{userId}")]
-        public async Task<IActionResult> GetUserBookings(string userId)
+        public async Task<IActionResult> GetUserBookings(string userId,
+            [FromQuery] string? status, [FromQuery] bool? completed,
+            [FromQuery] DateTime? from, [FromQuery] DateTime? to,
+            [FromQuery] string? order, [FromQuery] int? page, [FromQuery] int? limit)
         {
-            var filter = Builders<Booking>.Filter.Eq(b => b.UserId, userId);
-            var bookings = await _mongoDBService.Bookings.Find(filter).ToListAsync();
+            var builder = Builders<Booking>.Filter;
+            var filter = builder.Eq(b => b.UserId, userId);
+
+            if (!string.IsNullOrWhiteSpace(status))
+            {
+                var statuses = status.Split(',', StringSplitOptions.RemoveEmptyEntries | StringSplitOptions.TrimEntries);
+                filter &= builder.In(b => b.Status, statuses);
+            }
+            if (completed.HasValue)
+            {
+                filter &= builder.Eq(b => b.IsCompleted, completed.Value);
+            }
+            if (from.HasValue)
+            {
+                filter &= builder.Gte(b => b.StartTime, from.Value.ToUniversalTime());
+            }
+            if (to.HasValue)
+            {
+                filter &= builder.Lt(b => b.StartTime, to.Value.ToUniversalTime());
+            }
+
+            var find = _mongoDBService.Bookings.Find(filter);
+            find = string.Equals(order, "desc", StringComparison.OrdinalIgnoreCase)
+                ? find.SortByDescending(b => b.StartTime).ThenByDescending(b => b.Id)
+                : find.SortBy(b => b.StartTime).ThenBy(b => b.Id);
+
+            if (page.HasValue || limit.HasValue)
+            {
+                var pageSize = Math.Clamp(limit ?? 20, 1, MaxPageSize);
+                var pageNumber = Math.Max(page ?? 1, 1);
+                var total = await _mongoDBService.Bookings.CountDocumentsAsync(filter);
+                Response.Headers["X-Total-Count"] = total.ToString();
+                find = find.Skip((pageNumber - 1) * pageSize).Limit(pageSize);
+            }
+
+            var bookings = await find.ToListAsync();
             return Ok(bookings);
         }
 
@@ -40,15 +82,41 @@ public async Task<IActionResult> CreateBooking([FromBody] Booking booking)
         return BadRequest(new { message = "Booking can only be made within 7 days" });
     }
 
+    // A retry carrying the same Idempotency-Key gets the booking created the first time
+    var idempotencyKey = Request.Headers["Idempotency-Key"].ToString();
+    if (!string.IsNullOrEmpty(idempotencyKey))
+    {
+        var existing = await FindByIdempotencyKeyAsync(idempotencyKey);
+        if (existing != null)
+        {
+            return Ok(new { message = "Booking created successfully", bookingId = existing.Id });
+        }
+        booking.IdempotencyKey = idempotencyKey;
+    }
+
     booking.CreatedAt = DateTime.UtcNow;
     booking.UpdatedAt = DateTime.UtcNow;
     booking.Status = "pending";
     booking.IsCompleted = false; // Ensure it's false when creating
     
-    await _mongoDBService.Bookings.InsertOneAsync(booking);
+    try
+    {
+        await _mongoDBService.Bookings.InsertOneAsync(booking);
+    }
+    catch (MongoWriteException ex) when (ex.WriteError.Category == ServerErrorCategory.DuplicateKey && booking.IdempotencyKey != null)
+    {
+        // Lost a race with a concurrent retry of the same request
+        var existing = await FindByIdempotencyKeyAsync(booking.IdempotencyKey);
+        return Ok(new { message = "Booking created successfully", bookingId = existing?.Id });
+    }
     return Ok(new { message = "Booking created successfully", bookingId = booking.Id });
 }
 
+private async Task<Booking?> FindByIdempotencyKeyAsync(string idempotencyKey)
+{
+    return await _mongoDBService.Bookings.Find(b => b.IdempotencyKey == idempotencyKey).FirstOrDefaultAsync();
+}
+
         // PUT: api/bookings/{id}
         [HttpPut("{id}")]
         public async Task<IActionResult> UpdateBooking(string id, [FromBody] Booking updatedBooking)
@@ -65,7 +133,18 @@ public async Task<IActionResult> CreateBooking([FromBody] Booking booking)
                 return BadRequest(new { message = "Cannot update booking within 12 hours of start time" });
             }
 
+            // X-Base-Updated-At: the version the client edited. If the booking has changed since
+            // (e.g. an operator approved it), answer 409 with the current copy and let the client resolve it.
+            var baseHeader = Request.Headers["X-Base-Updated-At"].ToString();
+            if (!string.IsNullOrEmpty(baseHeader)
+                && DateTime.TryParse(baseHeader, null, System.Globalization.DateTimeStyles.AdjustToUniversal | System.Globalization.DateTimeStyles.AssumeUniversal, out var baseUpdatedAt)
+                && Math.Abs((existingBooking.UpdatedAt - baseUpdatedAt).TotalMilliseconds) >= 1)
+            {
+                return Conflict(existingBooking);
+            }
+
             updatedBooking.UpdatedAt = DateTime.UtcNow;
+            updatedBooking.IdempotencyKey = existingBooking.IdempotencyKey;
             await _mongoDBService.Bookings.ReplaceOneAsync(b => b.Id == id, updatedBooking);
             return Ok(new { message = "Booking updated successfully" });
         }
@@ -81,8 +160,13 @@ public async Task<IActionResult> ApproveBooking(string id)
         return NotFound(new { message = "Booking not found" });
     }
 
-    var update = Builders<Booking>.Update.Set(b => b.Status, "confirmed");
+    var update = Builders<Booking>.Update
+        .Set(b => b.Status, "confirmed")
+        .Set(b => b.UpdatedAt, DateTime.UtcNow);
     await _mongoDBService.Bookings.UpdateOneAsync(filter, update);
+
+    // A confirmed booking may take a slot - recount and push the new availability
+    await _chargingStationService.UpdateAvailableSlotsAsync(booking.StationId);
     
     return Ok(new { message = "Booking approved successfully" });
 }
@@ -106,6 +190,7 @@ public async Task<IActionResult> CompleteBooking(string id)
         .Set(b => b.UpdatedAt, DateTime.UtcNow);
     
     await _mongoDBService.Bookings.UpdateOneAsync(filter, update);
+    await _chargingStationService.UpdateAvailableSlotsAsync(booking.StationId);
     
     return Ok(new { 
         message = "Booking completed successfully",
@@ -114,6 +199,198 @@ public async Task<IActionResult> CompleteBooking(string id)
     });
 }
 
+        // GET: api/bookings/pending?cursor={cursor}&limit={limit} (Station Operator)
+        // Bookings still waiting on an operator: pending approval or confirmed but not yet completed.
+        // Keyset paged by (startTime, id) so deep pages cost the same as the first one
+        [HttpGet("pending")]
+        public async Task<IActionResult> GetPendingBookings([FromQuery] string? cursor, [FromQuery] int limit = 50)
+        {
+            limit = Math.Clamp(limit, 1, MaxPageSize);
+
+            var builder = Builders<Booking>.Filter;
+            var filter = builder.Eq(b => b.Status, "pending") |
+                         (builder.Eq(b => b.Status, "confirmed") & builder.Eq(b => b.IsCompleted, false));
+
+            if (!string.IsNullOrEmpty(cursor))
+            {
+                if (!TryDecodePendingCursor(cursor, out var afterStart, out var afterId))
+                {
+                    return BadRequest(new { message = "Invalid cursor" });
+                }
+                filter &= builder.Gt(b => b.StartTime, afterStart) |
+                          (builder.Eq(b => b.StartTime, afterStart) & builder.Gt(b => b.Id, afterId));
+            }
+
+            // One extra row tells us whether another page exists
+            var bookings = await _mongoDBService.Bookings.Find(filter)
+                .SortBy(b => b.StartTime)
+                .ThenBy(b => b.Id)
+                .Limit(limit + 1)
+                .ToListAsync();
+
+            string? nextCursor = null;
+            if (bookings.Count > limit)
+            {
+                bookings.RemoveAt(limit);
+                var last = bookings[^1];
+                nextCursor = EncodePendingCursor(last.StartTime, last.Id!);
+            }
+
+            return Ok(new { items = bookings, nextCursor });
+        }
+
+        private const int MaxPageSize = 100;
+
+        private static string EncodePendingCursor(DateTime startTime, string id)
+        {
+            var raw = $"{startTime.ToUniversalTime().Ticks}:{id}";
+            return Convert.ToBase64String(System.Text.Encoding.UTF8.GetBytes(raw));
+        }
+
+        private static bool TryDecodePendingCursor(string cursor, out DateTime startTime, out string id)
+        {
+            startTime = default;
+            id = "";
+            try
+            {
+                var parts = System.Text.Encoding.UTF8.GetString(Convert.FromBase64String(cursor)).Split(':', 2);
+                if (parts.Length != 2 || !long.TryParse(parts[0], out var ticks) || !ObjectId.TryParse(parts[1], out _))
+                {
+                    return false;
+                }
+                startTime = new DateTime(ticks, DateTimeKind.Utc);
+                id = parts[1];
+                return true;
+            }
+            catch (FormatException)
+            {
+                return false;
+            }
+        }
+
+        // POST: api/bookings/batch/approve (Station Operator)
+        [HttpPost("batch/approve")]
+        public Task<IActionResult> ApproveBookings([FromBody] BatchBookingRequest request)
+        {
+            return ApplyBatchAsync(request, "pending", "confirmed", booking =>
+                booking.Status == "pending" ? null
+                : booking.Status == "confirmed" ? "Already approved"
+                : $"Cannot approve a {booking.Status} booking");
+        }
+
+        // POST: api/bookings/batch/complete (Station Operator)
+        // Only approved bookings can be completed
+        [HttpPost("batch/complete")]
+        public Task<IActionResult> CompleteBookings([FromBody] BatchBookingRequest request)
+        {
+            return ApplyBatchAsync(request, "confirmed", "completed", booking =>
+                booking.IsCompleted || booking.Status == "completed" ? "Already completed"
+                : booking.Status == "confirmed" ? null
+                : $"Cannot complete a {booking.Status} booking");
+        }
+
+        // One read and one write for the whole batch; rejectReason returns null for bookings that
+        // should move from fromStatus to targetStatus, "Already ..." for ones that are there already
+        // (reported as success). The write only matches bookings still in fromStatus, so one changed
+        // by another request in between is reported as a conflict rather than overwritten
+        private async Task<IActionResult> ApplyBatchAsync(BatchBookingRequest request, string fromStatus,
+            string targetStatus, Func<Booking, string?> rejectReason)
+        {
+            var ids = request.Ids.Where(id => !string.IsNullOrWhiteSpace(id)).Distinct().ToList();
+            if (ids.Count == 0 || ids.Count > BatchBookingRequest.MaxIds)
+            {
+                return BadRequest(new { message = $"Provide between 1 and {BatchBookingRequest.MaxIds} booking ids" });
+            }
+
+            // Malformed ids can't match an ObjectId - report them as not found instead of failing the query
+            var validIds = ids.Where(id => ObjectId.TryParse(id, out _)).ToList();
+            var bookings = await _mongoDBService.Bookings
+                .Find(Builders<Booking>.Filter.In(b => b.Id, validIds))
+                .ToListAsync();
+            var byId = bookings.ToDictionary(b => b.Id!);
+
+            var results = new List<BatchBookingItemResult>(ids.Count);
+            var resultIndex = new Dictionary<string, int>();
+            var toUpdate = new List<Booking>();
+            foreach (var id in ids)
+            {
+                if (!byId.TryGetValue(id, out var booking))
+                {
+                    results.Add(new BatchBookingItemResult { Id = id, Success = false, Message = "Booking not found" });
+                    continue;
+                }
+
+                var reason = rejectReason(booking);
+                if (reason == null)
+                {
+                    toUpdate.Add(booking);
+                    resultIndex[id] = results.Count;
+                    results.Add(new BatchBookingItemResult { Id = id, Success = true, Status = targetStatus });
+                }
+                else
+                {
+                    var already = reason.StartsWith("Already");
+                    results.Add(new BatchBookingItemResult
+                    {
+                        Id = id,
+                        Success = already,
+                        Status = booking.Status,
+                        Message = reason
+                    });
+                }
+            }
+
+            if (toUpdate.Count > 0)
+            {
+                // Truncated to what Mongo stores, so the stamp reads back equal when looking for conflicts
+                var stamp = DateTime.UtcNow;
+                stamp = stamp.AddTicks(-(stamp.Ticks % TimeSpan.TicksPerMillisecond));
+                var update = Builders<Booking>.Update
+                    .Set(b => b.Status, targetStatus)
+                    .Set(b => b.UpdatedAt, stamp);
+                if (targetStatus == "completed")
+                {
+                    update = update.Set(b => b.IsCompleted, true);
+                }
+                var toUpdateIds = toUpdate.Select(b => b.Id).ToList();
+                var result = await _mongoDBService.Bookings.UpdateManyAsync(
+                    Builders<Booking>.Filter.In(b => b.Id, toUpdateIds)
+                        & Builders<Booking>.Filter.Eq(b => b.Status, fromStatus),
+                    update);
+
+                var updated = toUpdate;
+                if (result.ModifiedCount < toUpdate.Count)
+                {
+                    // Some bookings changed between the read and the write - the ones without this
+                    // write's stamp are reported with the status they have now
+                    var current = (await _mongoDBService.Bookings
+                        .Find(Builders<Booking>.Filter.In(b => b.Id, toUpdateIds))
+                        .ToListAsync()).ToDictionary(b => b.Id!);
+                    updated = toUpdate.Where(b => current.TryGetValue(b.Id!, out var latest)
+                        && latest.Status == targetStatus && latest.UpdatedAt == stamp).ToList();
+                    foreach (var booking in toUpdate.Except(updated))
+                    {
+                        current.TryGetValue(booking.Id!, out var latest);
+                        results[resultIndex[booking.Id!]] = new BatchBookingItemResult
+                        {
+                            Id = booking.Id!,
+                            Success = false,
+                            Status = latest?.Status,
+                            Message = latest == null ? "Booking not found" : "Booking was changed by another request"
+                        };
+                    }
+                }
+
+                // Recount each affected station once rather than once per booking
+                foreach (var stationId in updated.Select(b => b.StationId).Distinct())
+                {
+                    await _chargingStationService.UpdateAvailableSlotsAsync(stationId);
+                }
+            }
+
+            return Ok(new { results });
+        }
+
         // DELETE: api/bookings/{id}
         [HttpDelete("{id}")]
         public async Task<IActionResult> CancelBooking(string id)
@@ -131,6 +408,7 @@ public async Task<IActionResult> CompleteBooking(string id)
             }
 
             await _mongoDBService.Bookings.DeleteOneAsync(b => b.Id == id);
+            await _chargingStationService.UpdateAvailableSlotsAsync(existingBooking.StationId);
             return Ok(new { message = "Booking cancelled successfully" });
         }
 
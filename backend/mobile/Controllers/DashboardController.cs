@@ -22,29 +22,32 @@ namespace EVChargingAPI.Controllers
         }
 
         // GET: api/dashboard/stats/{userId}
+        // Three index-backed counts run in parallel - no booking documents are loaded
         [HttpGet("stats/{userId}")]
         public async Task<IActionResult> GetUserStats(string userId)
         {
+            var now = DateTime.UtcNow;
+            var builder = Builders<Booking>.Filter;
+            var userFilter = builder.Eq(b => b.UserId, userId);
+
             // Pending bookings count
-            var pendingFilter = Builders<Booking>.Filter.Eq(b => b.UserId, userId) & 
-                               Builders<Booking>.Filter.Eq(b => b.Status, "pending");
-            var pendingCount = await _mongoDBService.Bookings.CountDocumentsAsync(pendingFilter);
+            var pendingCount = _mongoDBService.Bookings.CountDocumentsAsync(
+                userFilter & builder.Eq(b => b.Status, "pending"));
 
             // Approved future bookings count
-            var approvedFilter = Builders<Booking>.Filter.Eq(b => b.UserId, userId) & 
-                                Builders<Booking>.Filter.Eq(b => b.Status, "confirmed") &
-                                Builders<Booking>.Filter.Gt(b => b.StartTime, DateTime.UtcNow);
-            var approvedCount = await _mongoDBService.Bookings.CountDocumentsAsync(approvedFilter);
+            var approvedCount = _mongoDBService.Bookings.CountDocumentsAsync(
+                userFilter & builder.Eq(b => b.Status, "confirmed") & builder.Gt(b => b.StartTime, now));
 
             // Past bookings
-            var pastFilter = Builders<Booking>.Filter.Eq(b => b.UserId, userId) & 
-                            Builders<Booking>.Filter.Lt(b => b.StartTime, DateTime.UtcNow);
-            var pastBookings = await _mongoDBService.Bookings.Find(pastFilter).ToListAsync();
+            var pastCount = _mongoDBService.Bookings.CountDocumentsAsync(
+                userFilter & builder.Lt(b => b.StartTime, now));
+
+            await Task.WhenAll(pendingCount, approvedCount, pastCount);
 
             return Ok(new {
-                pendingReservations = pendingCount,
-                approvedReservations = approvedCount,
-                pastBookings = pastBookings.Count
+                pendingReservations = pendingCount.Result,
+                approvedReservations = approvedCount.Result,
+                pastBookings = pastCount.Result
             });
         }
     }
@@ -17,21 +17,114 @@ namespace EVChargingAPI.Controllers
     {
         private readonly MongoDBService _mongoDBService;
         private readonly ChargingStationService _chargingStationService;
+        private readonly StationAvailabilityBroadcaster _availabilityBroadcaster;
 
-        public StationsController(MongoDBService mongoDBService, ChargingStationService chargingStationService)
+        private static readonly TimeSpan HeartbeatInterval = TimeSpan.FromSeconds(15);
+        // UpdatedAt is stamped by whichever server makes a write, before the write lands, so a change
+        // stamped just before a read can commit just after it. Cursors trail the clock by this much;
+        // the next delta re-sends that window's changes (clients upsert by id) instead of losing one
+        private static readonly TimeSpan SyncCursorSafetyWindow = TimeSpan.FromMinutes(1);
+        private static readonly JsonSerializerOptions EventJsonOptions = new(JsonSerializerDefaults.Web);
+
+        public StationsController(MongoDBService mongoDBService, ChargingStationService chargingStationService,
+            StationAvailabilityBroadcaster availabilityBroadcaster)
         {
             _mongoDBService = mongoDBService;
             _chargingStationService = chargingStationService;
+            _availabilityBroadcaster = availabilityBroadcaster;
         }
 
         // GET: api/stations (Compatibility endpoint)
+        // Supports If-None-Match, and returns X-Sync-Cursor for follow-up calls to api/stations/changes
         [HttpGet]
         public async Task<IActionResult> GetAllStations()
         {
+            var cursor = NextSyncCursor();
             var stations = await _chargingStationService.GetAllAsync(StationStatus.Active);
+
+            var lastUpdated = stations.Count > 0 ? stations.Max(s => s.UpdatedAt).Ticks : 0;
+            var etag = $"\"{stations.Count:x}-{lastUpdated:x}\"";
+
+            Response.Headers["ETag"] = etag;
+            Response.Headers["X-Sync-Cursor"] = cursor.ToString();
+
+            if (Request.Headers.IfNoneMatch.ToString() == etag)
+            {
+                return StatusCode(StatusCodes.Status304NotModified);
+            }
             return Ok(stations);
         }
 
+        // GET: api/stations/changes?since=1700000000000
+        // Delta sync: active stations changed after the cursor, plus ids of stations that left the catalog.
+        // Removals are only seen as a status change that bumps UpdatedAt (DeactivateAsync, UpdateAsync), so
+        // stations must be soft-deleted - a document removed outright never shows up in removedIds
+        [HttpGet("changes")]
+        public async Task<IActionResult> GetStationChanges([FromQuery] long since)
+        {
+            var cursor = NextSyncCursor();
+            var sinceUtc = DateTimeOffset.FromUnixTimeMilliseconds(since).UtcDateTime;
+            var changed = await _chargingStationService.GetChangedSinceAsync(sinceUtc);
+
+            return Ok(new
+            {
+                stations = changed.Where(s => s.Status == StationStatus.Active).ToList(),
+                removedIds = changed.Where(s => s.Status != StationStatus.Active).Select(s => s.Id).ToList(),
+                cursor
+            });
+        }
+
+        private static long NextSyncCursor() =>
+            DateTimeOffset.UtcNow.Subtract(SyncCursorSafetyWindow).ToUnixTimeMilliseconds();
+
+        // GET: api/stations/availability/stream (Server-Sent Events)
+        // One "availability" event {stationId, availableSlots, totalSlots, updatedAt} per slot change,
+        // a comment heartbeat every 15s while idle. Honours Last-Event-ID for recently missed events.
+        [HttpGet("availability/stream")]
+        public async Task StreamAvailability(CancellationToken cancellationToken)
+        {
+            Response.Headers["Content-Type"] = "text/event-stream";
+            Response.Headers["Cache-Control"] = "no-cache";
+            Response.Headers["X-Accel-Buffering"] = "no";
+
+            long? lastEventId = long.TryParse(Request.Headers["Last-Event-ID"].ToString(), out var parsed) ? parsed : null;
+            using var subscription = _availabilityBroadcaster.Subscribe(lastEventId);
+
+            try
+            {
+                foreach (var missed in subscription.Missed)
+                    await WriteAvailabilityEventAsync(missed, cancellationToken);
+                await Response.Body.FlushAsync(cancellationToken);
+
+                while (!cancellationToken.IsCancellationRequested)
+                {
+                    using var heartbeat = CancellationTokenSource.CreateLinkedTokenSource(cancellationToken);
+                    heartbeat.CancelAfter(HeartbeatInterval);
+                    try
+                    {
+                        var next = await subscription.Reader.ReadAsync(heartbeat.Token);
+                        await WriteAvailabilityEventAsync(next, cancellationToken);
+                    }
+                    catch (OperationCanceledException) when (!cancellationToken.IsCancellationRequested)
+                    {
+                        await Response.WriteAsync(": heartbeat\n\n", cancellationToken);
+                    }
+                    await Response.Body.FlushAsync(cancellationToken);
+                }
+            }
+            catch (OperationCanceledException)
+            {
+                // Client disconnected
+            }
+        }
+
+        private Task WriteAvailabilityEventAsync(StationAvailabilityBroadcaster.AvailabilityEvent availabilityEvent,
+            CancellationToken cancellationToken)
+        {
+            var data = JsonSerializer.Serialize(availabilityEvent.Availability, EventJsonOptions);
+            return Response.WriteAsync($"id: {availabilityEvent.Id}\nevent: availability\ndata: {data}\n\n", cancellationToken);
+        }
+
         // GET: api/stations/nearby?lat=6.9271&lng=79.8612 (Enhanced with new service)
         [HttpGet("nearby")]
         public async Task<IActionResult> GetNearbyStations(double lat, double lng, [FromQuery] double radius = 10)
@@ -6,6 +6,7 @@
 
 using MongoDB.Bson;
 using MongoDB.Bson.Serialization.Attributes;
+using System.Text.Json.Serialization;
 
 namespace EVChargingAPI.Models
 {
@@ -53,5 +54,11 @@ namespace EVChargingAPI.Models
 
         [BsonElement("updatedAt")]
         public DateTime UpdatedAt { get; set; } = DateTime.UtcNow;
+
+        // Client-generated Idempotency-Key of the request that created this booking (offline outbox replays)
+        [BsonElement("idempotencyKey")]
+        [BsonIgnoreIfNull]
+        [JsonIgnore]
+        public string? IdempotencyKey { get; set; }
     }
 }
\ No newline at end of file
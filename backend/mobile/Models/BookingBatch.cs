@@ -0,0 +1,28 @@
+/*******************************************************
+*file :         BookingBatch.cs
+*Author:        IT22278180 - Narangoda D.A.S.
+********************************************************/
+
+using System.ComponentModel.DataAnnotations;
+
+namespace EVChargingAPI.Models
+{
+    public class BatchBookingRequest
+    {
+        public const int MaxIds = 100;
+
+        [Required]
+        [MinLength(1)]
+        [MaxLength(MaxIds)]
+        public List<string> Ids { get; set; } = new();
+    }
+
+    // Outcome for one booking of a batch; a batch never fails as a whole for a single bad id
+    public class BatchBookingItemResult
+    {
+        public string Id { get; set; } = null!;
+        public bool Success { get; set; }
+        public string? Status { get; set; }
+        public string? Message { get; set; }
+    }
+}
@@ -0,0 +1,16 @@
+/*******************************************************
+*file :         StationAvailability.cs
+*Author:        IT22278180 - Narangoda D.A.S.
+********************************************************/
+
+namespace EVChargingAPI.Models
+{
+    // Payload of one "availability" event on api/stations/availability/stream
+    public class StationAvailability
+    {
+        public string StationId { get; set; } = string.Empty;
+        public int AvailableSlots { get; set; }
+        public int TotalSlots { get; set; }
+        public DateTime UpdatedAt { get; set; }
+    }
+}
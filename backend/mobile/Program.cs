@@ -1,7 +1,9 @@
 using EVChargingAPI.Services;
 using EVChargingAPI.Models;
+using Microsoft.AspNetCore.ResponseCompression;
 using Microsoft.OpenApi.Models;
 using MongoDB.Driver;
+using System.IO.Compression;
 
 var builder = WebApplication.CreateBuilder(args);
 
@@ -10,6 +12,18 @@ builder.Services.AddControllers();
 builder.Services.AddEndpointsApiExplorer();
 builder.Services.AddSwaggerGen();
 
+// Brotli / gzip for JSON responses (station catalogs shrink 5-10x); the SSE stream is left alone
+builder.Services.AddResponseCompression(options =>
+{
+    options.Providers.Add<BrotliCompressionProvider>();
+    options.Providers.Add<GzipCompressionProvider>();
+});
+builder.Services.Configure<BrotliCompressionProviderOptions>(options => options.Level = CompressionLevel.Fastest);
+builder.Services.Configure<GzipCompressionProviderOptions>(options => options.Level = CompressionLevel.Fastest);
+
+// Large request bodies (batch approvals) may arrive with Content-Encoding: gzip
+builder.Services.AddRequestDecompression();
+
 // MongoDB Configuration
 builder.Services.Configure<MongoDBSettings>(
     builder.Configuration.GetSection("MongoDBSettings"));
@@ -22,6 +36,7 @@ builder.Services.AddSingleton<IMongoClient>(serviceProvider =>
 });
 
 builder.Services.AddSingleton<MongoDBService>();
+builder.Services.AddSingleton<StationAvailabilityBroadcaster>();
 builder.Services.AddSingleton<ChargingStationService>();
 
 // Allow external access on port 7000 (HTTP only)
@@ -39,6 +54,9 @@ builder.Services.AddCors(options =>
 
 var app = builder.Build();
 
+app.UseResponseCompression();
+app.UseRequestDecompression();
+
 // Configure the HTTP request pipeline.
 if (app.Environment.IsDevelopment())
 {
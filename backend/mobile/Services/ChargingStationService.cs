@@ -13,9 +13,12 @@ namespace EVChargingAPI.Services
     {
         private readonly IMongoCollection<ChargingStation> _stations;
         private readonly IMongoCollection<Booking> _bookings;
+        private readonly StationAvailabilityBroadcaster _availabilityBroadcaster;
 
-        public ChargingStationService(IMongoClient client, IOptions<MongoDBSettings> settings)
+        public ChargingStationService(IMongoClient client, IOptions<MongoDBSettings> settings,
+            StationAvailabilityBroadcaster availabilityBroadcaster)
         {
+            _availabilityBroadcaster = availabilityBroadcaster;
             var database = client.GetDatabase(settings.Value.DatabaseName);
             _stations = database.GetCollection<ChargingStation>("chargingStations");
             _bookings = database.GetCollection<Booking>("bookings");
@@ -26,6 +29,8 @@ namespace EVChargingAPI.Services
                 .Ascending(s => s.Type)
                 .Ascending(s => s.OperatorId);
             _stations.Indexes.CreateOne(new CreateIndexModel<ChargingStation>(indexKeys));
+            _stations.Indexes.CreateOne(new CreateIndexModel<ChargingStation>(
+                Builders<ChargingStation>.IndexKeys.Ascending(s => s.UpdatedAt)));
         }
 
         public async Task<List<ChargingStation>> GetAllAsync(StationStatus? status = null, StationType? type = null)
@@ -41,6 +46,15 @@ namespace EVChargingAPI.Services
             return await _stations.Find(filter).ToListAsync();
         }
 
+        // Every station touched after the given instant, whatever its status (used for delta sync).
+        // Stations are only ever deactivated, never deleted (here or by the web portal), which is what lets
+        // delta sync report them as removed
+        public async Task<List<ChargingStation>> GetChangedSinceAsync(DateTime since)
+        {
+            var filter = Builders<ChargingStation>.Filter.Gt(s => s.UpdatedAt, since);
+            return await _stations.Find(filter).ToListAsync();
+        }
+
         public async Task<ChargingStation> GetByIdAsync(string id)
         {
             return await _stations.Find(s => s.Id == id).FirstOrDefaultAsync();
@@ -161,11 +175,26 @@ namespace EVChargingAPI.Services
             var activeBookingsCount = await GetActiveBookingsCountAsync(stationId);
             var availableSlots = Math.Max(0, station.TotalSlots - activeBookingsCount);
 
+            if (availableSlots == station.AvailableSlots) return;
+
+            var updatedAt = DateTime.UtcNow;
             await _stations.UpdateOneAsync(
                 s => s.Id == stationId,
                 Builders<ChargingStation>.Update
                     .Set(s => s.AvailableSlots, availableSlots)
-                    .Set(s => s.UpdatedAt, DateTime.UtcNow));
+                    .Set(s => s.UpdatedAt, updatedAt));
+
+            // Only active stations are on the clients' maps
+            if (station.Status == StationStatus.Active)
+            {
+                _availabilityBroadcaster.Publish(new StationAvailability
+                {
+                    StationId = stationId,
+                    AvailableSlots = availableSlots,
+                    TotalSlots = station.TotalSlots,
+                    UpdatedAt = updatedAt
+                });
+            }
         }
 
         public async Task<List<ChargingStation>> GetNearbyStationsAsync(double latitude, double longitude, double radiusKm = 10)
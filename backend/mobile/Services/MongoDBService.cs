@@ -17,6 +17,25 @@ namespace EVChargingAPI.Services
         {
             var client = new MongoClient(settings.Value.ConnectionString);
             _database = client.GetDatabase(settings.Value.DatabaseName);
+
+            // One booking per Idempotency-Key, so a replayed create can never book twice
+            Bookings.Indexes.CreateOne(new CreateIndexModel<Booking>(
+                Builders<Booking>.IndexKeys.Ascending(b => b.IdempotencyKey),
+                new CreateIndexOptions { Unique = true, Sparse = true }));
+
+            // Keyset paging of the operator queue walks (status, startTime, _id) in order
+            Bookings.Indexes.CreateOne(new CreateIndexModel<Booking>(
+                Builders<Booking>.IndexKeys
+                    .Ascending(b => b.Status)
+                    .Ascending(b => b.StartTime)
+                    .Ascending(b => b.Id)));
+
+            // A user's history filtered by completion and ordered by start time (upcoming / past tabs)
+            Bookings.Indexes.CreateOne(new CreateIndexModel<Booking>(
+                Builders<Booking>.IndexKeys
+                    .Ascending(b => b.UserId)
+                    .Ascending(b => b.IsCompleted)
+                    .Ascending(b => b.StartTime)));
         }
 
         // Updated Collections - using ChargingStations instead of Stations
@@ -0,0 +1,88 @@
+/*******************************************************
+*file :         Services/StationAvailabilityBroadcaster.cs
+*Author:        IT22278180 - Narangoda D.A.S.
+********************************************************/
+
+using System.Threading.Channels;
+using EVChargingAPI.Models;
+
+namespace EVChargingAPI.Services
+{
+    // Fans slot-availability changes out to every open availability stream. The most recent events
+    // are kept so a client reconnecting with Last-Event-ID gets what it missed while it was away.
+    public class StationAvailabilityBroadcaster
+    {
+        private const int ReplayBufferSize = 256;
+        private const int SubscriberBufferSize = 64;
+
+        private readonly object _lock = new();
+        private readonly LinkedList<AvailabilityEvent> _recent = new();
+        private readonly List<Channel<AvailabilityEvent>> _subscribers = new();
+        private long _lastId;
+
+        public void Publish(StationAvailability availability)
+        {
+            lock (_lock)
+            {
+                var availabilityEvent = new AvailabilityEvent(++_lastId, availability);
+                _recent.AddLast(availabilityEvent);
+                if (_recent.Count > ReplayBufferSize)
+                    _recent.RemoveFirst();
+
+                // Bounded per subscriber: a client that can't keep up loses its oldest pending events
+                foreach (var subscriber in _subscribers)
+                    subscriber.Writer.TryWrite(availabilityEvent);
+            }
+        }
+
+        public Subscription Subscribe(long? lastEventId)
+        {
+            var channel = Channel.CreateBounded<AvailabilityEvent>(new BoundedChannelOptions(SubscriberBufferSize)
+            {
+                FullMode = BoundedChannelFullMode.DropOldest,
+                SingleReader = true
+            });
+
+            lock (_lock)
+            {
+                // An id from before a server restart can't be matched up, so nothing is replayed for it
+                var missed = lastEventId.HasValue && lastEventId.Value <= _lastId
+                    ? _recent.Where(e => e.Id > lastEventId.Value).ToList()
+                    : new List<AvailabilityEvent>();
+
+                _subscribers.Add(channel);
+                return new Subscription(this, channel, missed);
+            }
+        }
+
+        private void Unsubscribe(Channel<AvailabilityEvent> channel)
+        {
+            lock (_lock)
+            {
+                _subscribers.Remove(channel);
+            }
+            channel.Writer.TryComplete();
+        }
+
+        public record AvailabilityEvent(long Id, StationAvailability Availability);
+
+        public sealed class Subscription : IDisposable
+        {
+            private readonly StationAvailabilityBroadcaster _owner;
+            private readonly Channel<AvailabilityEvent> _channel;
+
+            internal Subscription(StationAvailabilityBroadcaster owner, Channel<AvailabilityEvent> channel, List<AvailabilityEvent> missed)
+            {
+                _owner = owner;
+                _channel = channel;
+                Missed = missed;
+            }
+
+            public IReadOnlyList<AvailabilityEvent> Missed { get; }
+
+            public ChannelReader<AvailabilityEvent> Reader => _channel.Reader;
+
+            public void Dispose() => _owner.Unsubscribe(_channel);
+        }
+    }
+}
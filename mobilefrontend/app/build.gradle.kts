@@ -29,6 +29,10 @@ android {
         sourceCompatibility = JavaVersion.VERSION_11
         targetCompatibility = JavaVersion.VERSION_11
     }
+    testOptions {
+        // JVM tests run code that logs through android.util.Log
+        unitTests.isReturnDefaultValues = true
+    }
 }
 
 dependencies {
@@ -48,6 +52,10 @@ dependencies {
     // API calls karanna
     implementation("com.squareup.retrofit2:retrofit:2.9.0")
     implementation("com.squareup.retrofit2:converter-gson:2.9.0")
+    implementation("com.squareup.okhttp3:okhttp:4.12.0")
+    implementation("com.squareup.okhttp3:okhttp-sse:4.12.0")
+    implementation("com.squareup.okhttp3:okhttp-brotli:4.12.0")
+    testImplementation("com.squareup.okhttp3:mockwebserver:4.12.0")
 
     // Alternative QR code dependencies
     implementation("com.journeyapps:zxing-android-embedded:4.3.0")
@@ -60,9 +68,16 @@ dependencies {
     // Maps karanna
     implementation("com.google.android.gms:play-services-maps:18.1.0")
     implementation ("com.google.android.gms:play-services-location:21.0.1")
+    implementation ("com.google.maps.android:android-maps-utils:3.8.2")
 
     implementation ("androidx.viewpager2:viewpager2:1.0.0")
 
+    // Background booking sync (outbox)
+    implementation("androidx.work:work-runtime:2.9.0")
+
+    // Shared repositories publish stations / stats / profile as LiveData
+    implementation("androidx.lifecycle:lifecycle-livedata:2.6.1")
+
     // Database karanna (Room)
     implementation("androidx.room:room-runtime:2.5.2")
     annotationProcessor ("androidx.room:room-compiler:2.5.2")
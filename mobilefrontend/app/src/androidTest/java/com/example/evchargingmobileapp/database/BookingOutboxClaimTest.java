@@ -0,0 +1,145 @@
+package com.example.evchargingmobileapp.database;
+
+import android.content.Context;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.evchargingmobileapp.models.Booking;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+// A booking changed while BookingSyncWorker is sending its queued operation: the worker has claimed
+// the head entry and will delete it by seq once the server answers, so the change must land in a
+// new entry rather than in the one being sent.
+@RunWith(AndroidJUnit4.class)
+public class BookingOutboxClaimTest {
+
+    private static final String DB_NAME = "booking-outbox-claim-test.db";
+    private static final String LOCAL_ID = "local-1";
+    private static final String SERVER_ID = "server-1";
+
+    private Context context;
+    private AppDatabase db;
+    private DatabaseManager manager;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(DB_NAME);
+        db = AppDatabase.create(context, DB_NAME);
+        manager = new DatabaseManager(db);
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+        context.deleteDatabase(DB_NAME);
+    }
+
+    @Test
+    public void editWhileCreateIsInFlightIsSentAfterIt() {
+        queue(DatabaseManager.OP_CREATE, booking(LOCAL_ID, "Car"));
+        BookingOutboxEntry create = manager.claimNextOutboxEntry();
+
+        queue(DatabaseManager.OP_UPDATE, booking(LOCAL_ID, "Van"));
+        // The worker finishes the create it claimed
+        manager.replaceBookingId(LOCAL_ID, SERVER_ID);
+        manager.completeOutboxEntry(create.seq);
+
+        assertEquals("Car", create.booking.getVehicleType());
+        BookingOutboxEntry update = manager.claimNextOutboxEntry();
+        assertNotNull(update);
+        assertEquals(DatabaseManager.OP_UPDATE, update.op);
+        assertEquals(SERVER_ID, update.bookingId);
+        assertEquals("Van", update.booking.getVehicleType());
+    }
+
+    @Test
+    public void cancelWhileCreateIsInFlightIsSentAfterIt() {
+        queue(DatabaseManager.OP_CREATE, booking(LOCAL_ID, "Car"));
+        BookingOutboxEntry create = manager.claimNextOutboxEntry();
+
+        queue(DatabaseManager.OP_CANCEL, booking(LOCAL_ID, "Car"));
+        manager.replaceBookingId(LOCAL_ID, SERVER_ID);
+        manager.completeOutboxEntry(create.seq);
+
+        BookingOutboxEntry cancel = manager.claimNextOutboxEntry();
+        assertNotNull(cancel);
+        assertEquals(DatabaseManager.OP_CANCEL, cancel.op);
+        assertEquals(SERVER_ID, cancel.bookingId);
+    }
+
+    @Test
+    public void editWhileUpdateIsInFlightIsSentAfterIt() {
+        queue(DatabaseManager.OP_UPDATE, booking(SERVER_ID, "Car"));
+        BookingOutboxEntry first = manager.claimNextOutboxEntry();
+
+        queue(DatabaseManager.OP_UPDATE, booking(SERVER_ID, "Van"));
+        queue(DatabaseManager.OP_UPDATE, booking(SERVER_ID, "Bike"));
+        manager.completeOutboxEntry(first.seq);
+
+        assertEquals("Car", first.booking.getVehicleType());
+        // The two edits behind the claimed one still collapse into one
+        BookingOutboxEntry second = manager.claimNextOutboxEntry();
+        assertEquals("Bike", second.booking.getVehicleType());
+        manager.completeOutboxEntry(second.seq);
+        assertFalse(manager.hasPendingBookingOperations());
+    }
+
+    @Test
+    public void unclaimedEntriesAreStillFolded() {
+        queue(DatabaseManager.OP_CREATE, booking(LOCAL_ID, "Car"));
+        queue(DatabaseManager.OP_UPDATE, booking(LOCAL_ID, "Van"));
+
+        BookingOutboxEntry create = manager.claimNextOutboxEntry();
+        assertEquals(DatabaseManager.OP_CREATE, create.op);
+        assertEquals("Van", create.booking.getVehicleType());
+        manager.completeOutboxEntry(create.seq);
+        assertNull(manager.claimNextOutboxEntry());
+
+        // Cancelling a booking the server never saw leaves nothing to send
+        queue(DatabaseManager.OP_CREATE, booking("local-2", "Car"));
+        queue(DatabaseManager.OP_CANCEL, booking("local-2", "Car"));
+        assertFalse(manager.hasPendingBookingOperations());
+    }
+
+    @Test
+    public void refusedCreateDropsWhatWasQueuedBehindIt() {
+        queue(DatabaseManager.OP_CREATE, booking(LOCAL_ID, "Car"));
+        BookingOutboxEntry create = manager.claimNextOutboxEntry();
+        queue(DatabaseManager.OP_UPDATE, booking(LOCAL_ID, "Van"));
+        assertTrue(manager.hasPendingBookingOperations(LOCAL_ID));
+
+        manager.discardLocalBooking(create.bookingId);
+        manager.completeOutboxEntry(create.seq);
+
+        assertFalse(manager.hasPendingBookingOperations());
+    }
+
+    private void queue(String op, Booking booking) {
+        assertTrue(manager.queueBookingOperation(op, booking, UUID.randomUUID().toString(), null));
+    }
+
+    private static Booking booking(String id, String vehicleType) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setUserId("200012345678");
+        booking.setStationId("station-1");
+        booking.setStationName("Station 1");
+        booking.setVehicleType(vehicleType);
+        booking.setStatus("Pending");
+        return booking;
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.evchargingmobileapp.database;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.evchargingmobileapp.models.Booking;
+import com.example.evchargingmobileapp.models.Station;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+// Syncing a page of rows: one autocommit per row (how the old helper wrote) against the batched,
+// single-transaction writes DatabaseManager uses. Runs on a real file so WAL and fsync costs count.
+@RunWith(AndroidJUnit4.class)
+public class BulkWriteBenchmarkTest {
+
+    private static final String TAG = "BulkWriteBenchmark";
+    private static final String DB_NAME = "bulk-write-benchmark.db";
+    private static final String USER_ID = "200012345678";
+    private static final int ROWS = 3000;
+
+    private Context context;
+    private AppDatabase db;
+    private DatabaseManager manager;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(DB_NAME);
+        db = AppDatabase.create(context, DB_NAME);
+        manager = new DatabaseManager(db);
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+        context.deleteDatabase(DB_NAME);
+    }
+
+    @Test
+    public void bookingPageIsWrittenInOneTransaction() {
+        List<Booking> bookings = bookings(ROWS);
+
+        long start = System.nanoTime();
+        for (Booking booking : bookings) {
+            if (db.bookingOutboxDao().countForBooking(booking.getId()) > 0) continue;
+            db.bookingDao().upsert(BookingEntity.from(booking));
+        }
+        long perRowMs = (System.nanoTime() - start) / 1_000_000;
+
+        start = System.nanoTime();
+        assertTrue(manager.cacheUserBookings(USER_ID, bookings));
+        long bulkMs = (System.nanoTime() - start) / 1_000_000;
+
+        Log.i(TAG, ROWS + " bookings: per-row " + perRowMs + " ms, bulk " + bulkMs + " ms");
+        assertEquals(ROWS, manager.getUserBookings(USER_ID).size());
+        assertTrue("bulk " + bulkMs + " ms vs per-row " + perRowMs + " ms", bulkMs * 5 < perRowMs);
+    }
+
+    @Test
+    public void stationCatalogIsWrittenInOneTransaction() {
+        List<Station> stations = stations(ROWS);
+
+        long start = System.nanoTime();
+        for (Station station : stations) {
+            List<StationEntity> one = new ArrayList<>(1);
+            one.add(StationEntity.from(station));
+            db.stationDao().upsertAll(one);
+        }
+        long perRowMs = (System.nanoTime() - start) / 1_000_000;
+
+        start = System.nanoTime();
+        assertTrue(manager.saveStations(stations, "\"etag\"", "1"));
+        long bulkMs = (System.nanoTime() - start) / 1_000_000;
+
+        Log.i(TAG, ROWS + " stations: per-row " + perRowMs + " ms, bulk " + bulkMs + " ms");
+        assertEquals(ROWS, manager.getCachedStations().size());
+        assertTrue("bulk " + bulkMs + " ms vs per-row " + perRowMs + " ms", bulkMs * 5 < perRowMs);
+    }
+
+    private static List<Booking> bookings(int count) {
+        List<Booking> bookings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Booking booking = new Booking();
+            booking.setId("booking-" + i);
+            booking.setUserId(USER_ID);
+            booking.setStationId("station-" + (i % 50));
+            booking.setStationName("Station " + (i % 50));
+            booking.setBookingDate("2024-01-01");
+            booking.setStartTime("2024-01-01T10:00:00");
+            booking.setEndTime("2024-01-01T11:00:00");
+            booking.setStatus("Approved");
+            booking.setVehicleType("Car");
+            booking.setTotalCost(500);
+            booking.setCompleted(i % 2 == 0);
+            bookings.add(booking);
+        }
+        return bookings;
+    }
+
+    private static List<Station> stations(int count) {
+        List<Station> stations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Station station = new Station();
+            station.setId("station-" + i);
+            station.setName("Station " + i);
+            station.setLocation("Colombo");
+            station.setType("AC");
+            station.setAvailableSlots(i % 5);
+            station.setTotalSlots(5);
+            station.setLatitude(6.9 + i * 0.0001);
+            station.setLongitude(79.8 + i * 0.0001);
+            station.setActive(true);
+            stations.add(station);
+        }
+        return stations;
+    }
+}
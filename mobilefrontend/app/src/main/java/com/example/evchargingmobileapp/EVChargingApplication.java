@@ -0,0 +1,29 @@
+package com.example.evchargingmobileapp;
+
+import android.app.Application;
+import android.content.pm.ApplicationInfo;
+import android.os.StrictMode;
+
+public class EVChargingApplication extends Application {
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+
+        // Debug builds flag any disk or network access on the main thread (the database has its own
+        // I/O thread) and leaked cursors / closeables, so regressions show up in logcat during testing
+        if ((getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0) {
+            StrictMode.setThreadPolicy(new StrictMode.ThreadPolicy.Builder()
+                    .detectDiskReads()
+                    .detectDiskWrites()
+                    .detectNetwork()
+                    .penaltyLog()
+                    .build());
+            StrictMode.setVmPolicy(new StrictMode.VmPolicy.Builder()
+                    .detectLeakedSqlLiteObjects()
+                    .detectLeakedClosableObjects()
+                    .penaltyLog()
+                    .build());
+        }
+    }
+}
@@ -9,6 +9,8 @@ import android.app.DatePickerDialog;
 import android.app.TimePickerDialog;
 import android.content.Intent;
 import android.os.Bundle;
+import android.text.Editable;
+import android.text.TextWatcher;
 import android.view.View;
 import android.widget.ArrayAdapter;
 import android.widget.Button;
@@ -23,11 +25,14 @@ import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.evchargingmobileapp.R;
 import com.example.evchargingmobileapp.api.ApiManager;
-import com.example.evchargingmobileapp.database.DatabaseManager;
+import com.example.evchargingmobileapp.api.CallScope;
 import com.example.evchargingmobileapp.interfaces.ApiCallback;
 import com.example.evchargingmobileapp.models.ApiResponse;
 import com.example.evchargingmobileapp.models.Booking;
 import com.example.evchargingmobileapp.models.Station;
+import com.example.evchargingmobileapp.repository.BookingRepository;
+import com.example.evchargingmobileapp.repository.StationRepository;
+import com.example.evchargingmobileapp.utils.StationSearchIndex;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -36,18 +41,21 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class BookingActivity extends AppCompatActivity {
 
     private Spinner spinnerStations;
-    private EditText etVehicleType, etBookingDate, etStartTime, etEndTime;
+    private EditText etStationSearch, etVehicleType, etBookingDate, etStartTime, etEndTime;
     private TextView tvCost, tvSelectedStation, tvStationLabel;
     private Button btnCreateBooking;
     private ProgressBar progressBar;
     private LinearLayout stationContainer;
 
     private ApiManager apiManager;
-    private DatabaseManager databaseManager;
+    private StationRepository stationRepository;
+    private BookingRepository bookingRepository;
     private String userNIC;
 
     private Calendar calendar;
@@ -55,6 +63,9 @@ public class BookingActivity extends AppCompatActivity {
 
     private List<Station> stationsList;
     private Map<String, String> nameToIdMap;
+    private StationSearchIndex searchIndex;
+    // The catalog arrives twice (cached copy, then network), so the search index is built off the main thread
+    private final ExecutorService indexExecutor = Executors.newSingleThreadExecutor();
 
     // Variables for pre-selected station
     private String selectedStationId;
@@ -77,8 +88,9 @@ public class BookingActivity extends AppCompatActivity {
 
         isStationPreSelected = selectedStationId != null && !selectedStationId.isEmpty();
 
-        apiManager = new ApiManager(this);
-        databaseManager = new DatabaseManager(this);
+        apiManager = ApiManager.getInstance(this);
+        stationRepository = StationRepository.getInstance(this);
+        bookingRepository = BookingRepository.getInstance(this);
 
         calendar = Calendar.getInstance();
         dateFormat = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
@@ -101,6 +113,7 @@ public class BookingActivity extends AppCompatActivity {
 
     private void initViews() {
         spinnerStations = findViewById(R.id.spinnerStations);
+        etStationSearch = findViewById(R.id.etStationSearch);
         etVehicleType = findViewById(R.id.etVehicleType);
         etBookingDate = findViewById(R.id.etBookingDate);
         etStartTime = findViewById(R.id.etStartTime);
@@ -116,6 +129,7 @@ public class BookingActivity extends AppCompatActivity {
     private void showPreSelectedStation() {
         // Hide the spinner and show the pre-selected station
         spinnerStations.setVisibility(View.GONE);
+        etStationSearch.setVisibility(View.GONE);
         tvSelectedStation.setVisibility(View.VISIBLE);
 
         // Update station label to show it's pre-selected
@@ -141,67 +155,101 @@ public class BookingActivity extends AppCompatActivity {
 
         // Create booking button
         btnCreateBooking.setOnClickListener(v -> createBooking());
+
+        // Narrow the spinner to matching stations as the user types
+        etStationSearch.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+            }
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {
+            }
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                filterStations(s.toString().trim());
+            }
+        });
     }
 
 
 
     private void loadStations() {
-        if (apiManager.isNetworkAvailable()) {
-            apiManager.getAllStations(new ApiCallback<List<Station>>() {
-                @Override
-                public void onSuccess(List<Station> stations) {
-                    stationsList = stations;
-                    List<String> names = new ArrayList<>();
-                    nameToIdMap.clear();
-                    for (Station s : stations) {
-                        names.add(s.getName());
-                        nameToIdMap.put(s.getName(), s.getId() != null ? s.getId() : "default_id");
-                    }
-                    ArrayAdapter<String> adapter = new ArrayAdapter<>(BookingActivity.this,
-                            android.R.layout.simple_spinner_item, names);
-                    adapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
-                    spinnerStations.setAdapter(adapter);
-
-                    // If we have a pre-selected station, try to select it in spinner
-                    if (isStationPreSelected && selectedStationName != null) {
-                        for (int i = 0; i < names.size(); i++) {
-                            if (names.get(i).equals(selectedStationName)) {
-                                spinnerStations.setSelection(i);
-                                break;
-                            }
-                        }
-                    }
+        // Shared in-memory catalog, or the offline station cache when there is no connection
+        stationRepository.loadStations(CallScope.of(this).bind(new ApiCallback<List<Station>>() {
+            @Override
+            public void onSuccess(List<Station> stations) {
+                stationsList = stations;
+                nameToIdMap.clear();
+                for (Station s : stations) {
+                    nameToIdMap.put(s.getName(), s.getId() != null ? s.getId() : "default_id");
                 }
+                // Until the new index is ready a query shows the whole list rather than stale matches
+                searchIndex = null;
+                filterStations(etStationSearch.getText().toString().trim());
+                indexStations(stations);
+            }
 
-                @Override
-                public void onError(String errorMessage) {
-                    // Remove mock stations - just show empty spinner
-                    stationsList = new ArrayList<>();
-                    List<String> stationNames = new ArrayList<>();
-                    stationNames.add("No stations available");
+            @Override
+            public void onError(String errorMessage) {
+                // Remove mock stations - just show empty spinner
+                stationsList = new ArrayList<>();
+                List<String> stationNames = new ArrayList<>();
+                stationNames.add(apiManager.isNetworkAvailable() ? "No stations available" : "No internet connection");
 
-                    ArrayAdapter<String> adapter = new ArrayAdapter<>(BookingActivity.this,
-                            android.R.layout.simple_spinner_item, stationNames);
-                    adapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
-                    spinnerStations.setAdapter(adapter);
+                ArrayAdapter<String> adapter = new ArrayAdapter<>(BookingActivity.this,
+                        android.R.layout.simple_spinner_item, stationNames);
+                adapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
+                spinnerStations.setAdapter(adapter);
 
-                    Toast.makeText(BookingActivity.this, "Failed to load stations", Toast.LENGTH_SHORT).show();
+                Toast.makeText(BookingActivity.this, "Failed to load stations", Toast.LENGTH_SHORT).show();
+            }
+        }));
+    }
+
+
+
+    private void indexStations(List<Station> stations) {
+        if (indexExecutor.isShutdown()) return;
+        indexExecutor.execute(() -> {
+            StationSearchIndex index = new StationSearchIndex(stations);
+            runOnUiThread(() -> {
+                // A newer catalog has its own index on the way
+                if (isFinishing() || stations != stationsList) return;
+                searchIndex = index;
+                String query = etStationSearch.getText().toString().trim();
+                if (!query.isEmpty()) {
+                    filterStations(query);
                 }
             });
-        } else {
-            // Remove mock stations - just show empty spinner
-            stationsList = new ArrayList<>();
-            List<String> stationNames = new ArrayList<>();
-            stationNames.add("No internet connection");
-
-            ArrayAdapter<String> adapter = new ArrayAdapter<>(this,
-                    android.R.layout.simple_spinner_item, stationNames);
-            adapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
-            spinnerStations.setAdapter(adapter);
-        }
+        });
     }
 
-
+    private void filterStations(String query) {
+        if (stationsList == null) return;
+        List<Station> stations = query.isEmpty() || searchIndex == null
+                ? stationsList
+                : searchIndex.search(query, stationsList.size());
+        List<String> names = new ArrayList<>();
+        for (Station s : stations) {
+            names.add(s.getName());
+        }
+        ArrayAdapter<String> adapter = new ArrayAdapter<>(BookingActivity.this,
+                android.R.layout.simple_spinner_item, names);
+        adapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
+        spinnerStations.setAdapter(adapter);
+
+        // If we have a pre-selected station, try to select it in spinner
+        if (isStationPreSelected && selectedStationName != null) {
+            for (int i = 0; i < names.size(); i++) {
+                if (names.get(i).equals(selectedStationName)) {
+                    spinnerStations.setSelection(i);
+                    break;
+                }
+            }
+        }
+    }
 
     private void showDatePicker() {
         DatePickerDialog datePicker = new DatePickerDialog(
@@ -255,7 +303,9 @@ public class BookingActivity extends AppCompatActivity {
             stationId = selectedStationId;
         } else {
             // Use the station from spinner
-            stationName = spinnerStations.getSelectedItem().toString();
+            // Nothing selected when the search matches no station
+            Object selected = spinnerStations.getSelectedItem();
+            stationName = selected != null ? selected.toString() : "";
             stationId = nameToIdMap.get(stationName);
         }
 
@@ -294,35 +344,25 @@ public class BookingActivity extends AppCompatActivity {
         //booking.setTotalCost((float) cost);
         booking.setStatus("pending");
 
-        if (apiManager.isNetworkAvailable()) {
-            apiManager.createBooking(booking, new ApiCallback<ApiResponse>() {
-                @Override
-                public void onSuccess(ApiResponse response) {
-                    showProgress(false);
-                    handleBookingSuccess(booking);
-                }
+        // Offline, this is saved on the device and synced in the background
+        bookingRepository.createBooking(booking, new ApiCallback<ApiResponse>() {
+            @Override
+            public void onSuccess(ApiResponse response) {
+                showProgress(false);
+                handleBookingSuccess(response);
+            }
 
-                @Override
-                public void onError(String errorMessage) {
-                    showProgress(false);
-                    Toast.makeText(BookingActivity.this, errorMessage, Toast.LENGTH_SHORT).show();
-                }
-            });
-        } else {
-            // Offline booking
-            boolean success = databaseManager.addBooking(booking);
-            showProgress(false);
-
-            if (success) {
-                handleBookingSuccess(booking);
-            } else {
-                Toast.makeText(this, "Booking creation failed", Toast.LENGTH_SHORT).show();
+            @Override
+            public void onError(String errorMessage) {
+                showProgress(false);
+                Toast.makeText(BookingActivity.this, errorMessage, Toast.LENGTH_SHORT).show();
             }
-        }
+        });
     }
 
-    private void handleBookingSuccess(Booking booking) {
-        Toast.makeText(this, "Booking created successfully!", Toast.LENGTH_SHORT).show();
+    private void handleBookingSuccess(ApiResponse response) {
+        String message = response.isQueued() ? response.getMessage() : "Booking created successfully!";
+        Toast.makeText(this, message, Toast.LENGTH_SHORT).show();
 
         // Navigate back to dashboard
         Intent intent = new Intent(BookingActivity.this, DashboardActivity.class);
@@ -336,4 +376,10 @@ public class BookingActivity extends AppCompatActivity {
         progressBar.setVisibility(show ? View.VISIBLE : View.GONE);
         btnCreateBooking.setEnabled(!show);
     }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        indexExecutor.shutdownNow();
+    }
 }
\ No newline at end of file
@@ -20,16 +20,16 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.evchargingmobileapp.R;
-import com.example.evchargingmobileapp.api.ApiManager;
 import com.example.evchargingmobileapp.interfaces.ApiCallback;
 import com.example.evchargingmobileapp.models.ApiResponse;
 import com.example.evchargingmobileapp.models.Booking;
+import com.example.evchargingmobileapp.repository.BookingRepository;
 
 public class BookingDetailsActivity extends AppCompatActivity {
 
     private TextView tvDetails;
     private Button btnEdit, btnCancel, btnGenerateQR;
-    private ApiManager apiManager;
+    private BookingRepository bookingRepository;
     private Booking booking;
     private String userNIC;
     private static final String TAG = "BookingDetailsActivity";
@@ -55,7 +55,7 @@ public class BookingDetailsActivity extends AppCompatActivity {
             return;
         }
 
-        apiManager = new ApiManager(this);
+        bookingRepository = BookingRepository.getInstance(this);
 
         Log.d(TAG, "Booking loaded - ID: " + booking.getId() + ", Status: " + booking.getStatus());
     }
@@ -238,11 +238,12 @@ public class BookingDetailsActivity extends AppCompatActivity {
     private void cancelBooking() {
         showLoadingState(true);
 
-        apiManager.cancelBooking(booking.getId(), new ApiCallback<ApiResponse>() {
+        bookingRepository.cancelBooking(booking.getId(), new ApiCallback<ApiResponse>() {
             @Override
             public void onSuccess(ApiResponse response) {
                 showLoadingState(false);
-                Toast.makeText(BookingDetailsActivity.this, "Booking cancelled successfully!", Toast.LENGTH_SHORT).show();
+                String message = response.isQueued() ? response.getMessage() : "Booking cancelled successfully!";
+                Toast.makeText(BookingDetailsActivity.this, message, Toast.LENGTH_SHORT).show();
                 setResult(RESULT_OK);
                 finish();
             }
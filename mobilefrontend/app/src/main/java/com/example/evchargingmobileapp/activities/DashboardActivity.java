@@ -11,10 +11,14 @@ import android.graphics.Color;
 import android.location.Location;
 import android.os.Build;
 import android.os.Bundle;
+import android.text.Editable;
+import android.text.TextWatcher;
+import android.util.DisplayMetrics;
 import android.util.Log;
 import android.view.View;
 import android.view.Window;
 import android.view.WindowManager;
+import android.widget.EditText;
 import android.widget.ImageButton;
 import android.widget.TextView;
 import android.widget.Toast;
@@ -38,23 +42,46 @@ import com.google.android.gms.maps.model.Marker;
 import com.google.android.gms.maps.model.MarkerOptions;
 import com.google.android.gms.tasks.OnSuccessListener;
 import com.google.android.material.bottomsheet.BottomSheetDialog;
+import com.google.android.material.chip.Chip;
+import com.google.maps.android.clustering.ClusterManager;
+import com.google.maps.android.clustering.algo.NonHierarchicalViewBasedAlgorithm;
 import com.example.evchargingmobileapp.R;
 import com.example.evchargingmobileapp.adapters.StationsAdapter;
-import com.example.evchargingmobileapp.api.ApiManager;
+import com.example.evchargingmobileapp.api.CallScope;
 import com.example.evchargingmobileapp.interfaces.ApiCallback;
 import com.example.evchargingmobileapp.models.DashboardStats;
 import com.example.evchargingmobileapp.models.Station;
+import com.example.evchargingmobileapp.repository.BookingRepository;
+import com.example.evchargingmobileapp.repository.StationRepository;
+import com.example.evchargingmobileapp.utils.StationClusterItem;
+import com.example.evchargingmobileapp.utils.StationClusterRenderer;
+import com.example.evchargingmobileapp.utils.StationFilterIndex;
+import com.example.evchargingmobileapp.utils.StationMarkerRegistry;
+import com.example.evchargingmobileapp.utils.StationSearchIndex;
+import com.example.evchargingmobileapp.utils.StationSpatialIndex;
 
 import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class DashboardActivity extends AppCompatActivity implements OnMapReadyCallback {
 
     private GoogleMap mMap;
+    private ClusterManager<StationClusterItem> clusterManager;
+    private StationMarkerRegistry markerRegistry;
+    private Marker currentLocationMarker;
     private FusedLocationProviderClient fusedLocationClient;
     private RecyclerView rvStations;
+    private EditText etStationSearch;
+    private Chip chipDc, chipAc, chipAvailable, chipOpenNow, chipNearby, chipBudget, chipCheapest;
     private StationsAdapter stationsAdapter;
-    private ApiManager apiManager;
+    private StationRepository stationRepository;
+    private BookingRepository bookingRepository;
     private String userNIC;
     private DashboardStats stats;
     private ImageButton ivStations, ivActivity, ivMore, btnLogout;
@@ -64,6 +91,30 @@ public class DashboardActivity extends AppCompatActivity implements OnMapReadyCa
     private static final int LOCATION_PERMISSION_REQUEST_CODE = 1001;
     private List<Station> currentStations = new ArrayList<>();
 
+    // On-device nearby lookups - built off the main thread once per catalog, while an availability
+    // push only patches the station it changed. The list shows the nearest matching stations; the map
+    // and search cover every match. stationIndex and filterIndex are only touched on indexExecutor
+    private final ExecutorService indexExecutor = Executors.newSingleThreadExecutor();
+    private StationSpatialIndex stationIndex;
+    private LatLng lastKnownLatLng;
+    private static final int NEAREST_LIST_SIZE = 50;
+    // Search-as-you-type over name / location / type, built alongside the spatial index and narrowed
+    // to the current matches. Queries are answered on the main thread, well within a frame even for
+    // thousands of stations
+    private static final int SEARCH_RESULT_LIMIT = 50;
+    private StationSearchIndex searchIndex;
+    private List<Station> stationOrder = new ArrayList<>();
+    // Filter chips narrow both the map and the list; the index is built with the spatial one
+    private static final double NEARBY_RADIUS_KM = 10;
+    private static final double BUDGET_PRICE_PER_HOUR = 1500;
+    private StationFilterIndex filterIndex;
+    private FilteredStations filteredStations;
+    private volatile StationFilterIndex.Criteria filterCriteria = new StationFilterIndex.Criteria();
+    // The catalog the indexes are built (or being built) for, and a count of full builds so results
+    // computed for a superseded catalog are dropped
+    private List<Station> indexedStations;
+    private int indexGeneration;
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -83,13 +134,19 @@ public class DashboardActivity extends AppCompatActivity implements OnMapReadyCa
         userNIC = intent.getStringExtra("USER_NIC");
 
         fusedLocationClient = LocationServices.getFusedLocationProviderClient(this);
-        apiManager = new ApiManager(this);
+        stationRepository = StationRepository.getInstance(this);
+        bookingRepository = BookingRepository.getInstance(this);
 
         stats = new DashboardStats();
 
         initViews();
         setupClickListeners();
-        loadUserStats();
+        stationRepository.getStations().observe(this, this::showStationCatalog);
+        bookingRepository.getStats().observe(this, s -> {
+            if (s == null) return;
+            stats = s;
+            updateStatsUI();
+        });
         loadAllStationsFromDatabase();
         checkLocationPermission();
     }
@@ -114,6 +171,33 @@ public class DashboardActivity extends AppCompatActivity implements OnMapReadyCa
         rvStations.setLayoutManager(new LinearLayoutManager(this, LinearLayoutManager.HORIZONTAL, false));
         rvStations.setAdapter(stationsAdapter);
 
+        etStationSearch = findViewById(R.id.etStationSearch);
+        etStationSearch.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+            }
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {
+            }
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                showStationList();
+            }
+        });
+
+        chipDc = findViewById(R.id.chipDc);
+        chipAc = findViewById(R.id.chipAc);
+        chipAvailable = findViewById(R.id.chipAvailable);
+        chipOpenNow = findViewById(R.id.chipOpenNow);
+        chipNearby = findViewById(R.id.chipNearby);
+        chipBudget = findViewById(R.id.chipBudget);
+        chipCheapest = findViewById(R.id.chipCheapest);
+        for (Chip chip : new Chip[]{chipDc, chipAc, chipAvailable, chipOpenNow, chipNearby, chipBudget, chipCheapest}) {
+            chip.setOnCheckedChangeListener((button, checked) -> onFilterChipsChanged());
+        }
+
         // Bottom navigation
         ivStations = findViewById(R.id.ivStations);
         ivActivity = findViewById(R.id.ivActivity);
@@ -169,27 +253,20 @@ public class DashboardActivity extends AppCompatActivity implements OnMapReadyCa
     }
 
     private void loadUserStats() {
-        if (apiManager.isNetworkAvailable()) {
-            apiManager.getUserStats(userNIC, new ApiCallback<DashboardStats>() {
-                @Override
-                public void onSuccess(DashboardStats s) {
-                    stats = s;
-                    updateStatsUI();
-                }
-
-                @Override
-                public void onError(String errorMessage) {
-                    stats.setPendingReservations(0);
-                    stats.setApprovedReservations(0);
-                    Toast.makeText(DashboardActivity.this, errorMessage, Toast.LENGTH_SHORT).show();
-                }
-            });
-        } else {
-            // Offline mode
-            stats.setPendingReservations(0);
-            stats.setApprovedReservations(0);
-            Toast.makeText(this, "Offline Mode", Toast.LENGTH_SHORT).show();
-        }
+        // Cached / aggregate stats online, counted from cached bookings offline
+        bookingRepository.loadStats(userNIC, CallScope.of(this).bind(new ApiCallback<DashboardStats>() {
+            @Override
+            public void onSuccess(DashboardStats s) {
+                // Delivered through getStats()
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                stats.setPendingReservations(0);
+                stats.setApprovedReservations(0);
+                Toast.makeText(DashboardActivity.this, errorMessage, Toast.LENGTH_SHORT).show();
+            }
+        }));
     }
 
     private void updateStatsUI() {
@@ -279,6 +356,9 @@ public class DashboardActivity extends AppCompatActivity implements OnMapReadyCa
                                 mMap.moveCamera(CameraUpdateFactory.newLatLngZoom(currentLatLng, 12));
                                 addCurrentLocationMarker(currentLatLng);
                             }
+
+                            lastKnownLatLng = currentLatLng;
+                            showNearestStations();
                         } else {
                             Log.w(TAG, "Location is null, using default location");
                             setDefaultMapLocation();
@@ -306,8 +386,13 @@ public class DashboardActivity extends AppCompatActivity implements OnMapReadyCa
             mMap.setMyLocationEnabled(true);
         }
 
+        setUpStationClustering();
+
         // Set default map location
         setDefaultMapLocation();
+
+        // Stations may have loaded (e.g. from the cache) before the map was ready
+        addStationsToMap(filteredStations != null ? filteredStations.matches : currentStations);
     }
 
     private void setDefaultMapLocation() {
@@ -319,129 +404,330 @@ public class DashboardActivity extends AppCompatActivity implements OnMapReadyCa
         }
     }
 
+    // A single "Your Location" marker that is moved rather than re-added
     private void addCurrentLocationMarker(LatLng latLng) {
-        if (mMap != null) {
-            mMap.addMarker(new MarkerOptions()
+        if (mMap == null) return;
+
+        if (currentLocationMarker != null) {
+            currentLocationMarker.setPosition(latLng);
+        } else {
+            currentLocationMarker = mMap.addMarker(new MarkerOptions()
                     .position(latLng)
                     .title("Your Location")
                     .icon(BitmapDescriptorFactory.defaultMarker(BitmapDescriptorFactory.HUE_BLUE)));
         }
     }
 
-    // NEW METHOD: Load all stations from database
+    // Load all stations - cached catalog renders immediately, network refresh follows when stale
     private void loadAllStationsFromDatabase() {
-        Log.d(TAG, "Loading all stations from database...");
-
-        if (apiManager.isNetworkAvailable()) {
-            apiManager.getAllStations(new ApiCallback<List<Station>>() {
-                @Override
-                public void onSuccess(List<Station> stations) {
-                    Log.d(TAG, "Successfully loaded " + (stations != null ? stations.size() : 0) + " stations from database");
-
-                    if (stations == null || stations.isEmpty()) {
-                        Toast.makeText(DashboardActivity.this, "No charging stations found in database", Toast.LENGTH_LONG).show();
-                        currentStations = new ArrayList<>();
-                    } else {
-                        currentStations = stations;
-                    }
-
-                    stationsAdapter.updateData(currentStations);
-                    addStationsToMap(currentStations);
+        Log.d(TAG, "Loading all stations...");
+        stationRepository.loadStations(CallScope.of(this).bind(stationsCallback));
+    }
 
-                    // Show stations list automatically
-                    showStations();
+    // Every catalog the repository publishes - initial load, refresh or live availability push
+    private void showStationCatalog(List<Station> stations) {
+        if (stations == null) return;
+        Log.d(TAG, "Successfully loaded " + stations.size() + " stations");
+        boolean firstLoad = currentStations.isEmpty();
+        Station changed = stationRepository.getAvailabilityChange(indexedStations, stations);
 
-                    // Show success message
-                    if (!currentStations.isEmpty()) {
-                        Toast.makeText(DashboardActivity.this,
-                                "Loaded " + currentStations.size() + " charging stations from database",
-                                Toast.LENGTH_SHORT).show();
-                    }
-                }
-
-                @Override
-                public void onError(String errorMessage) {
-                    Log.e(TAG, "Error loading stations from database: " + errorMessage);
-                    Toast.makeText(DashboardActivity.this, "Failed to load stations: " + errorMessage, Toast.LENGTH_SHORT).show();
-                    currentStations = new ArrayList<>();
-                    stationsAdapter.updateData(currentStations);
-                    addStationsToMap(currentStations);
-                }
-            });
-        } else {
-            Log.w(TAG, "No network available, cannot load stations from database");
-            Toast.makeText(this, "No internet connection. Cannot load stations.", Toast.LENGTH_LONG).show();
+        if (stations.isEmpty()) {
+            Toast.makeText(DashboardActivity.this, "No charging stations found in database", Toast.LENGTH_LONG).show();
             currentStations = new ArrayList<>();
+        } else {
+            currentStations = stations;
+        }
+
+        // A live slot count for one station: its row and marker follow from the patched filter pass
+        if (changed != null) {
+            indexedStations = stations;
+            refilter(changed);
+            return;
+        }
+
+        // With filters on, the map waits for the filtered result instead of flashing every station
+        if (filterCriteria.keepsEverything()) {
+            addStationsToMap(currentStations);
+        }
+        indexStations(stations);
+
+        // Only announce the first render, background refreshes update silently
+        if (firstLoad && !currentStations.isEmpty()) {
+            showStations();
+            Toast.makeText(DashboardActivity.this,
+                    "Loaded " + currentStations.size() + " charging stations",
+                    Toast.LENGTH_SHORT).show();
+        }
+    }
+
+    private final ApiCallback<List<Station>> stationsCallback = new ApiCallback<List<Station>>() {
+        @Override
+        public void onSuccess(List<Station> stations) {
+            // Delivered through getStations()
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+            Log.e(TAG, "Error loading stations: " + errorMessage);
+            Toast.makeText(DashboardActivity.this, "Failed to load stations: " + errorMessage, Toast.LENGTH_SHORT).show();
             stationsAdapter.updateData(currentStations);
             addStationsToMap(currentStations);
         }
+    };
+
+    // Build the spatial, filter and search indexes in the background, once per catalog
+    private void indexStations(List<Station> stations) {
+        if (indexExecutor.isShutdown()) return;
+        indexedStations = stations;
+        int generation = ++indexGeneration;
+        indexExecutor.execute(() -> {
+            stationIndex = new StationSpatialIndex(stations);
+            filterIndex = new StationFilterIndex(stations, stationIndex);
+            StationSearchIndex search = new StationSearchIndex(stations);
+            FilteredStations filtered = filterStations(filterCriteria, lastKnownLatLng);
+
+            runOnUiThread(() -> {
+                // A newer catalog has its own indexes on the way
+                if (isFinishing() || generation != indexGeneration) return;
+                searchIndex = search;
+                showFilteredStations(filtered);
+            });
+        });
     }
 
-    private void addStationsToMap(List<Station> stations) {
-        if (mMap == null) return;
+    private void onFilterChipsChanged() {
+        int types = (chipDc.isChecked() ? StationFilterIndex.TYPE_DC : 0)
+                | (chipAc.isChecked() ? StationFilterIndex.TYPE_AC : 0);
+        StationFilterIndex.Criteria criteria = new StationFilterIndex.Criteria()
+                .types(types)
+                .availableOnly(chipAvailable.isChecked())
+                .openNow(chipOpenNow.isChecked())
+                .sort(chipCheapest.isChecked() ? StationFilterIndex.Sort.CHEAPEST : StationFilterIndex.Sort.LIST_ORDER);
+        if (chipNearby.isChecked()) {
+            criteria.maxDistanceKm(NEARBY_RADIUS_KM);
+            if (lastKnownLatLng == null) {
+                Toast.makeText(this, "Waiting for your location to find nearby stations", Toast.LENGTH_SHORT).show();
+            }
+        }
+        if (chipBudget.isChecked()) {
+            criteria.maxPricePerHour(BUDGET_PRICE_PER_HOUR);
+        }
+        filterCriteria = criteria;
+        applyFilters();
+    }
 
-        mMap.clear();
+    // Re-filter the indexed catalog - no re-parsing, and distance is a radius query on the spatial index
+    private void applyFilters() {
+        refilter(null);
+    }
 
-        // Add current location marker if we have location permission
-        if (ActivityCompat.checkSelfPermission(this, Manifest.permission.ACCESS_FINE_LOCATION)
-                == PackageManager.PERMISSION_GRANTED) {
-            // Current location marker will be added by the system when mMap.setMyLocationEnabled(true) is called
+    // changed (may be null) is first swapped into the KD-tree and the filter bitsets - nothing is rebuilt.
+    // Queued behind any build still running, so it lands on the indexes for the latest catalog
+    private void refilter(Station changed) {
+        if (indexExecutor.isShutdown()) return;
+        int generation = indexGeneration;
+        indexExecutor.execute(() -> {
+            if (filterIndex == null) return;
+            if (changed != null) {
+                stationIndex.replace(changed);
+                filterIndex.replace(changed);
+            }
+            FilteredStations filtered = filterStations(filterCriteria, lastKnownLatLng);
+            runOnUiThread(() -> {
+                if (isFinishing() || generation != indexGeneration) return;
+                showFilteredStations(filtered);
+            });
+        });
+    }
+
+    // Runs on indexExecutor
+    private FilteredStations filterStations(StationFilterIndex.Criteria criteria, LatLng origin) {
+        List<Station> matches = origin != null
+                ? filterIndex.apply(criteria, Calendar.getInstance(), origin.latitude, origin.longitude)
+                : filterIndex.apply(criteria, Calendar.getInstance());
+        Map<String, Integer> ranks = new HashMap<>(matches.size() * 2);
+        for (int i = 0; i < matches.size(); i++) {
+            ranks.put(matches.get(i).getId(), i);
+        }
+        return new FilteredStations(criteria, matches, ranks,
+                nearestMatches(stationIndex, ranks, criteria, origin, matches));
+    }
+
+    // The list: the nearest matching stations straight from the KD-tree, in the filter's order when a
+    // sort chip is on. Without a location fix it is every match
+    private static List<Station> nearestMatches(StationSpatialIndex index, Map<String, Integer> ranks,
+                                                StationFilterIndex.Criteria criteria, LatLng origin,
+                                                List<Station> matches) {
+        if (origin == null) return matches;
+        List<Station> nearest = index.nearest(origin.latitude, origin.longitude, NEAREST_LIST_SIZE,
+                station -> ranks.containsKey(station.getId()));
+        if (criteria.getSort() != StationFilterIndex.Sort.LIST_ORDER) {
+            Collections.sort(nearest, (a, b) -> Integer.compare(ranks.get(a.getId()), ranks.get(b.getId())));
+        }
+        return nearest;
+    }
+
+    // Filtered stations go to the map, the nearest of them to the list; search covers all of them
+    private void showFilteredStations(FilteredStations filtered) {
+        // Chips changed while this was being computed - their own pass is queued or about to be
+        if (filtered.criteria != filterCriteria) {
+            applyFilters();
+            return;
+        }
+        filteredStations = filtered;
+        stationOrder = filtered.nearest;
+        addStationsToMap(filtered.matches);
+        showStationList();
+    }
+
+    // The nearest-first list, or the matches for whatever is typed in the search box
+    private void showStationList() {
+        String query = etStationSearch.getText().toString().trim();
+        if (query.isEmpty() || searchIndex == null || filteredStations == null) {
+            stationsAdapter.updateData(stationOrder);
+        } else {
+            stationsAdapter.updateData(withDistances(searchMatches(query)));
         }
+    }
+
+    // The trie keeps the stations it was built with, so hits are narrowed to the current matches and
+    // swapped for them - those carry any availability pushed since
+    private List<Station> searchMatches(String query) {
+        FilteredStations filtered = filteredStations;
+        List<Station> hits = searchIndex.search(query, SEARCH_RESULT_LIMIT,
+                station -> filtered.ranks.containsKey(station.getId()));
+        List<Station> matches = new ArrayList<>(hits.size());
+        for (Station hit : hits) {
+            matches.add(filtered.matches.get(filtered.ranks.get(hit.getId())));
+        }
+        return matches;
+    }
 
+    // Search hits are catalog stations, so fill in how far each one is (copies - the catalog is shared)
+    private List<Station> withDistances(List<Station> stations) {
+        LatLng origin = lastKnownLatLng;
+        if (origin == null) return stations;
+        List<Station> result = new ArrayList<>(stations.size());
         for (Station station : stations) {
-            LatLng stationLatLng = new LatLng(station.getLatitude(), station.getLongitude());
-            Marker marker = mMap.addMarker(new MarkerOptions()
-                    .position(stationLatLng)
-                    .title(station.getName())
-                    .snippet(station.getType() + " • " + station.getAvailableSlots() + "/" + station.getTotalSlots() + " available")
-                    .icon(BitmapDescriptorFactory.defaultMarker(BitmapDescriptorFactory.HUE_GREEN)));
-
-            if (marker != null) {
-                marker.setTag(station);
-            }
+            Station copy = new Station(station);
+            copy.setDistance(StationSpatialIndex.distanceKm(origin.latitude, origin.longitude,
+                    station.getLatitude(), station.getLongitude()));
+            result.add(copy);
+        }
+        return result;
+    }
+
+    // A location fix only re-runs the k-nearest query, unless the distance chip depends on it
+    private void showNearestStations() {
+        FilteredStations filtered = filteredStations;
+        LatLng origin = lastKnownLatLng;
+        if (filtered == null || origin == null || indexExecutor.isShutdown()) return;
+        if (filtered.criteria.limitsDistance()) {
+            applyFilters();
+            return;
+        }
+
+        indexExecutor.execute(() -> {
+            List<Station> nearest = nearestMatches(stationIndex, filtered.ranks, filtered.criteria, origin, filtered.matches);
+            runOnUiThread(() -> {
+                if (isFinishing() || filtered != filteredStations) return;
+                stationOrder = nearest;
+                showStationList();
+            });
+        });
+    }
+
+    // One filter pass over the catalog: the matches for the map and search, and the list to show
+    private static class FilteredStations {
+        final StationFilterIndex.Criteria criteria;
+        final List<Station> matches;
+        final Map<String, Integer> ranks; // position of each match in the filter's order
+        final List<Station> nearest;
+
+        FilteredStations(StationFilterIndex.Criteria criteria, List<Station> matches, Map<String, Integer> ranks,
+                         List<Station> nearest) {
+            this.criteria = criteria;
+            this.matches = matches;
+            this.ranks = ranks;
+            this.nearest = nearest;
         }
+    }
+
+    // Stations are handed to the ClusterManager, which clusters them off the main thread and
+    // only materialises markers for the visible viewport, re-clustering when the camera goes idle
+    private void setUpStationClustering() {
+        DisplayMetrics metrics = getResources().getDisplayMetrics();
+        clusterManager = new ClusterManager<>(this, mMap);
+        clusterManager.setAlgorithm(new NonHierarchicalViewBasedAlgorithm<>(
+                (int) (metrics.widthPixels / metrics.density),
+                (int) (metrics.heightPixels / metrics.density)));
+        clusterManager.setRenderer(new StationClusterRenderer(this, mMap, clusterManager));
+        markerRegistry = new StationMarkerRegistry(clusterManager);
+
+        mMap.setOnCameraIdleListener(clusterManager);
+        mMap.setOnMarkerClickListener(clusterManager);
+        mMap.setOnInfoWindowClickListener(clusterManager);
+
+        // Tapping a cluster zooms in on it
+        clusterManager.setOnClusterClickListener(cluster -> {
+            mMap.animateCamera(CameraUpdateFactory.newLatLngZoom(cluster.getPosition(),
+                    mMap.getCameraPosition().zoom + 2));
+            return true;
+        });
 
-        // Add marker click listener
-        mMap.setOnMarkerClickListener(marker -> {
-            Station station = (Station) marker.getTag();
-            if (station != null) {
-                // Show station info in a toast
-                String stationInfo = station.getName() +
-                        "\n" + station.getLocation() +
-                        "\n" + station.getType() + " • " +
-                        station.getAvailableSlots() + "/" + station.getTotalSlots() + " available";
-
-                Toast.makeText(this, stationInfo, Toast.LENGTH_LONG).show();
-
-                // Scroll to station in list
-                int index = currentStations.indexOf(station);
-                if (index != -1) {
-                    rvStations.smoothScrollToPosition(index);
-                }
-
-                // Move camera to marker
-                mMap.animateCamera(CameraUpdateFactory.newLatLngZoom(marker.getPosition(), 15));
+        clusterManager.setOnClusterItemClickListener(item -> {
+            Station station = item.getStation();
+            // Show station info in a toast
+            String stationInfo = station.getName() +
+                    "\n" + station.getLocation() +
+                    "\n" + station.getType() + " • " +
+                    station.getAvailableSlots() + "/" + station.getTotalSlots() + " available";
+
+            Toast.makeText(this, stationInfo, Toast.LENGTH_LONG).show();
+
+            // Scroll to station in list
+            int index = stationsAdapter.positionOf(station.getId());
+            if (index != -1) {
+                rvStations.smoothScrollToPosition(index);
             }
+
+            // Move camera to marker
+            mMap.animateCamera(CameraUpdateFactory.newLatLngZoom(item.getPosition(), 15));
             return true; // Return true to indicate we've handled the event
         });
 
-        // Add info window click listener
-        mMap.setOnInfoWindowClickListener(marker -> {
-            Station station = (Station) marker.getTag();
-            if (station != null) {
-                // Navigate to booking when info window is clicked
-                Intent bookingIntent = new Intent(DashboardActivity.this, BookingActivity.class);
-                bookingIntent.putExtra("USER_NIC", userNIC);
-                bookingIntent.putExtra("STATION_ID", station.getId());
-                bookingIntent.putExtra("STATION_NAME", station.getName());
-                bookingIntent.putExtra("STATION_LOCATION", station.getLocation());
-                bookingIntent.putExtra("STATION_LAT", station.getLatitude());
-                bookingIntent.putExtra("STATION_LNG", station.getLongitude());
-                startActivity(bookingIntent);
-            }
+        clusterManager.setOnClusterItemInfoWindowClickListener(item -> {
+            Station station = item.getStation();
+            // Navigate to booking when info window is clicked
+            Intent bookingIntent = new Intent(DashboardActivity.this, BookingActivity.class);
+            bookingIntent.putExtra("USER_NIC", userNIC);
+            bookingIntent.putExtra("STATION_ID", station.getId());
+            bookingIntent.putExtra("STATION_NAME", station.getName());
+            bookingIntent.putExtra("STATION_LOCATION", station.getLocation());
+            bookingIntent.putExtra("STATION_LAT", station.getLatitude());
+            bookingIntent.putExtra("STATION_LNG", station.getLongitude());
+            startActivity(bookingIntent);
         });
     }
 
+    // Diffs against the markers already on the map instead of rebuilding them
+    private void addStationsToMap(List<Station> stations) {
+        if (mMap == null || markerRegistry == null) return;
+        markerRegistry.sync(stations);
+    }
+
+    @Override
+    protected void onStart() {
+        super.onStart();
+        stationRepository.startLiveUpdates();
+    }
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        stationRepository.stopLiveUpdates();
+    }
+
     @Override
     protected void onResume() {
         super.onResume();
@@ -449,11 +735,19 @@ public class DashboardActivity extends AppCompatActivity implements OnMapReadyCa
         if (currentStations.isEmpty()) {
             loadAllStationsFromDatabase();
         }
+        // Served from the short-lived stats cache unless it has expired
+        loadUserStats();
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        indexExecutor.shutdownNow();
     }
 
     // Method to refresh stations manually
     public void refreshStations(View view) {
         Toast.makeText(this, "Refreshing stations from database...", Toast.LENGTH_SHORT).show();
-        loadAllStationsFromDatabase();
+        stationRepository.refreshStations(CallScope.of(this).bind(stationsCallback));
     }
 }
\ No newline at end of file
@@ -20,11 +20,10 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.evchargingmobileapp.R;
-import com.example.evchargingmobileapp.api.ApiManager;
-import com.example.evchargingmobileapp.database.DatabaseManager;
 import com.example.evchargingmobileapp.interfaces.ApiCallback;
 import com.example.evchargingmobileapp.models.ApiResponse;
 import com.example.evchargingmobileapp.models.Booking;
+import com.example.evchargingmobileapp.repository.BookingRepository;
 
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
@@ -37,8 +36,7 @@ public class EditBookingActivity extends AppCompatActivity {
     private Button btnUpdateBooking;
     private ProgressBar progressBar;
 
-    private ApiManager apiManager;
-    private DatabaseManager databaseManager;
+    private BookingRepository bookingRepository;
     private String userNIC, bookingId;
     private Booking originalBooking;
 
@@ -54,8 +52,7 @@ public class EditBookingActivity extends AppCompatActivity {
         userNIC = getIntent().getStringExtra("USER_NIC");
         bookingId = originalBooking.getId();
 
-        apiManager = new ApiManager(this);
-        databaseManager = new DatabaseManager(this);
+        bookingRepository = BookingRepository.getInstance(this);
 
         calendar = Calendar.getInstance();
         dateFormat = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
@@ -290,55 +287,34 @@ public class EditBookingActivity extends AppCompatActivity {
         updatedBooking.setTotalCost(cost);
         updatedBooking.setStatus(originalBooking.getStatus());
         updatedBooking.setQrCodeData(originalBooking.getQrCodeData()); // Preserve QR code
+        updatedBooking.setUpdatedAt(originalBooking.getUpdatedAt()); // Version this edit is based on
 
         Log.d("EditBooking", "Updating booking: " + updatedBooking.getId());
         Log.d("EditBooking", "Station: " + originalBooking.getStationName() + " (" + originalBooking.getStationId() + ")");
         Log.d("EditBooking", "Time: " + fullStartTime + " to " + fullEndTime);
 
-        if (apiManager.isNetworkAvailable()) {
-            apiManager.updateBooking(bookingId, updatedBooking, new ApiCallback<ApiResponse>() {
-                @Override
-                public void onSuccess(ApiResponse response) {
-                    showProgress(false);
-                    Toast.makeText(EditBookingActivity.this, "Booking updated successfully!", Toast.LENGTH_SHORT).show();
-
-                    // Return the updated booking to previous activity
-                    Intent resultIntent = new Intent();
-                    resultIntent.putExtra("UPDATED_BOOKING", updatedBooking);
-                    setResult(RESULT_OK, resultIntent);
-                    finish();
-                }
-
-                @Override
-                public void onError(String errorMessage) {
-                    showProgress(false);
-                    Log.e("EditBooking", "Update failed: " + errorMessage);
-                    Toast.makeText(EditBookingActivity.this, "Update failed: " + errorMessage, Toast.LENGTH_SHORT).show();
-
-                    // Fallback to local update
-                    try {
-                        databaseManager.updateBooking(updatedBooking);
-                        Toast.makeText(EditBookingActivity.this, "Saved locally (offline)", Toast.LENGTH_SHORT).show();
-                        setResult(RESULT_OK);
-                        finish();
-                    } catch (Exception e) {
-                        Toast.makeText(EditBookingActivity.this, "Failed to save locally", Toast.LENGTH_SHORT).show();
-                    }
-                }
-            });
-        } else {
-            // Offline update
-            try {
-                databaseManager.updateBooking(updatedBooking);
+        // Offline, the edit is saved on the device and synced in the background
+        bookingRepository.updateBooking(bookingId, updatedBooking, new ApiCallback<ApiResponse>() {
+            @Override
+            public void onSuccess(ApiResponse response) {
                 showProgress(false);
-                Toast.makeText(this, "Booking updated locally (offline)", Toast.LENGTH_SHORT).show();
-                setResult(RESULT_OK);
+                String message = response.isQueued() ? response.getMessage() : "Booking updated successfully!";
+                Toast.makeText(EditBookingActivity.this, message, Toast.LENGTH_SHORT).show();
+
+                // Return the updated booking to previous activity
+                Intent resultIntent = new Intent();
+                resultIntent.putExtra("UPDATED_BOOKING", updatedBooking);
+                setResult(RESULT_OK, resultIntent);
                 finish();
-            } catch (Exception e) {
+            }
+
+            @Override
+            public void onError(String errorMessage) {
                 showProgress(false);
-                Toast.makeText(this, "Failed to save locally: " + e.getMessage(), Toast.LENGTH_SHORT).show();
+                Log.e("EditBooking", "Update failed: " + errorMessage);
+                Toast.makeText(EditBookingActivity.this, "Update failed: " + errorMessage, Toast.LENGTH_SHORT).show();
             }
-        }
+        });
     }
 
     private void showProgress(boolean show) {
@@ -19,11 +19,13 @@ import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.evchargingmobileapp.R;
 import com.example.evchargingmobileapp.api.ApiManager;
+import com.example.evchargingmobileapp.api.CallScope;
 import com.example.evchargingmobileapp.database.DatabaseManager;
 import com.example.evchargingmobileapp.interfaces.ApiCallback;
 import com.example.evchargingmobileapp.models.ApiResponse;
 import com.example.evchargingmobileapp.models.LoginRequest;
 import com.example.evchargingmobileapp.models.User;
+import com.example.evchargingmobileapp.repository.UserRepository;
 
 public class LoginActivity extends AppCompatActivity {
 
@@ -34,6 +36,7 @@ public class LoginActivity extends AppCompatActivity {
     private RadioGroup rgUserType;
 
     private ApiManager apiManager;
+    private UserRepository userRepository;
     private DatabaseManager databaseManager;
 
     @Override
@@ -42,8 +45,9 @@ public class LoginActivity extends AppCompatActivity {
         setContentView(R.layout.activity_login);
 
         // Initialize managers
-        apiManager = new ApiManager(this);
-        databaseManager = new DatabaseManager(this);
+        apiManager = ApiManager.getInstance(this);
+        userRepository = UserRepository.getInstance(this);
+        databaseManager = DatabaseManager.getInstance(this);
 
         // Initialize views
         initViews();
@@ -100,7 +104,7 @@ public class LoginActivity extends AppCompatActivity {
 
         if (apiManager.isNetworkAvailable()) {
             // Online login with role - USING UPDATED METHOD SIGNATURE
-            apiManager.loginUser(nic, password, userType, new ApiCallback<ApiResponse>() {
+            userRepository.loginUser(nic, password, userType, new ApiCallback<ApiResponse>() {
                 @Override
                 public void onSuccess(ApiResponse response) {
                     showProgress(false);
@@ -115,25 +119,39 @@ public class LoginActivity extends AppCompatActivity {
             });
         } else {
             // Offline login (from local database) - with role and active status check
-            User localUser = databaseManager.getUser(nic);
-            if (localUser != null &&
-                    localUser.getPassword().equals(password) &&
-                    localUser.getRole().equals(userType) &&
-                    localUser.isActive()) {
-                handleLoginSuccess(nic, password, userType, null);
-            } else {
-                showProgress(false);
-                if (localUser == null) {
-                    Toast.makeText(LoginActivity.this, "User not found in local database", Toast.LENGTH_SHORT).show();
-                } else if (!localUser.getPassword().equals(password)) {
-                    Toast.makeText(LoginActivity.this, "Invalid password", Toast.LENGTH_SHORT).show();
-                } else if (!localUser.getRole().equals(userType)) {
-                    Toast.makeText(LoginActivity.this, "User role doesn't match selected role", Toast.LENGTH_SHORT).show();
-                } else if (!localUser.isActive()) {
-                    Toast.makeText(LoginActivity.this, "Account is deactivated", Toast.LENGTH_SHORT).show();
-                } else {
-                    Toast.makeText(LoginActivity.this, "No internet connection and local login failed", Toast.LENGTH_SHORT).show();
+            databaseManager.getUserAsync(nic, CallScope.of(this).bind(new ApiCallback<User>() {
+                @Override
+                public void onSuccess(User localUser) {
+                    handleOfflineLogin(localUser, nic, password, userType);
                 }
+
+                @Override
+                public void onError(String errorMessage) {
+                    showProgress(false);
+                    Toast.makeText(LoginActivity.this, errorMessage, Toast.LENGTH_SHORT).show();
+                }
+            }));
+        }
+    }
+
+    private void handleOfflineLogin(User localUser, String nic, String password, String userType) {
+        if (localUser != null &&
+                localUser.getPassword().equals(password) &&
+                localUser.getRole().equals(userType) &&
+                localUser.isActive()) {
+            handleLoginSuccess(nic, password, userType, null);
+        } else {
+            showProgress(false);
+            if (localUser == null) {
+                Toast.makeText(LoginActivity.this, "User not found in local database", Toast.LENGTH_SHORT).show();
+            } else if (!localUser.getPassword().equals(password)) {
+                Toast.makeText(LoginActivity.this, "Invalid password", Toast.LENGTH_SHORT).show();
+            } else if (!localUser.getRole().equals(userType)) {
+                Toast.makeText(LoginActivity.this, "User role doesn't match selected role", Toast.LENGTH_SHORT).show();
+            } else if (!localUser.isActive()) {
+                Toast.makeText(LoginActivity.this, "Account is deactivated", Toast.LENGTH_SHORT).show();
+            } else {
+                Toast.makeText(LoginActivity.this, "No internet connection and local login failed", Toast.LENGTH_SHORT).show();
             }
         }
     }
@@ -142,7 +160,7 @@ public class LoginActivity extends AppCompatActivity {
         // Save/update user to local database
         User user = new User(nic, "User", "user@email.com", password, userType);
         user.setActive(true); // Ensure active status is true
-        databaseManager.addUser(user);
+        databaseManager.getIoExecutor().execute(() -> databaseManager.addUser(user));
 
         Toast.makeText(this, "Login successful!", Toast.LENGTH_SHORT).show();
 
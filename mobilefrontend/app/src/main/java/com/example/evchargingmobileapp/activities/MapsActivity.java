@@ -9,6 +9,7 @@ import android.Manifest;
 import android.content.pm.PackageManager;
 import android.location.Location;
 import android.os.Bundle;
+import android.util.DisplayMetrics;
 import android.widget.Button;
 import android.widget.Toast;
 
@@ -29,26 +30,48 @@ import com.google.android.gms.maps.model.LatLng;
 import com.google.android.gms.maps.model.Marker;
 import com.google.android.gms.maps.model.MarkerOptions;
 import com.google.android.gms.tasks.OnSuccessListener;
+import com.google.maps.android.clustering.ClusterManager;
+import com.google.maps.android.clustering.algo.NonHierarchicalViewBasedAlgorithm;
 import com.example.evchargingmobileapp.R;
 import com.example.evchargingmobileapp.adapters.StationsAdapter;
-import com.example.evchargingmobileapp.api.ApiManager;
+import com.example.evchargingmobileapp.api.CallScope;
 import com.example.evchargingmobileapp.interfaces.ApiCallback;
 import com.example.evchargingmobileapp.models.Station;
+import com.example.evchargingmobileapp.repository.StationRepository;
+import com.example.evchargingmobileapp.utils.StationClusterItem;
+import com.example.evchargingmobileapp.utils.StationClusterRenderer;
+import com.example.evchargingmobileapp.utils.StationMarkerRegistry;
+import com.example.evchargingmobileapp.utils.StationSpatialIndex;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class MapsActivity extends BaseActivity implements OnMapReadyCallback {
 
     private GoogleMap mMap;
+    private ClusterManager<StationClusterItem> clusterManager;
+    private StationMarkerRegistry markerRegistry;
+    private Marker currentLocationMarker;
     private FusedLocationProviderClient fusedLocationClient;
     private RecyclerView rvStations;
     private StationsAdapter stationsAdapter;
-    private ApiManager apiManager;
+    private StationRepository stationRepository;
 
     private static final int LOCATION_PERMISSION_REQUEST_CODE = 1001;
     private List<Station> currentStations = new ArrayList<>();
 
+    // Built once per catalog; each location fix is just a k-nearest query against it and an
+    // availability push swaps in the one station it changed. Only touched on indexExecutor
+    private static final int NEAREST_LIST_SIZE = 50;
+    private final ExecutorService indexExecutor = Executors.newSingleThreadExecutor();
+    private StationSpatialIndex stationIndex;
+    private LatLng lastKnownLatLng;
+    // The catalog the index is built (or being built) for, and a count of builds so stale results are dropped
+    private List<Station> indexedStations;
+    private int indexGeneration;
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -56,10 +79,11 @@ public class MapsActivity extends BaseActivity implements OnMapReadyCallback {
 
         // Initialize location client
         fusedLocationClient = LocationServices.getFusedLocationProviderClient(this);
-        apiManager = new ApiManager(this);
+        stationRepository = StationRepository.getInstance(this);
 
         initViews();
         setupClickListeners();
+        stationRepository.getStations().observe(this, this::showStationCatalog);
         loadAllStationsFromDatabase();
         checkLocationPermission();
     }
@@ -129,6 +153,9 @@ public class MapsActivity extends BaseActivity implements OnMapReadyCallback {
                                 mMap.moveCamera(CameraUpdateFactory.newLatLngZoom(currentLatLng, 12));
                                 addCurrentLocationMarker(currentLatLng);
                             }
+
+                            lastKnownLatLng = currentLatLng;
+                            showStationsNearestFirst();
                         } else {
                             setDefaultMapLocation();
                         }
@@ -144,8 +171,13 @@ public class MapsActivity extends BaseActivity implements OnMapReadyCallback {
         mMap.getUiSettings().setZoomControlsEnabled(true);
         mMap.getUiSettings().setCompassEnabled(true);
 
+        setUpStationClustering();
+
         // Set default location
         setDefaultMapLocation();
+
+        // Stations may have loaded (e.g. from the cache) before the map was ready
+        addStationsToMap(currentStations);
     }
 
     private void setDefaultMapLocation() {
@@ -156,77 +188,149 @@ public class MapsActivity extends BaseActivity implements OnMapReadyCallback {
         }
     }
 
+    // A single "Your Location" marker that is moved rather than re-added
     private void addCurrentLocationMarker(LatLng latLng) {
-        mMap.addMarker(new MarkerOptions()
-                .position(latLng)
-                .title("Your Location")
-                .icon(BitmapDescriptorFactory.defaultMarker(BitmapDescriptorFactory.HUE_BLUE)));
+        if (mMap == null) return;
+
+        if (currentLocationMarker != null) {
+            currentLocationMarker.setPosition(latLng);
+        } else {
+            currentLocationMarker = mMap.addMarker(new MarkerOptions()
+                    .position(latLng)
+                    .title("Your Location")
+                    .icon(BitmapDescriptorFactory.defaultMarker(BitmapDescriptorFactory.HUE_BLUE)));
+        }
     }
 
-    // NEW METHOD: Load all stations from database
+    // Load all stations - the shared catalog renders immediately, network refresh follows when stale
     private void loadAllStationsFromDatabase() {
-        if (apiManager.isNetworkAvailable()) {
-            apiManager.getAllStations(new ApiCallback<List<Station>>() {
-                @Override
-                public void onSuccess(List<Station> stations) {
-                    currentStations = stations != null ? stations : new ArrayList<>();
-                    stationsAdapter.updateData(currentStations);
-                    addStationsToMap(currentStations);
-
-                    if (currentStations.isEmpty()) {
-                        Toast.makeText(MapsActivity.this, "No stations found in database", Toast.LENGTH_SHORT).show();
-                    } else {
-                        Toast.makeText(MapsActivity.this, "Loaded " + currentStations.size() + " stations", Toast.LENGTH_SHORT).show();
-                    }
-                }
-
-                @Override
-                public void onError(String errorMessage) {
-                    Toast.makeText(MapsActivity.this, errorMessage, Toast.LENGTH_SHORT).show();
-                    currentStations = new ArrayList<>();
-                    stationsAdapter.updateData(currentStations);
-                    addStationsToMap(currentStations);
-                }
-            });
-        } else {
-            Toast.makeText(this, "No internet connection", Toast.LENGTH_SHORT).show();
-            currentStations = new ArrayList<>();
+        stationRepository.loadStations(CallScope.of(this).bind(stationsCallback));
+    }
+
+    // Every catalog the repository publishes, including live availability pushes
+    private void showStationCatalog(List<Station> stations) {
+        if (stations == null) return;
+        boolean firstLoad = currentStations.isEmpty();
+        Station changed = stationRepository.getAvailabilityChange(indexedStations, stations);
+        currentStations = stations;
+        addStationsToMap(currentStations);
+        if (changed != null) {
+            indexedStations = stations;
+            updateStation(changed);
+            return;
+        }
+        indexStations(currentStations);
+
+        if (currentStations.isEmpty()) {
+            Toast.makeText(MapsActivity.this, "No stations found in database", Toast.LENGTH_SHORT).show();
+        } else if (firstLoad) {
+            Toast.makeText(MapsActivity.this, "Loaded " + currentStations.size() + " stations", Toast.LENGTH_SHORT).show();
+        }
+    }
+
+    private final ApiCallback<List<Station>> stationsCallback = new ApiCallback<List<Station>>() {
+        @Override
+        public void onSuccess(List<Station> stations) {
+            // Delivered through getStations()
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+            Toast.makeText(MapsActivity.this, errorMessage, Toast.LENGTH_SHORT).show();
             stationsAdapter.updateData(currentStations);
             addStationsToMap(currentStations);
         }
+    };
+
+    private void indexStations(List<Station> stations) {
+        if (indexExecutor.isShutdown()) return;
+        indexedStations = stations;
+        indexGeneration++;
+        indexExecutor.execute(() -> stationIndex = new StationSpatialIndex(stations));
+        showStationsNearestFirst();
     }
 
-    private void addStationsToMap(List<Station> stations) {
-        if (mMap == null) return;
+    // Swap the station an availability push changed into the index instead of rebuilding it. Queued
+    // behind any build still running, so it lands on the index for this catalog
+    private void updateStation(Station station) {
+        if (indexExecutor.isShutdown()) return;
+        indexExecutor.execute(() -> {
+            if (stationIndex != null) stationIndex.replace(station);
+        });
+        showStationsNearestFirst();
+    }
 
-        mMap.clear();
+    // Distances come from the on-device spatial index instead of a stations/nearby round trip
+    private void showStationsNearestFirst() {
+        LatLng origin = lastKnownLatLng;
+        if (origin == null || indexExecutor.isShutdown()) {
+            stationsAdapter.updateData(currentStations);
+            return;
+        }
 
-        for (Station station : stations) {
-            LatLng stationLatLng = new LatLng(station.getLatitude(), station.getLongitude());
-            Marker marker = mMap.addMarker(new MarkerOptions()
-                    .position(stationLatLng)
-                    .title(station.getName())
-                    .snippet(station.getType() + " Charger • " + station.getAvailableSlots() + " slots available")
-                    .icon(BitmapDescriptorFactory.defaultMarker(
-                            station.getType().equals("DC") ?
-                                    BitmapDescriptorFactory.HUE_RED :
-                                    BitmapDescriptorFactory.HUE_GREEN)));
+        int generation = indexGeneration;
+        indexExecutor.execute(() -> {
+            if (stationIndex == null) return;
+            List<Station> nearest = stationIndex.nearest(origin.latitude, origin.longitude, NEAREST_LIST_SIZE);
+            runOnUiThread(() -> {
+                // A newer catalog has its own index on the way
+                if (isFinishing() || generation != indexGeneration) return;
+                stationsAdapter.updateData(nearest);
+            });
+        });
+    }
 
-            marker.setTag(station);
-        }
+    // Clustered, viewport-based rendering - see DashboardActivity.setUpStationClustering
+    private void setUpStationClustering() {
+        DisplayMetrics metrics = getResources().getDisplayMetrics();
+        clusterManager = new ClusterManager<>(this, mMap);
+        clusterManager.setAlgorithm(new NonHierarchicalViewBasedAlgorithm<>(
+                (int) (metrics.widthPixels / metrics.density),
+                (int) (metrics.heightPixels / metrics.density)));
+        clusterManager.setRenderer(new StationClusterRenderer(this, mMap, clusterManager));
+        markerRegistry = new StationMarkerRegistry(clusterManager);
+
+        mMap.setOnCameraIdleListener(clusterManager);
+        mMap.setOnMarkerClickListener(clusterManager);
+
+        clusterManager.setOnClusterClickListener(cluster -> {
+            mMap.animateCamera(CameraUpdateFactory.newLatLngZoom(cluster.getPosition(),
+                    mMap.getCameraPosition().zoom + 2));
+            return true;
+        });
 
-        // Add marker click listener
-        mMap.setOnMarkerClickListener(marker -> {
-            Station station = (Station) marker.getTag();
-            if (station != null) {
-                Toast.makeText(this, station.getName() + " selected", Toast.LENGTH_SHORT).show();
-            }
+        clusterManager.setOnClusterItemClickListener(item -> {
+            Toast.makeText(this, item.getStation().getName() + " selected", Toast.LENGTH_SHORT).show();
             return false;
         });
     }
 
+    // Diffs against the markers already on the map instead of rebuilding them
+    private void addStationsToMap(List<Station> stations) {
+        if (mMap == null || markerRegistry == null) return;
+        markerRegistry.sync(stations);
+    }
+
     private void moveCameraToStation(Station station) {
         LatLng stationLatLng = new LatLng(station.getLatitude(), station.getLongitude());
         mMap.animateCamera(CameraUpdateFactory.newLatLngZoom(stationLatLng, 15));
     }
-}
\ No newline at end of file
+
+    @Override
+    protected void onStart() {
+        super.onStart();
+        stationRepository.startLiveUpdates();
+    }
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        stationRepository.stopLiveUpdates();
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        indexExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,156 @@
+/*******************************************************
+ *file :         PendingBookingsActivity.java
+ *Author:        IT22149626 - Chandrasiri G.A.S.D.
+ ********************************************************/
+
+package com.example.evchargingmobileapp.activities;
+
+import android.os.Bundle;
+import android.view.View;
+import android.widget.Button;
+import android.widget.ProgressBar;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.evchargingmobileapp.R;
+import com.example.evchargingmobileapp.adapters.PendingBookingsAdapter;
+import com.example.evchargingmobileapp.api.ApiManager;
+import com.example.evchargingmobileapp.api.BookingsPager;
+import com.example.evchargingmobileapp.api.CallScope;
+import com.example.evchargingmobileapp.interfaces.ApiCallback;
+import com.example.evchargingmobileapp.models.Booking;
+import com.example.evchargingmobileapp.models.BookingBatchResult;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class PendingBookingsActivity extends AppCompatActivity {
+
+    private RecyclerView rvPendingBookings;
+    private TextView tvSelectionCount, tvEmpty;
+    private ProgressBar progressBar;
+    private Button btnApproveSelected, btnCompleteSelected;
+    private PendingBookingsAdapter adapter;
+    private ApiManager apiManager;
+    private BookingsPager pager;
+    private boolean busy = false;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_pending_bookings);
+
+        apiManager = ApiManager.getInstance(this);
+        initializeViews();
+        CallScope calls = CallScope.of(this);
+        pager = new BookingsPager((cursor, callback) -> apiManager.getPendingBookings(cursor, calls.bind(callback)),
+                pagerListener);
+        pager.refresh();
+    }
+
+    private void initializeViews() {
+        rvPendingBookings = findViewById(R.id.rvPendingBookings);
+        tvSelectionCount = findViewById(R.id.tvSelectionCount);
+        tvEmpty = findViewById(R.id.tvEmpty);
+        progressBar = findViewById(R.id.progressBar);
+        btnApproveSelected = findViewById(R.id.btnApproveSelected);
+        btnCompleteSelected = findViewById(R.id.btnCompleteSelected);
+
+        adapter = new PendingBookingsAdapter(this::onSelectionChanged);
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        rvPendingBookings.setLayoutManager(layoutManager);
+        rvPendingBookings.setAdapter(adapter);
+        rvPendingBookings.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+                if (dy > 0) {
+                    pager.onScrolled(layoutManager.findLastVisibleItemPosition());
+                }
+            }
+        });
+
+        btnApproveSelected.setOnClickListener(v -> runBatch(true));
+        btnCompleteSelected.setOnClickListener(v -> runBatch(false));
+    }
+
+    private void onSelectionChanged(int selectedCount) {
+        tvSelectionCount.setText(selectedCount + " selected");
+        btnApproveSelected.setEnabled(!busy && selectedCount > 0);
+        btnCompleteSelected.setEnabled(!busy && selectedCount > 0);
+    }
+
+    private void setBusy(boolean busy) {
+        this.busy = busy;
+        progressBar.setVisibility(busy ? View.VISIBLE : View.GONE);
+        onSelectionChanged(adapter.getSelectedIds().size());
+    }
+
+    private final BookingsPager.Listener pagerListener = new BookingsPager.Listener() {
+        @Override
+        public void onBookingsChanged(List<Booking> bookings, boolean fromCache) {
+            adapter.updateData(bookings);
+            tvEmpty.setVisibility(bookings.isEmpty() ? View.VISIBLE : View.GONE);
+            if (fromCache) {
+                Toast.makeText(PendingBookingsActivity.this, "Offline - showing the last loaded page",
+                        Toast.LENGTH_SHORT).show();
+            }
+        }
+
+        @Override
+        public void onLoadingChanged(boolean loading) {
+            progressBar.setVisibility(loading || busy ? View.VISIBLE : View.GONE);
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+            Toast.makeText(PendingBookingsActivity.this, errorMessage, Toast.LENGTH_LONG).show();
+        }
+    };
+
+    // The whole selection goes out as a few bounded batches (see ApiManager.BOOKING_BATCH_SIZE)
+    private void runBatch(boolean approve) {
+        List<String> ids = adapter.getSelectedIds();
+        if (ids.isEmpty() || busy) return;
+
+        setBusy(true);
+        ApiCallback<BookingBatchResult> callback = new ApiCallback<BookingBatchResult>() {
+            @Override
+            public void onSuccess(BookingBatchResult result) {
+                setBusy(false);
+
+                Map<String, String> failures = new HashMap<>();
+                for (BookingBatchResult.Item item : result.getFailed()) {
+                    failures.put(item.getId(), item.getMessage());
+                }
+                adapter.setErrors(failures);
+
+                String action = approve ? "Approved" : "Completed";
+                Toast.makeText(PendingBookingsActivity.this,
+                        action + " " + result.getSucceededCount() + " of " + ids.size()
+                                + (failures.isEmpty() ? "" : " - " + failures.size() + " failed"),
+                        Toast.LENGTH_LONG).show();
+
+                // Every loaded page, not just the first: failed bookings further down keep their
+                // selection and error so they can be retried
+                pager.reload();
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                setBusy(false);
+                Toast.makeText(PendingBookingsActivity.this, errorMessage, Toast.LENGTH_LONG).show();
+            }
+        };
+
+        if (approve) {
+            apiManager.approveBookings(ids, callback);
+        } else {
+            apiManager.completeBookings(ids, callback);
+        }
+    }
+}
@@ -25,6 +25,7 @@ import com.example.evchargingmobileapp.api.ApiManager;
 import com.example.evchargingmobileapp.interfaces.ApiCallback;
 import com.example.evchargingmobileapp.models.ApiResponse;
 import com.example.evchargingmobileapp.models.User;
+import com.example.evchargingmobileapp.repository.UserRepository;
 
 public class ProfileActivity extends AppCompatActivity {
 
@@ -32,6 +33,7 @@ public class ProfileActivity extends AppCompatActivity {
     private Button btnUpdate, btnLogout;
     private ImageButton btnBack;
     private ApiManager apiManager;
+    private UserRepository userRepository;
     private String userNIC;
     private User currentUser;
 
@@ -57,11 +59,20 @@ public class ProfileActivity extends AppCompatActivity {
         String userName = intent.getStringExtra("USER_NAME");
         String userEmail = intent.getStringExtra("USER_EMAIL");
 
-        apiManager = new ApiManager(this);
+        apiManager = ApiManager.getInstance(this);
+        userRepository = UserRepository.getInstance(this);
 
         initViews();
         setupClickListeners();
         loadUserData(userName, userEmail);
+
+        // The stored profile fills in whatever the launching screen did not pass along
+        userRepository.getUser(userNIC).observe(this, user -> {
+            if (user == null) return;
+            currentUser = user;
+            etName.setText(user.getName());
+            etEmail.setText(user.getEmail());
+        });
     }
 
     private void initViews() {
@@ -150,8 +161,8 @@ public class ProfileActivity extends AppCompatActivity {
         updatedUser.setPassword(password.isEmpty() ? currentUser.getPassword() : password);
 
         if (apiManager.isNetworkAvailable()) {
-            // Call update API
-            apiManager.updateUser(userNIC, updatedUser, new ApiCallback<ApiResponse>() {
+            // Call update API - also updates the shared profile every other screen sees
+            userRepository.updateUser(userNIC, updatedUser, new ApiCallback<ApiResponse>() {
                 @Override
                 public void onSuccess(ApiResponse response) {
                     btnUpdate.setEnabled(true);
@@ -159,13 +170,6 @@ public class ProfileActivity extends AppCompatActivity {
 
                     Toast.makeText(ProfileActivity.this, "Profile updated successfully", Toast.LENGTH_SHORT).show();
 
-                    // Update current user
-                    currentUser.setName(name);
-                    currentUser.setEmail(email);
-                    if (!password.isEmpty()) {
-                        currentUser.setPassword(password);
-                    }
-
                     // Clear password fields
                     etPassword.setText("");
                     etConfirmPassword.setText("");
@@ -193,7 +197,7 @@ public class ProfileActivity extends AppCompatActivity {
 
         if (apiManager.isNetworkAvailable()) {
             // Call deactivate API first
-            apiManager.deactivateUser(userNIC, new ApiCallback<ApiResponse>() {
+            userRepository.deactivateUser(userNIC, new ApiCallback<ApiResponse>() {
                 @Override
                 public void onSuccess(ApiResponse response) {
                     Log.d(TAG, "User deactivated successfully, proceeding with logout");
@@ -223,6 +227,8 @@ public class ProfileActivity extends AppCompatActivity {
     }
 
     private void navigateToLogin() {
+        userRepository.signOut();
+
         // Navigate back to login screen
         Intent intent = new Intent(ProfileActivity.this, LoginActivity.class);
         intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
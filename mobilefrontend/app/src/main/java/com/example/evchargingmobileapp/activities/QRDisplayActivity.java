@@ -17,6 +17,7 @@ import androidx.core.content.ContextCompat;
 
 import com.example.evchargingmobileapp.R;
 import com.example.evchargingmobileapp.api.ApiManager;
+import com.example.evchargingmobileapp.api.CallScope;
 import com.example.evchargingmobileapp.interfaces.ApiCallback;
 import com.example.evchargingmobileapp.models.ApiResponse;
 import com.google.zxing.BarcodeFormat;
@@ -49,7 +50,7 @@ public class QRDisplayActivity extends AppCompatActivity {
         bookingId = getIntent().getStringExtra("BOOKING_ID");
         stationName = getIntent().getStringExtra("STATION_NAME");
         bookingTime = getIntent().getStringExtra("BOOKING_TIME");
-        apiManager = new ApiManager(this);
+        apiManager = ApiManager.getInstance(this);
     }
 
     private void initializeViews() {
@@ -77,7 +78,7 @@ public class QRDisplayActivity extends AppCompatActivity {
 
         tvInstructions.setText("Generating QR code...");
 
-        apiManager.generateQRCode(bookingId, new ApiCallback<ApiResponse>() {
+        apiManager.generateQRCode(bookingId, CallScope.of(this).bind(new ApiCallback<ApiResponse>() {
             @Override
             public void onSuccess(ApiResponse response) {
                 try {
@@ -99,7 +100,7 @@ public class QRDisplayActivity extends AppCompatActivity {
             public void onError(String errorMessage) {
                 generateFallbackQRCode();
             }
-        });
+        }));
     }
 
     private String extractQRDataFromResponse(ApiResponse response) throws Exception {
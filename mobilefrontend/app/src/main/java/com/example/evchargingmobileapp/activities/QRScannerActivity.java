@@ -6,6 +6,7 @@
 package com.example.evchargingmobileapp.activities;
 
 import android.Manifest;
+import android.content.Intent;
 import android.content.pm.PackageManager;
 import android.graphics.Color;
 import android.os.Bundle;
@@ -54,7 +55,7 @@ public class QRScannerActivity extends AppCompatActivity {
 
     private void initializeData() {
         operatorNIC = getIntent().getStringExtra("OPERATOR_NIC");
-        apiManager = new ApiManager(this);
+        apiManager = ApiManager.getInstance(this);
     }
 
     private void initializeViews() {
@@ -71,6 +72,11 @@ public class QRScannerActivity extends AppCompatActivity {
     }
     private void setupClickListeners() {
         btnComplete.setOnClickListener(v -> completeBooking());
+        findViewById(R.id.btnPendingBookings).setOnClickListener(v -> {
+            Intent intent = new Intent(this, PendingBookingsActivity.class);
+            intent.putExtra("OPERATOR_NIC", operatorNIC);
+            startActivity(intent);
+        });
     }
 
     private void checkCameraPermission() {
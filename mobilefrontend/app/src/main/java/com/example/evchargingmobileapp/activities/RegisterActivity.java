@@ -7,7 +7,6 @@ package com.example.evchargingmobileapp.activities;
 
 import android.content.Intent;
 import android.os.Bundle;
-import android.util.Log;
 import android.view.View;
 import android.widget.Button;
 import android.widget.EditText;
@@ -20,11 +19,11 @@ import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.evchargingmobileapp.R;
 import com.example.evchargingmobileapp.api.ApiManager;
+import com.example.evchargingmobileapp.api.CallScope;
 import com.example.evchargingmobileapp.database.DatabaseManager;
 import com.example.evchargingmobileapp.interfaces.ApiCallback;
 import com.example.evchargingmobileapp.models.ApiResponse;
 import com.example.evchargingmobileapp.models.User;
-import com.google.gson.Gson;
 
 public class RegisterActivity extends AppCompatActivity {
 
@@ -42,8 +41,8 @@ public class RegisterActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_register);
 
-        apiManager = new ApiManager(this);
-        databaseManager = new DatabaseManager(this);
+        apiManager = ApiManager.getInstance(this);
+        databaseManager = DatabaseManager.getInstance(this);
 
         initViews();
         setupClickListeners();
@@ -95,9 +94,6 @@ public class RegisterActivity extends AppCompatActivity {
         // UPDATED: Use constructor without createdAt
         User user = new User(nic, name, email, password, userType);
 
-        // Optional: Log JSON sent (check Logcat for "Register JSON")
-        Log.d("Register", "Sending JSON: " + new Gson().toJson(user));
-
         if (apiManager.isNetworkAvailable()) {
             apiManager.registerUser(user, new ApiCallback<ApiResponse>() {
                 @Override
@@ -115,14 +111,24 @@ public class RegisterActivity extends AppCompatActivity {
         } else {
             // Offline registration
             user.setCreatedAt(String.valueOf(System.currentTimeMillis()));  // Set for local DB only
-            boolean success = databaseManager.addUser(user);
-            showProgress(false);
+            databaseManager.addUserAsync(user, CallScope.of(this).bind(new ApiCallback<Boolean>() {
+                @Override
+                public void onSuccess(Boolean success) {
+                    showProgress(false);
 
-            if (success) {
-                handleRegistrationSuccess(user);
-            } else {
-                Toast.makeText(this, "Registration failed", Toast.LENGTH_SHORT).show();
-            }
+                    if (success) {
+                        handleRegistrationSuccess(user);
+                    } else {
+                        Toast.makeText(RegisterActivity.this, "Registration failed", Toast.LENGTH_SHORT).show();
+                    }
+                }
+
+                @Override
+                public void onError(String errorMessage) {
+                    showProgress(false);
+                    Toast.makeText(RegisterActivity.this, "Registration failed", Toast.LENGTH_SHORT).show();
+                }
+            }));
         }
     }
 
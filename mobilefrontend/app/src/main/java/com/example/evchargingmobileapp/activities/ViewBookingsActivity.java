@@ -20,21 +20,21 @@ import com.example.evchargingmobileapp.fragments.UpcomingBookingsFragment;
 import com.example.evchargingmobileapp.models.ApiResponse;
 import com.example.evchargingmobileapp.models.Booking;
 import com.example.evchargingmobileapp.api.ApiManager;
+import com.example.evchargingmobileapp.api.CallScope;
 import com.example.evchargingmobileapp.interfaces.ApiCallback;
+import com.example.evchargingmobileapp.repository.BookingRepository;
 import com.google.android.material.tabs.TabLayout;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 
 public class ViewBookingsActivity extends AppCompatActivity {
 
-    private List<Booking> upcomingBookings = new ArrayList<>();
-    private List<Booking> pastBookings = new ArrayList<>();
     private ApiManager apiManager;
+    private BookingRepository bookingRepository;
     private String userNIC;
     private TabLayout tabLayout;
+    private boolean firstResume = true;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -49,13 +49,11 @@ public class ViewBookingsActivity extends AppCompatActivity {
             return;
         }
 
-        apiManager = new ApiManager(this);
+        apiManager = ApiManager.getInstance(this);
+        bookingRepository = BookingRepository.getInstance(this);
 
-        // Setup TabLayout
+        // Setup TabLayout - each tab's fragment loads its own bookings when shown
         setupTabs();
-
-        // Load real booking data from API
-        loadUserBookings();
     }
 
     private void setupTabs() {
@@ -102,98 +100,30 @@ public class ViewBookingsActivity extends AppCompatActivity {
         showUpcomingBookings();
     }
 
-    private void loadUserBookings() {
-        if (apiManager.isNetworkAvailable()) {
-            apiManager.getUserBookings(userNIC, new ApiCallback<List<Booking>>() {
-                @Override
-                public void onSuccess(List<Booking> allBookings) {
-                    if (allBookings != null && !allBookings.isEmpty()) {
-                        // Separate bookings based on isCompleted field
-                        separateBookingsByCompletion(allBookings);
-
-                        Toast.makeText(ViewBookingsActivity.this,
-                                "Loaded " + allBookings.size() + " bookings", Toast.LENGTH_SHORT).show();
-                    } else {
-                        // No bookings found
-                        upcomingBookings.clear();
-                        pastBookings.clear();
-                        Toast.makeText(ViewBookingsActivity.this,
-                                "No bookings found", Toast.LENGTH_SHORT).show();
-                    }
-
-                    // Display current tab
-                    if (tabLayout.getSelectedTabPosition() == 0) {
-                        showFragment(UpcomingBookingsFragment.newInstance(upcomingBookings));
-                    } else {
-                        showFragment(PastBookingsFragment.newInstance(pastBookings));
-                    }
-                }
-
-                @Override
-                public void onError(String errorMessage) {
-                    Toast.makeText(ViewBookingsActivity.this,
-                            "Failed to load bookings: " + errorMessage, Toast.LENGTH_SHORT).show();
-
-                    // No mock data - just show empty state
-                    upcomingBookings.clear();
-                    pastBookings.clear();
-                    showFragment(UpcomingBookingsFragment.newInstance(upcomingBookings));
-                }
-            });
-        } else {
-            Toast.makeText(this, "No internet connection", Toast.LENGTH_SHORT).show();
-            // No mock data - just show empty state
-            upcomingBookings.clear();
-            pastBookings.clear();
-            showFragment(UpcomingBookingsFragment.newInstance(upcomingBookings));
+    // Reload whichever tab is showing
+    private void refreshBookings() {
+        Fragment current = getSupportFragmentManager().findFragmentById(R.id.fragmentContainer);
+        if (current instanceof UpcomingBookingsFragment) {
+            ((UpcomingBookingsFragment) current).refresh();
+        } else if (current instanceof PastBookingsFragment) {
+            ((PastBookingsFragment) current).refresh();
         }
     }
 
-    private void separateBookingsByCompletion(List<Booking> allBookings) {
-        upcomingBookings.clear();
-        pastBookings.clear();
-
-        if (allBookings == null || allBookings.isEmpty()) {
-            return;
-        }
-
-        // Simple logic: isCompleted = true → Past, isCompleted = false → Upcoming
-        for (Booking booking : allBookings) {
-            if (booking.isCompleted()) {
-                pastBookings.add(booking);
-            } else {
-                upcomingBookings.add(booking);
-            }
-        }
-
-        // Optional: Sort bookings by date
-        sortBookingsByDate();
-    }
-
-    private void sortBookingsByDate() {
-        // Sort upcoming bookings by start time (ascending)
-        Collections.sort(upcomingBookings, new Comparator<Booking>() {
+    // A change made offline that the server refused once it synced
+    private void showBookingSyncError() {
+        apiManager.takeBookingSyncError(CallScope.of(this).bind(new ApiCallback<String>() {
             @Override
-            public int compare(Booking b1, Booking b2) {
-                try {
-                    return b1.getStartTime().compareTo(b2.getStartTime());
-                } catch (Exception e) {
-                    return 0;
+            public void onSuccess(String syncError) {
+                if (syncError != null) {
+                    Toast.makeText(ViewBookingsActivity.this, syncError, Toast.LENGTH_LONG).show();
                 }
             }
-        });
 
-        // Sort past bookings by start time (descending - most recent first)
-        Collections.sort(pastBookings, new Comparator<Booking>() {
             @Override
-            public int compare(Booking b1, Booking b2) {
-                try {
-                    return b2.getStartTime().compareTo(b1.getStartTime());
-                } catch (Exception e) {
-                    return 0;
-                }
+            public void onError(String errorMessage) {
             }
-        });
+        }));
     }
 
     private void showFragment(Fragment fragment) {
@@ -204,11 +134,11 @@ public class ViewBookingsActivity extends AppCompatActivity {
 
     // Method to switch between upcoming and past bookings
     public void showUpcomingBookings() {
-        showFragment(UpcomingBookingsFragment.newInstance(upcomingBookings));
+        showFragment(UpcomingBookingsFragment.newInstance(userNIC));
     }
 
     public void showPastBookings() {
-        showFragment(PastBookingsFragment.newInstance(pastBookings));
+        showFragment(PastBookingsFragment.newInstance(userNIC));
     }
 
     // ✅ Triggered when user taps on a booking
@@ -283,13 +213,15 @@ public class ViewBookingsActivity extends AppCompatActivity {
                 .show();
     }
 
+    // Through the repository, so the dashboard's booking counts follow the cancellation
     private void cancelBooking(Booking booking) {
-        apiManager.cancelBooking(booking.getId(), new ApiCallback<ApiResponse>() {
+        bookingRepository.cancelBooking(booking.getId(), new ApiCallback<ApiResponse>() {
             @Override
             public void onSuccess(ApiResponse response) {
-                Toast.makeText(ViewBookingsActivity.this, "Booking cancelled successfully!", Toast.LENGTH_SHORT).show();
+                String message = response.isQueued() ? response.getMessage() : "Booking cancelled successfully!";
+                Toast.makeText(ViewBookingsActivity.this, message, Toast.LENGTH_SHORT).show();
                 // Refresh the bookings list
-                loadUserBookings();
+                refreshBookings();
             }
 
             @Override
@@ -302,7 +234,11 @@ public class ViewBookingsActivity extends AppCompatActivity {
     @Override
     protected void onResume() {
         super.onResume();
-        // Refresh data when returning from other activities
-        loadUserBookings();
+        // Refresh data when returning from other activities (the first tab loads itself on creation)
+        if (!firstResume) {
+            refreshBookings();
+        }
+        firstResume = false;
+        showBookingSyncError();
     }
 }
\ No newline at end of file
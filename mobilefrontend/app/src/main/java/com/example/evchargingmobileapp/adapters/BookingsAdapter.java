@@ -14,20 +14,49 @@ import android.widget.TextView;
 
 import androidx.annotation.NonNull;
 import androidx.core.content.ContextCompat;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.evchargingmobileapp.R;
 import com.example.evchargingmobileapp.models.Booking;
+import com.example.evchargingmobileapp.utils.StableIds;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 
 public class BookingsAdapter extends RecyclerView.Adapter<BookingsAdapter.BookingViewHolder> {
 
-    private List<Booking> bookings;
+    // Status changes only rebind the affected rows, diffing happens off the main thread
+    private static final DiffUtil.ItemCallback<Booking> DIFF_CALLBACK = new DiffUtil.ItemCallback<Booking>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Booking oldItem, @NonNull Booking newItem) {
+            return Objects.equals(oldItem.getId(), newItem.getId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Booking oldItem, @NonNull Booking newItem) {
+            return oldItem.isCompleted() == newItem.isCompleted()
+                    && Objects.equals(oldItem.getStatus(), newItem.getStatus())
+                    && Objects.equals(oldItem.getStationName(), newItem.getStationName())
+                    && Objects.equals(oldItem.getStartTime(), newItem.getStartTime())
+                    && Objects.equals(oldItem.getEndTime(), newItem.getEndTime())
+                    && Objects.equals(oldItem.getBookingDate(), newItem.getBookingDate())
+                    && Objects.equals(oldItem.getVehicleType(), newItem.getVehicleType())
+                    && oldItem.getTotalCost() == newItem.getTotalCost()
+                    && Objects.equals(oldItem.getQrCodeData(), newItem.getQrCodeData())
+                    // The version an edit is based on - a stale copy would make the edit conflict
+                    && Objects.equals(oldItem.getUpdatedAt(), newItem.getUpdatedAt());
+        }
+    };
+
+    private final AsyncListDiffer<Booking> differ = new AsyncListDiffer<>(this, DIFF_CALLBACK);
+    private final StableIds stableIds = new StableIds();
     private final OnBookingClickListener onItemClick;
     private final OnBookingLongClickListener onItemLongClick;
     private Context context;
@@ -41,9 +70,10 @@ public class BookingsAdapter extends RecyclerView.Adapter<BookingsAdapter.Bookin
     }
 
     public BookingsAdapter(List<Booking> bookings, OnBookingClickListener onItemClick, OnBookingLongClickListener onItemLongClick) {
-        this.bookings = bookings;
         this.onItemClick = onItemClick;
         this.onItemLongClick = onItemLongClick;
+        setHasStableIds(true);
+        updateData(bookings);
     }
 
     @NonNull
@@ -51,39 +81,51 @@ public class BookingsAdapter extends RecyclerView.Adapter<BookingsAdapter.Bookin
     public BookingViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         context = parent.getContext();
         View view = LayoutInflater.from(context).inflate(R.layout.item_booking, parent, false);
-        return new BookingViewHolder(view);
-    }
+        BookingViewHolder holder = new BookingViewHolder(view);
 
-    @Override
-    public void onBindViewHolder(@NonNull BookingViewHolder holder, int position) {
-        Booking booking = bookings.get(position);
-        bindBooking(booking, holder);
-
-        // Set click listener
-        holder.itemView.setOnClickListener(v -> {
-            if (onItemClick != null) {
+        // The booking is looked up at click time, so a row the differ didn't rebind still opens
+        // the current copy rather than the one it was first bound with
+        view.setOnClickListener(v -> {
+            Booking booking = bookingAt(holder);
+            if (booking != null && onItemClick != null) {
                 onItemClick.onBookingClick(booking);
             }
         });
 
-        // Set long click listener
-        holder.itemView.setOnLongClickListener(v -> {
-            if (onItemLongClick != null) {
+        view.setOnLongClickListener(v -> {
+            Booking booking = bookingAt(holder);
+            if (booking != null && onItemLongClick != null) {
                 onItemLongClick.onBookingLongClick(booking);
                 return true;
             }
             return false;
         });
+        return holder;
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull BookingViewHolder holder, int position) {
+        bindBooking(differ.getCurrentList().get(position), holder);
+    }
+
+    private Booking bookingAt(BookingViewHolder holder) {
+        int position = holder.getAdapterPosition();
+        return position != RecyclerView.NO_POSITION ? differ.getCurrentList().get(position) : null;
     }
 
     @Override
     public int getItemCount() {
-        return bookings != null ? bookings.size() : 0;
+        return differ.getCurrentList().size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return stableIds.get(differ.getCurrentList().get(position).getId());
     }
 
     public void updateData(List<Booking> newBookings) {
-        this.bookings = newBookings;
-        notifyDataSetChanged();
+        // Fragments keep mutating their own lists, so hand the differ a snapshot
+        differ.submitList(newBookings != null ? new ArrayList<>(newBookings) : null);
     }
 
     private void bindBooking(Booking booking, BookingViewHolder holder) {
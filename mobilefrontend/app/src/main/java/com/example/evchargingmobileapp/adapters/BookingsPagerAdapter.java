@@ -12,28 +12,23 @@ import androidx.viewpager2.adapter.FragmentStateAdapter;
 
 import com.example.evchargingmobileapp.fragments.UpcomingBookingsFragment;
 import com.example.evchargingmobileapp.fragments.PastBookingsFragment;
-import com.example.evchargingmobileapp.models.Booking;
-
-import java.util.List;
 
 public class BookingsPagerAdapter extends FragmentStateAdapter {
 
-    private List<Booking> upcomingBookings;
-    private List<Booking> pastBookings;
+    private final String userNic;
 
-    public BookingsPagerAdapter(@NonNull FragmentActivity fragmentActivity, List<Booking> upcoming, List<Booking> past) {
+    public BookingsPagerAdapter(@NonNull FragmentActivity fragmentActivity, String userNic) {
         super(fragmentActivity);
-        this.upcomingBookings = upcoming;
-        this.pastBookings = past;
+        this.userNic = userNic;
     }
 
     @NonNull
     @Override
     public Fragment createFragment(int position) {
         if (position == 0) {
-            return UpcomingBookingsFragment.newInstance(upcomingBookings);
+            return UpcomingBookingsFragment.newInstance(userNic);
         } else {
-            return PastBookingsFragment.newInstance(pastBookings);
+            return PastBookingsFragment.newInstance(userNic);
         }
     }
 
@@ -41,10 +36,4 @@ public class BookingsPagerAdapter extends FragmentStateAdapter {
     public int getItemCount() {
         return 2;
     }
-
-    public void updateData(List<Booking> upcoming, List<Booking> past) {
-        this.upcomingBookings = upcoming;
-        this.pastBookings = past;
-        notifyDataSetChanged();
-    }
 }
\ No newline at end of file
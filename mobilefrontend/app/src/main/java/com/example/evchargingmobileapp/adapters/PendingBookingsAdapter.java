@@ -0,0 +1,162 @@
+/*******************************************************
+ *file :         PendingBookingsAdapter.java
+ *Author:        IT22149626 - Chandrasiri G.A.S.D.
+ ********************************************************/
+
+package com.example.evchargingmobileapp.adapters;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.CheckBox;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.core.content.ContextCompat;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.evchargingmobileapp.R;
+import com.example.evchargingmobileapp.models.Booking;
+import com.example.evchargingmobileapp.utils.StableIds;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+public class PendingBookingsAdapter extends RecyclerView.Adapter<PendingBookingsAdapter.PendingViewHolder> {
+
+    private static final DiffUtil.ItemCallback<Booking> DIFF_CALLBACK = new DiffUtil.ItemCallback<Booking>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Booking oldItem, @NonNull Booking newItem) {
+            return Objects.equals(oldItem.getId(), newItem.getId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Booking oldItem, @NonNull Booking newItem) {
+            return oldItem.isCompleted() == newItem.isCompleted()
+                    && Objects.equals(oldItem.getStatus(), newItem.getStatus())
+                    && Objects.equals(oldItem.getStationName(), newItem.getStationName())
+                    && Objects.equals(oldItem.getStartTime(), newItem.getStartTime());
+        }
+    };
+
+    private final AsyncListDiffer<Booking> differ = new AsyncListDiffer<>(this, DIFF_CALLBACK);
+    private final StableIds stableIds = new StableIds();
+    // Keyed by booking id so the selection survives list refreshes
+    private final Set<String> selectedIds = new LinkedHashSet<>();
+    private final Map<String, String> errors = new HashMap<>();
+    private final OnSelectionChangedListener onSelectionChanged;
+
+    public interface OnSelectionChangedListener {
+        void onSelectionChanged(int selectedCount);
+    }
+
+    public PendingBookingsAdapter(OnSelectionChangedListener onSelectionChanged) {
+        this.onSelectionChanged = onSelectionChanged;
+        setHasStableIds(true);
+    }
+
+    @NonNull
+    @Override
+    public PendingViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_pending_booking, parent, false);
+        PendingViewHolder holder = new PendingViewHolder(view);
+        view.setOnClickListener(v -> {
+            int position = holder.getAdapterPosition();
+            if (position != RecyclerView.NO_POSITION) {
+                toggle(differ.getCurrentList().get(position).getId(), position);
+            }
+        });
+        return holder;
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull PendingViewHolder holder, int position) {
+        Booking booking = differ.getCurrentList().get(position);
+        holder.tvStation.setText(booking.getStationName());
+        holder.tvStartTime.setText("Start Time - " + formatStartTime(booking.getStartTime()));
+        holder.cbSelected.setChecked(selectedIds.contains(booking.getId()));
+
+        String status = booking.getStatus() != null ? booking.getStatus() : "pending";
+        holder.tvStatus.setText(status);
+        holder.tvStatus.setTextColor(ContextCompat.getColor(holder.itemView.getContext(),
+                "confirmed".equalsIgnoreCase(status) ? R.color.green : R.color.orange));
+
+        String error = errors.get(booking.getId());
+        holder.tvError.setVisibility(error != null ? View.VISIBLE : View.GONE);
+        holder.tvError.setText(error);
+    }
+
+    @Override
+    public int getItemCount() {
+        return differ.getCurrentList().size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return stableIds.get(differ.getCurrentList().get(position).getId());
+    }
+
+    public void updateData(List<Booking> bookings) {
+        List<Booking> snapshot = bookings != null ? new ArrayList<>(bookings) : new ArrayList<>();
+
+        // Drop selections and errors for bookings that are no longer in the queue
+        Set<String> present = new LinkedHashSet<>();
+        for (Booking booking : snapshot) present.add(booking.getId());
+        selectedIds.retainAll(present);
+        errors.keySet().retainAll(present);
+
+        differ.submitList(snapshot);
+        onSelectionChanged.onSelectionChanged(selectedIds.size());
+    }
+
+    public List<String> getSelectedIds() {
+        return new ArrayList<>(selectedIds);
+    }
+
+    // Per-item failures from the last batch; failed bookings stay selected so they can be retried
+    public void setErrors(Map<String, String> newErrors) {
+        errors.clear();
+        errors.putAll(newErrors);
+        selectedIds.retainAll(newErrors.keySet());
+        notifyItemRangeChanged(0, getItemCount());
+        onSelectionChanged.onSelectionChanged(selectedIds.size());
+    }
+
+    private void toggle(String id, int position) {
+        if (!selectedIds.remove(id)) {
+            selectedIds.add(id);
+        }
+        notifyItemChanged(position);
+        onSelectionChanged.onSelectionChanged(selectedIds.size());
+    }
+
+    private String formatStartTime(String startTime) {
+        // 2025-10-10T17:43:00Z -> 10/10/2025 17:43
+        if (startTime != null && startTime.length() >= 16 && startTime.charAt(10) == 'T') {
+            return startTime.substring(8, 10) + "/" + startTime.substring(5, 7) + "/"
+                    + startTime.substring(0, 4) + " " + startTime.substring(11, 16);
+        }
+        return startTime;
+    }
+
+    static class PendingViewHolder extends RecyclerView.ViewHolder {
+        CheckBox cbSelected;
+        TextView tvStation, tvStartTime, tvStatus, tvError;
+
+        PendingViewHolder(@NonNull View itemView) {
+            super(itemView);
+            cbSelected = itemView.findViewById(R.id.cbSelected);
+            tvStation = itemView.findViewById(R.id.tvStation);
+            tvStartTime = itemView.findViewById(R.id.tvStartTime);
+            tvStatus = itemView.findViewById(R.id.tvStatus);
+            tvError = itemView.findViewById(R.id.tvError);
+        }
+    }
+}
@@ -13,16 +13,43 @@ import android.widget.TextView;
 
 import androidx.annotation.NonNull;
 import androidx.core.content.ContextCompat;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.evchargingmobileapp.R;
 import com.example.evchargingmobileapp.models.Station;
+import com.example.evchargingmobileapp.utils.StableIds;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 public class StationsAdapter extends RecyclerView.Adapter<StationsAdapter.StationViewHolder> {
 
-    private List<Station> stationsList;
+    // Diffs run on a background thread, only rows whose content changed are rebound
+    private static final DiffUtil.ItemCallback<Station> DIFF_CALLBACK = new DiffUtil.ItemCallback<Station>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Station oldItem, @NonNull Station newItem) {
+            return Objects.equals(oldItem.getId(), newItem.getId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Station oldItem, @NonNull Station newItem) {
+            return Objects.equals(oldItem.getName(), newItem.getName())
+                    && Objects.equals(oldItem.getType(), newItem.getType())
+                    && oldItem.getAvailableSlots() == newItem.getAvailableSlots()
+                    && oldItem.getTotalSlots() == newItem.getTotalSlots()
+                    && oldItem.getDistance() == newItem.getDistance()
+                    && oldItem.getRating() == newItem.getRating()
+                    && oldItem.getReviewsCount() == newItem.getReviewsCount()
+                    && Objects.equals(oldItem.getOperatingHours(), newItem.getOperatingHours())
+                    && Objects.equals(oldItem.getPricePerHour(), newItem.getPricePerHour());
+        }
+    };
+
+    private final AsyncListDiffer<Station> differ = new AsyncListDiffer<>(this, DIFF_CALLBACK);
+    private final StableIds stableIds = new StableIds();
     private OnStationClickListener listener;
 
     public interface OnStationClickListener {
@@ -30,8 +57,9 @@ public class StationsAdapter extends RecyclerView.Adapter<StationsAdapter.Statio
     }
 
     public StationsAdapter(List<Station> stationsList, OnStationClickListener listener) {
-        this.stationsList = stationsList;
         this.listener = listener;
+        setHasStableIds(true);
+        updateData(stationsList);
     }
 
     @NonNull
@@ -44,18 +72,32 @@ public class StationsAdapter extends RecyclerView.Adapter<StationsAdapter.Statio
 
     @Override
     public void onBindViewHolder(@NonNull StationViewHolder holder, int position) {
-        Station station = stationsList.get(position);
+        Station station = differ.getCurrentList().get(position);
         holder.bind(station);
     }
 
     @Override
     public int getItemCount() {
-        return stationsList.size();
+        return differ.getCurrentList().size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return stableIds.get(differ.getCurrentList().get(position).getId());
+    }
+
+    // Position of a station in the list currently shown, -1 if it isn't there
+    public int positionOf(String stationId) {
+        List<Station> current = differ.getCurrentList();
+        for (int i = 0; i < current.size(); i++) {
+            if (Objects.equals(current.get(i).getId(), stationId)) return i;
+        }
+        return -1;
     }
 
     public void updateData(List<Station> newStations) {
-        this.stationsList = newStations;
-        notifyDataSetChanged();
+        // The differ needs a list nobody mutates after submission
+        differ.submitList(newStations != null ? new ArrayList<>(newStations) : null);
     }
 
     class StationViewHolder extends RecyclerView.ViewHolder {
@@ -76,8 +118,9 @@ public class StationsAdapter extends RecyclerView.Adapter<StationsAdapter.Statio
             ivStation = itemView.findViewById(R.id.ivStation);
 
             itemView.setOnClickListener(v -> {
-                if (listener != null) {
-                    listener.onStationClick(stationsList.get(getAdapterPosition()));
+                int position = getAdapterPosition();
+                if (listener != null && position != RecyclerView.NO_POSITION) {
+                    listener.onStationClick(differ.getCurrentList().get(position));
                 }
             });
         }
@@ -86,7 +129,9 @@ public class StationsAdapter extends RecyclerView.Adapter<StationsAdapter.Statio
             tvStationName.setText(station.getName());
             tvType.setText(station.getType() + " Charger");
             tvRating.setText(String.format("%.1f ★ (%d)", station.getRating(), station.getReviewsCount()));
-            tvDistance.setText(String.format("%.1f km", station.getDistance()));
+            tvDistance.setText(station.getDistance() >= 0
+                    ? String.format("%.1f km", station.getDistance())
+                    : "-- km");
             tvAvailability.setText(station.getAvailableSlots() + "/" + station.getTotalSlots() + " Available");
             tvHours.setText(station.getOperatingHours());
             tvPrice.setText(station.getPricePerHour());
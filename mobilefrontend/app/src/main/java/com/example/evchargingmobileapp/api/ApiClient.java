@@ -1,23 +1,129 @@
 package com.example.evchargingmobileapp.api;
 
+import android.content.Context;
+import android.util.Log;
+
+import com.example.evchargingmobileapp.models.Booking;
+import com.example.evchargingmobileapp.models.Station;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Cache;
+import okhttp3.CacheControl;
+import okhttp3.ConnectionPool;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.brotli.BrotliInterceptor;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
-import android.util.Log;
 
 public class ApiClient {
     private static final String BASE_URL = "http://192.168.124.14:7000/api/";  // <-- Changed to HTTP
 
+    private static final long CACHE_SIZE_BYTES = 10L * 1024 * 1024; // 10 MB
+    private static final int MAX_IDLE_CONNECTIONS = 5;
+    private static final long KEEP_ALIVE_MINUTES = 5;
+    private static final long CONNECT_TIMEOUT_SECONDS = 10;
+    private static final long READ_TIMEOUT_SECONDS = 20;
+    private static final long WRITE_TIMEOUT_SECONDS = 20;
+    private static final int OFFLINE_MAX_STALE_DAYS = 7;
+
+    // Idempotent calls are retried with jittered backoff; a backend that keeps failing trips the breaker
+    private static final int MAX_RETRIES = 2;
+    private static final long RETRY_BASE_DELAY_MS = 500;
+    private static final long RETRY_MAX_DELAY_MS = 4000;
+    private static final int BREAKER_FAILURE_THRESHOLD = 5;
+    private static final long BREAKER_OPEN_MS = TimeUnit.SECONDS.toMillis(30);
+
+    private static final StationJsonAdapter stationAdapter = new StationJsonAdapter();
+    private static final Gson gson = new GsonBuilder()
+            .registerTypeAdapter(Station.class, stationAdapter)
+            .registerTypeAdapter(Booking.class, new BookingJsonAdapter())
+            .create();
+
+    // Request bodies at least this large are gzipped before upload
+    private static final long GZIP_REQUEST_MIN_BYTES = 1024;
+
+    private static final CircuitBreaker circuitBreaker =
+            new CircuitBreaker(BREAKER_FAILURE_THRESHOLD, BREAKER_OPEN_MS);
+
+    private static OkHttpClient okHttpClient = null;
     private static Retrofit retrofit = null;
 
-    public static Retrofit getClient() {
+    public static synchronized Retrofit getClient(Context context) {
         if (retrofit == null) {
             Log.d("ApiClient", "Creating Retrofit instance with URL: " + BASE_URL);
 
             retrofit = new Retrofit.Builder()
                     .baseUrl(BASE_URL)
-                    .addConverterFactory(GsonConverterFactory.create())
+                    .client(getHttpClient(context))
+                    .addConverterFactory(GsonConverterFactory.create(gson))
                     .build();
         }
         return retrofit;
     }
-}
\ No newline at end of file
+
+    public static Gson getGson() {
+        return gson;
+    }
+
+    public static StationJsonAdapter getStationAdapter() {
+        return stationAdapter;
+    }
+
+    public static CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    // One OkHttp stack for the whole app so every call shares the same pool, cache and dispatcher
+    public static synchronized OkHttpClient getHttpClient(Context context) {
+        if (okHttpClient == null) {
+            Context appContext = context.getApplicationContext();
+            File cacheDir = new File(appContext.getCacheDir(), "http_cache");
+
+            // BrotliInterceptor asks for "br, gzip" and decodes either, so station and booking JSON
+            // travels compressed. HTTP/2 is used whenever the server offers it over TLS
+            okHttpClient = new OkHttpClient.Builder()
+                    .cache(new Cache(cacheDir, CACHE_SIZE_BYTES))
+                    .connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MINUTES, TimeUnit.MINUTES))
+                    .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                    .connectTimeout(CONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                    .readTimeout(READ_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                    .writeTimeout(WRITE_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                    .retryOnConnectionFailure(true)
+                    .addInterceptor(offlineCacheInterceptor(appContext))
+                    // Breaker sees the outcome after retries, so one flaky request counts once
+                    .addInterceptor(circuitBreaker)
+                    .addInterceptor(new RetryInterceptor(MAX_RETRIES, RETRY_BASE_DELAY_MS, RETRY_MAX_DELAY_MS))
+                    .addInterceptor(TransferMetrics.decodedInterceptor())
+                    .addInterceptor(BrotliInterceptor.INSTANCE)
+                    .addInterceptor(new GzipRequestInterceptor(GZIP_REQUEST_MIN_BYTES))
+                    .addNetworkInterceptor(TransferMetrics.wireInterceptor())
+                    .build();
+        }
+        return okHttpClient;
+    }
+
+    // Server cache headers (Cache-Control / ETag) are honoured by the OkHttp cache as-is.
+    // When the device is offline, let GETs fall back to whatever is cached, even if stale.
+    private static Interceptor offlineCacheInterceptor(Context appContext) {
+        return chain -> {
+            Request request = chain.request();
+            if ("GET".equals(request.method()) && !NetworkMonitor.getInstance(appContext).isConnected()) {
+                request = request.newBuilder()
+                        .cacheControl(new CacheControl.Builder()
+                                .onlyIfCached()
+                                .maxStale(OFFLINE_MAX_STALE_DAYS, TimeUnit.DAYS)
+                                .build())
+                        .build();
+            }
+            return chain.proceed(request);
+        };
+    }
+}
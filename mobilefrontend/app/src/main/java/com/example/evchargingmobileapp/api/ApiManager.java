@@ -1,27 +1,39 @@
 package com.example.evchargingmobileapp.api;
 
 import android.content.Context;
-import android.net.ConnectivityManager;
-import android.net.NetworkInfo;
 import android.os.Handler;
 import android.os.Looper;
 import android.util.Log;
 import android.widget.Toast;
 
+import com.example.evchargingmobileapp.database.DatabaseManager;
 import com.example.evchargingmobileapp.interfaces.ApiCallback;
 import com.example.evchargingmobileapp.models.User;
 import com.example.evchargingmobileapp.models.Booking;
 import com.example.evchargingmobileapp.models.ApiResponse;
+import com.example.evchargingmobileapp.models.BookingBatchRequest;
+import com.example.evchargingmobileapp.models.BookingBatchResult;
 import com.example.evchargingmobileapp.models.LoginRequest;
+import com.example.evchargingmobileapp.models.BookingsPage;
 import com.example.evchargingmobileapp.models.DashboardStats;
 import com.example.evchargingmobileapp.models.Station;
+import com.example.evchargingmobileapp.models.StationAvailability;
+import com.example.evchargingmobileapp.models.StationChanges;
 import com.google.android.gms.maps.model.LatLng;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
+import okhttp3.HttpUrl;
+import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
@@ -32,9 +44,91 @@ public class ApiManager {
     private static final String TAG = "ApiManager";
     private Handler mainHandler = new Handler(Looper.getMainLooper());
 
-    public ApiManager(Context context) {
+    // Station catalog cache: served first, refreshed from the network once older than the TTL
+    public static final long DEFAULT_STATION_CACHE_TTL_MS = TimeUnit.MINUTES.toMillis(15);
+    public static final long STATS_CACHE_TTL_MS = TimeUnit.SECONDS.toMillis(60);
+    // DatabaseManager's I/O thread: local reads and writes never run on the main thread
+    private final Executor cacheExecutor;
+    private static final ExecutorService streamExecutor = Executors.newSingleThreadExecutor();
+    private static final int STATION_STREAM_BATCH_SIZE = 200;
+    private static final String KEY_STATIONS = "GET stations";
+    private static final String KEY_STATIONS_REFRESH = "GET stations?refresh";
+    private static final long STATIONS_MEMO_MS = TimeUnit.SECONDS.toMillis(5);
+    public static final int BOOKING_BATCH_SIZE = 50;
+    public static final int PENDING_PAGE_SIZE = 50;
+    public static final int USER_BOOKINGS_PAGE_SIZE = 20;
+    private DatabaseManager databaseManager;
+    private long stationCacheTtlMs = DEFAULT_STATION_CACHE_TTL_MS;
+    private StationAvailabilityStream availabilityStream;
+    private final NetworkMonitor networkMonitor;
+    // A full catalog download was skipped on a metered / slow link and is owed once one allows it
+    private volatile boolean stationFullSyncDeferred = false;
+
+    private static ApiManager instance;
+
+    // One instance per process. It only ever holds the application context, so callbacks still in
+    // flight after a screen is gone can't keep that Activity alive
+    public static synchronized ApiManager getInstance(Context context) {
+        if (instance == null) {
+            instance = new ApiManager(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private ApiManager(Context context) {
         this.context = context;
-        this.apiService = ApiClient.getClient().create(ApiService.class);
+        this.apiService = ApiClient.getClient(context).create(ApiService.class);
+        this.databaseManager = DatabaseManager.getInstance(context);
+        this.cacheExecutor = databaseManager.getIoExecutor();
+        this.networkMonitor = NetworkMonitor.getInstance(context);
+        networkMonitor.addListener(this::onNetworkChanged);
+    }
+
+    // Coming back from no network (a tunnel, flight mode): resume syncing now rather than after
+    // the outbox worker's or the availability stream's backoff runs out
+    private void onNetworkChanged(NetworkMonitor monitor, boolean reconnected) {
+        if (!reconnected) return;
+        cacheExecutor.execute(() -> {
+            if (databaseManager.hasPendingBookingOperations()) {
+                BookingSyncWorker.resume(context);
+            }
+        });
+        if (availabilityStream != null) {
+            availabilityStream.reconnectNow();
+        }
+    }
+
+    public boolean hasDeferredStationSync() {
+        return stationFullSyncDeferred;
+    }
+
+    // Reads started for a callback bound to a CallScope are cancelled with their screen. A cancelled
+    // call is dropped silently here - no cache fallback, no "Network error" for a screen that is gone
+    private <R> void enqueue(Call<R> call, ApiCallback<?> callback, final Callback<R> handler) {
+        final CallScope scope = CallScope.scopeOf(callback);
+        if (scope == null) {
+            call.enqueue(handler);
+            return;
+        }
+        if (!scope.add(call)) return;
+
+        call.enqueue(new Callback<R>() {
+            @Override
+            public void onResponse(Call<R> call, Response<R> response) {
+                scope.remove(call);
+                if (!call.isCanceled()) handler.onResponse(call, response);
+            }
+
+            @Override
+            public void onFailure(Call<R> call, Throwable t) {
+                scope.remove(call);
+                if (!call.isCanceled()) handler.onFailure(call, t);
+            }
+        });
+    }
+
+    public void setStationCacheTtl(long ttlMs) {
+        this.stationCacheTtlMs = ttlMs;
     }
 
     // User Registration
@@ -110,13 +204,21 @@ public class ApiManager {
         });
     }
 
-    // Create Booking
+    // Create Booking - straight to the server when online. Offline, or when the request never got an
+    // answer, it is saved locally and queued; BookingSyncWorker replays it with the same idempotency key.
     public void createBooking(Booking booking, final ApiCallback<ApiResponse> callback) {
-        Call<ApiResponse> call = apiService.createBooking(booking);
+        final String idempotencyKey = UUID.randomUUID().toString();
+        if (!canReachBackend()) {
+            queueBookingOperation(DatabaseManager.OP_CREATE, booking, idempotencyKey, callback);
+            return;
+        }
+
+        Call<ApiResponse> call = apiService.createBooking(idempotencyKey, booking);
         call.enqueue(new Callback<ApiResponse>() {
             @Override
             public void onResponse(Call<ApiResponse> call, Response<ApiResponse> response) {
                 if (response.isSuccessful() && response.body() != null) {
+                    onBookingCreatedLocally(booking);
                     callback.onSuccess(response.body());
                 } else {
                     callback.onError("Booking creation failed");
@@ -125,124 +227,537 @@ public class ApiManager {
 
             @Override
             public void onFailure(Call<ApiResponse> call, Throwable t) {
-                callback.onError("Network error: " + t.getMessage());
+                Log.w(TAG, "Create booking failed: " + t.getMessage() + ", queueing for sync");
+                queueBookingOperation(DatabaseManager.OP_CREATE, booking, idempotencyKey, callback);
+            }
+        });
+    }
+
+    // Update/cancel must not overtake a queued change to the same booking, and a booking created
+    // offline has no server id yet - both go through the outbox. The outbox lookup runs on the
+    // I/O thread; queued or send runs on the main thread once it's decided.
+    private void whenQueueDecided(String bookingId, Runnable queued, Runnable send) {
+        if (!canReachBackend() || BookingSyncWorker.isLocalId(bookingId)) {
+            queued.run();
+            return;
+        }
+        cacheExecutor.execute(() -> {
+            boolean pending = databaseManager.hasPendingBookingOperations(bookingId);
+            mainHandler.post(pending ? queued : send);
+        });
+    }
+
+    private void queueBookingOperation(String op, Booking booking, String idempotencyKey,
+                                       final ApiCallback<ApiResponse> callback) {
+        if (DatabaseManager.OP_CREATE.equals(op)) {
+            booking.setId(BookingSyncWorker.newLocalId());
+        }
+        cacheExecutor.execute(() -> {
+            boolean saved;
+            Booking cancelled = null;
+            if (DatabaseManager.OP_CREATE.equals(op)) {
+                saved = databaseManager.addBooking(booking);
+            } else if (DatabaseManager.OP_UPDATE.equals(op)) {
+                databaseManager.updateBooking(booking);
+                saved = true;
+            } else {
+                cancelled = databaseManager.getBooking(booking.getId());
+                databaseManager.deleteBooking(booking.getId());
+                saved = true;
             }
+            // The booking's updatedAt is the server version the change was made against
+            saved = saved && databaseManager.queueBookingOperation(op, booking, idempotencyKey, booking.getUpdatedAt());
+
+            if (saved) {
+                BookingSyncWorker.schedule(context);
+                if (DatabaseManager.OP_CREATE.equals(op)) {
+                    onBookingCreatedLocally(booking);
+                } else if (DatabaseManager.OP_CANCEL.equals(op)) {
+                    onBookingCancelledLocally(cancelled);
+                }
+            }
+            boolean queued = saved;
+            mainHandler.post(() -> {
+                if (!queued) {
+                    callback.onError("Could not save the booking on this device");
+                    return;
+                }
+                ApiResponse response = new ApiResponse();
+                response.setSuccess(true);
+                response.setQueued(true);
+                response.setBookingId(booking.getId());
+                response.setMessage("Saved on this device - it will sync when you're back online");
+                callback.onSuccess(response);
+            });
         });
     }
+    // Get all stations - cached copy first (if any), then a fresh copy when the cache is stale.
+    // onSuccess can therefore be called twice; callers should treat each call as a full replace.
+    // Screens asking at the same time share one load (see RequestCoalescer), each gets its own list.
     public void getAllStations(final ApiCallback<List<Station>> callback) {
-        Call<List<Station>> call = apiService.getAllStations();
-        call.enqueue(new Callback<List<Station>>() {
-            @Override
-            public void onResponse(Call<List<Station>> call, Response<List<Station>> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    List<Station> stations = response.body();
-                    callback.onSuccess(stations);
+        RequestCoalescer.execute(KEY_STATIONS, STATIONS_MEMO_MS, this::loadStations, copyingCallback(callback));
+    }
+
+    private void loadStations(final RequestCoalescer.Emitter<List<Station>> emitter) {
+        cacheExecutor.execute(() -> {
+            List<Station> cached = databaseManager.getCachedStations();
+            long age = System.currentTimeMillis() - databaseManager.getStationsSyncedAt();
+            boolean hasCache = !cached.isEmpty();
+
+            mainHandler.post(() -> {
+                if (hasCache) {
+                    Log.d(TAG, "Serving " + cached.size() + " cached stations (age " + age + " ms)");
+                    emitter.next(cached);
+                }
+                if (!hasCache || age > stationCacheTtlMs) {
+                    fetchStations(emitter, hasCache);
                 } else {
-                    callback.onError("Failed to load stations from database");
+                    emitter.complete();
                 }
+            });
+        });
+    }
+
+    // Force a network refresh of the station catalog regardless of the cache TTL
+    public void refreshStations(final ApiCallback<List<Station>> callback) {
+        final ApiCallback<List<Station>> copying = copyingCallback(callback);
+        RequestCoalescer.execute(KEY_STATIONS_REFRESH, 0, emitter -> fetchStations(emitter, false),
+                new ApiCallback<List<Station>>() {
+                    @Override
+                    public void onSuccess(List<Station> stations) {
+                        // getAllStations' memo predates the refresh - drop it before anyone reloads
+                        RequestCoalescer.invalidate(KEY_STATIONS);
+                        copying.onSuccess(stations);
+                    }
+
+                    @Override
+                    public void onError(String errorMessage) {
+                        copying.onError(errorMessage);
+                    }
+                });
+    }
+
+    // Coalesced callers share one result, so hand each of them a list of its own
+    private static ApiCallback<List<Station>> copyingCallback(final ApiCallback<List<Station>> callback) {
+        return new ApiCallback<List<Station>>() {
+            @Override
+            public void onSuccess(List<Station> stations) {
+                callback.onSuccess(new ArrayList<>(stations));
             }
 
             @Override
-            public void onFailure(Call<List<Station>> call, Throwable t) {
-                callback.onError("Network error: " + t.getMessage());
+            public void onError(String errorMessage) {
+                callback.onError(errorMessage);
             }
-        });
+        };
     }
 
+    // Delta sync when a cursor is known, otherwise a conditional (ETag) full download.
+    // A background refresh has a cached copy on screen already, so its failures stay quiet.
+    private void fetchStations(final RequestCoalescer.Emitter<List<Station>> emitter, final boolean backgroundRefresh) {
+        if (!isNetworkAvailable()) {
+            if (backgroundRefresh) {
+                emitter.complete();
+            } else {
+                emitter.fail("No internet connection. Cannot load stations.");
+            }
+            return;
+        }
 
-    // Check internet connection
-    public boolean isNetworkAvailable() {
-        ConnectivityManager connectivityManager = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
-        NetworkInfo activeNetworkInfo = connectivityManager.getActiveNetworkInfo();
-        return activeNetworkInfo != null && activeNetworkInfo.isConnectedOrConnecting();
+        cacheExecutor.execute(() -> {
+            boolean hasCache = !databaseManager.getCachedStations().isEmpty();
+            Long cursor = hasCache ? databaseManager.getStationsCursor() : null;
+            String etag = hasCache ? databaseManager.getStationsEtag() : null;
+
+            mainHandler.post(() -> {
+                if (cursor != null) {
+                    fetchStationChanges(cursor, emitter, backgroundRefresh);
+                } else {
+                    fetchFullCatalog(etag, hasCache, emitter, backgroundRefresh);
+                }
+            });
+        });
     }
 
-    // Get user dashboard stats
-// In ApiManager.java - Replace the existing getUserStats method
-    public void getUserStats(String userId, final ApiCallback<DashboardStats> callback) {
-        // Get all user bookings and calculate stats locally
-        getUserBookings(userId, new ApiCallback<List<Booking>>() {
-            @Override
-            public void onSuccess(List<Booking> bookings) {
-                DashboardStats stats = new DashboardStats();
-                int pendingCount = 0;
-                int approvedCount = 0;
-                int pastCount = 0;
-
-                for (Booking booking : bookings) {
-                    String status = booking.getStatus();
-                    if (status != null) {
-                        switch (status.toLowerCase()) {
-                            case "pending":
-                                pendingCount++;
-                                break;
-                            case "confirmed":
-                            case "approved":
-                                approvedCount++;
-                                break;
-                            case "completed":
-                            case "cancelled":
-                            case "rejected":
-                                pastCount++;
-                                break;
+    // On metered or slow links only deltas (changes feed, availability stream) are fetched. With a
+    // cached catalog to show, the full download waits until an unmetered link comes along.
+    private void fetchFullCatalog(String etag, boolean hasCache, final RequestCoalescer.Emitter<List<Station>> emitter,
+                                  final boolean backgroundRefresh) {
+        if (hasCache && !networkMonitor.allowsBulkDownloads()) {
+            Log.d(TAG, "Metered or slow link - deferring full station sync, serving cached catalog");
+            stationFullSyncDeferred = true;
+            if (backgroundRefresh) {
+                emitter.complete();
+            } else {
+                cacheExecutor.execute(() -> deliverCachedStations(emitter));
+            }
+            return;
+        }
+        stationFullSyncDeferred = false;
+        fetchAllStations(etag, emitter, backgroundRefresh);
+    }
+
+    // Full download, parsed while it streams in. On a cold start (nothing on screen yet) partial
+    // snapshots are delivered every STATION_STREAM_BATCH_SIZE stations so markers appear early.
+    private void fetchAllStations(String etag, final RequestCoalescer.Emitter<List<Station>> emitter,
+                                  final boolean backgroundRefresh) {
+        Call<ResponseBody> call = apiService.getAllStations(etag);
+        streamExecutor.execute(() -> {
+            Response<ResponseBody> response;
+            List<Station> stations;
+            try {
+                response = call.execute();
+                if (response.code() == 304) {
+                    Log.d(TAG, "Station catalog not modified");
+                    cacheExecutor.execute(() -> {
+                        databaseManager.markStationsSynced();
+                        if (backgroundRefresh) {
+                            emitter.complete();
+                        } else {
+                            deliverCachedStations(emitter);
                         }
+                    });
+                    return;
+                }
+                if (!response.isSuccessful() || response.body() == null) {
+                    if (backgroundRefresh) {
+                        Log.w(TAG, "Station refresh failed - HTTP " + response.code() + ", keeping cached copy");
+                        emitter.complete();
+                    } else {
+                        emitter.fail("Failed to load stations from database");
                     }
+                    return;
+                }
+
+                StationJsonAdapter.BatchListener progress = backgroundRefresh ? null : emitter::next;
+                stations = ApiClient.getStationAdapter().readList(
+                        response.body().charStream(), STATION_STREAM_BATCH_SIZE, progress);
+            } catch (IOException | RuntimeException e) {
+                if (backgroundRefresh) {
+                    Log.w(TAG, "Station refresh failed: " + e.getMessage() + ", keeping cached copy");
+                    emitter.complete();
+                } else {
+                    emitter.fail("Network error: " + e.getMessage());
                 }
+                return;
+            }
 
-                stats.setPendingReservations(pendingCount);
-                stats.setApprovedReservations(approvedCount);
-                stats.setPastBookings(pastCount);
+            String newEtag = response.headers().get("ETag");
+            String newCursor = response.headers().get("X-Sync-Cursor");
+            cacheExecutor.execute(() -> databaseManager.saveStations(stations, newEtag, newCursor));
+            emitter.complete(stations);
+        });
+    }
 
-                Log.d(TAG, "Calculated stats - Pending: " + pendingCount +
-                        ", Approved: " + approvedCount + ", Past: " + pastCount);
+    private void fetchStationChanges(long since, final RequestCoalescer.Emitter<List<Station>> emitter,
+                                     final boolean backgroundRefresh) {
+        Call<StationChanges> call = apiService.getStationChanges(since);
+        call.enqueue(new Callback<StationChanges>() {
+            @Override
+            public void onResponse(Call<StationChanges> call, Response<StationChanges> response) {
+                if (response.isSuccessful() && response.body() != null) {
+                    StationChanges changes = response.body();
+                    Log.d(TAG, "Station delta: " + changes.getStations().size() + " changed, "
+                            + changes.getRemovedIds().size() + " removed");
 
-                callback.onSuccess(stats);
+                    cacheExecutor.execute(() -> {
+                        databaseManager.applyStationChanges(changes);
+                        // Nothing new for a background refresh means the cached copy already on screen is current
+                        if (!changes.isEmpty() || !backgroundRefresh) {
+                            deliverCachedStations(emitter);
+                        } else {
+                            emitter.complete();
+                        }
+                    });
+                } else {
+                    // Server without delta support (or expired cursor) - fall back to a full download
+                    Log.w(TAG, "Station delta failed - HTTP " + response.code() + ", falling back to full sync");
+                    fetchFullCatalog(null, true, emitter, backgroundRefresh);
+                }
             }
 
             @Override
-            public void onError(String errorMessage) {
-                Log.e(TAG, "Error loading bookings for stats: " + errorMessage);
-                // Return empty stats on error
-                DashboardStats stats = new DashboardStats();
-                callback.onSuccess(stats);
+            public void onFailure(Call<StationChanges> call, Throwable t) {
+                if (backgroundRefresh) {
+                    Log.w(TAG, "Station delta failed: " + t.getMessage() + ", keeping cached copy");
+                    emitter.complete();
+                } else {
+                    emitter.fail("Network error: " + t.getMessage());
+                }
             }
         });
     }
 
-    public void getUserBookings(String userId, final ApiCallback<List<Booking>> callback) {
-        Call<List<Booking>> call = apiService.getUserBookings(userId);
-        call.enqueue(new Callback<List<Booking>>() {
-            @Override
-            public void onResponse(Call<List<Booking>> call, Response<List<Booking>> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    List<Booking> bookings = response.body();
+    // Live slot availability over server-sent events. Each delta is written to the station cache
+    // and handed to the listener on the main thread; after a reconnect the listener is told so it
+    // can catch up on anything missed (a delta sync via refreshStations is cheap).
+    public void startAvailabilityUpdates(final StationAvailabilityStream.Listener listener) {
+        stopAvailabilityUpdates();
+        HttpUrl url = ApiClient.getClient(context).baseUrl().resolve("stations/availability/stream");
+        availabilityStream = new StationAvailabilityStream(ApiClient.getHttpClient(context), url, ApiClient.getGson(),
+                new StationAvailabilityStream.Listener() {
+                    @Override
+                    public void onAvailabilityChanged(StationAvailability availability) {
+                        cacheExecutor.execute(() -> databaseManager.applyStationAvailability(availability));
+                        RequestCoalescer.invalidate(KEY_STATIONS);
+                        mainHandler.post(() -> listener.onAvailabilityChanged(availability));
+                    }
 
-                    // Convert backend DateTime to frontend display format
-                    for (Booking booking : bookings) {
-                        // Note: This requires your backend to return stationName
-                        // If stationName is not returned, we need to handle it differently
+                    @Override
+                    public void onConnected(boolean reconnected) {
+                        Log.d(TAG, reconnected ? "Availability stream reconnected" : "Availability stream connected");
+                        mainHandler.post(() -> listener.onConnected(reconnected));
                     }
+                });
+        availabilityStream.start();
+    }
+
+    public void stopAvailabilityUpdates() {
+        if (availabilityStream != null) {
+            availabilityStream.stop();
+            availabilityStream = null;
+        }
+    }
+
+    // Must be called on cacheExecutor
+    private void deliverCachedStations(final RequestCoalescer.Emitter<List<Station>> emitter) {
+        emitter.complete(databaseManager.getCachedStations());
+    }
+
+
+    // Check internet connection
+    public boolean isNetworkAvailable() {
+        return networkMonitor.isConnected();
+    }
+
+    // Online and the circuit breaker isn't open. Reads with a local fallback and queueable writes
+    // check this so an unhealthy backend costs no waiting at all
+    private boolean canReachBackend() {
+        return isNetworkAvailable() && !ApiClient.getCircuitBreaker().isOpen();
+    }
+
+    // Dashboard stats: the aggregate endpoint, kept locally for STATS_CACHE_TTL_MS and adjusted in place
+    // when bookings change on this device. Counting cached bookings is only the offline fallback.
+    public void getUserStats(String userId, final ApiCallback<DashboardStats> callback) {
+        cacheExecutor.execute(() -> {
+            DashboardStats cached = databaseManager.getCachedDashboardStats(userId);
+            long age = System.currentTimeMillis() - databaseManager.getDashboardStatsSyncedAt(userId);
+
+            if (cached != null && age < STATS_CACHE_TTL_MS) {
+                mainHandler.post(() -> callback.onSuccess(cached));
+            } else if (!canReachBackend()) {
+                DashboardStats fallback = cached != null ? cached : countCachedBookings(userId);
+                mainHandler.post(() -> callback.onSuccess(fallback));
+            } else {
+                mainHandler.post(() -> RequestCoalescer.execute("GET dashboard/stats/" + userId, 0,
+                        emitter -> fetchUserStats(userId, emitter), callback));
+            }
+        });
+    }
 
-                    callback.onSuccess(bookings);
+    private void fetchUserStats(String userId, final RequestCoalescer.Emitter<DashboardStats> emitter) {
+        Call<DashboardStats> call = apiService.getUserStats(userId);
+        call.enqueue(new Callback<DashboardStats>() {
+            @Override
+            public void onResponse(Call<DashboardStats> call, Response<DashboardStats> response) {
+                if (response.isSuccessful() && response.body() != null) {
+                    DashboardStats stats = response.body();
+                    cacheExecutor.execute(() -> databaseManager.cacheDashboardStats(userId, stats));
+                    emitter.complete(stats);
                 } else {
-                    callback.onError("Failed to load bookings: " + response.code());
+                    Log.e(TAG, "Stats request failed: HTTP " + response.code());
+                    serveFallbackStats(userId, emitter);
+                }
+            }
+
+            @Override
+            public void onFailure(Call<DashboardStats> call, Throwable t) {
+                Log.e(TAG, "Stats request failed: " + t.getMessage());
+                serveFallbackStats(userId, emitter);
+            }
+        });
+    }
+
+    private void serveFallbackStats(String userId, RequestCoalescer.Emitter<DashboardStats> emitter) {
+        cacheExecutor.execute(() -> {
+            DashboardStats cached = databaseManager.getCachedDashboardStats(userId);
+            emitter.complete(cached != null ? cached : countCachedBookings(userId));
+        });
+    }
+
+    // Offline only: count whatever bookings are cached on the device
+    private DashboardStats countCachedBookings(String userId) {
+        DashboardStats stats = new DashboardStats();
+        int pendingCount = 0;
+        int approvedCount = 0;
+        int pastCount = 0;
+
+        for (Booking booking : databaseManager.getUserBookings(userId)) {
+            String status = booking.getStatus();
+            if (status != null) {
+                switch (status.toLowerCase()) {
+                    case "pending":
+                        pendingCount++;
+                        break;
+                    case "confirmed":
+                    case "approved":
+                        approvedCount++;
+                        break;
+                    case "completed":
+                    case "cancelled":
+                    case "rejected":
+                        pastCount++;
+                        break;
+                }
+            }
+        }
+
+        stats.setPendingReservations(pendingCount);
+        stats.setApprovedReservations(approvedCount);
+        stats.setPastBookings(pastCount);
+        return stats;
+    }
+
+    // Keep the cached dashboard counters in step with bookings made or cancelled here
+    private void onBookingCreatedLocally(Booking booking) {
+        if (booking.getUserId() == null) return;
+        cacheExecutor.execute(() -> databaseManager.adjustDashboardStats(booking.getUserId(), 1, 0));
+    }
+
+    private void onBookingCancelledLocally(Booking cancelled) {
+        if (cancelled == null || cancelled.getUserId() == null || cancelled.getStatus() == null) return;
+        String status = cancelled.getStatus().toLowerCase();
+        int pendingDelta = "pending".equals(status) ? -1 : 0;
+        int approvedDelta = "confirmed".equals(status) || "approved".equals(status) ? -1 : 0;
+        if (pendingDelta != 0 || approvedDelta != 0) {
+            cacheExecutor.execute(() -> databaseManager.adjustDashboardStats(cancelled.getUserId(), pendingDelta, approvedDelta));
+        }
+    }
+
+    // One slice of a user's history: the upcoming tab (completed = false, soonest first) or the past
+    // tab (completed = true, latest first). The cursor is the page number handed out by the previous page.
+    public void getUserBookingsPage(String userId, boolean completed, String cursor,
+                                    final ApiCallback<BookingsPage> callback) {
+        final int page = cursor != null ? Integer.parseInt(cursor) : 1;
+        if (!canReachBackend()) {
+            serveCachedBookingsPage(userId, completed, page, null, callback);
+            return;
+        }
+
+        Call<List<Booking>> call = apiService.getUserBookings(userId, null, completed, null, null,
+                completed ? "desc" : "asc", page, USER_BOOKINGS_PAGE_SIZE);
+        enqueue(call, callback, new Callback<List<Booking>>() {
+            @Override
+            public void onResponse(Call<List<Booking>> call, Response<List<Booking>> response) {
+                if (!response.isSuccessful() || response.body() == null) {
+                    serveCachedBookingsPage(userId, completed, page, "Failed to load bookings: " + response.code(), callback);
+                    return;
                 }
+                List<Booking> items = response.body();
+                boolean hasMore = hasMorePages(response.headers().get("X-Total-Count"), page, items.size());
+
+                cacheExecutor.execute(() -> {
+                    databaseManager.mergeBookings(items);
+                    if (isAbandoned(callback)) return;
+                    BookingsPage result = new BookingsPage();
+                    result.setItems(applyPendingChanges(userId, completed, page, items));
+                    result.setNextCursor(hasMore ? String.valueOf(page + 1) : null);
+                    mainHandler.post(() -> callback.onSuccess(result));
+                });
             }
 
             @Override
             public void onFailure(Call<List<Booking>> call, Throwable t) {
-                callback.onError("Network error: " + t.getMessage());
+                serveCachedBookingsPage(userId, completed, page, "Network error: " + t.getMessage(), callback);
             }
         });
     }
 
+    private static boolean isAbandoned(ApiCallback<?> callback) {
+        CallScope scope = CallScope.scopeOf(callback);
+        return scope != null && scope.isDestroyed();
+    }
+
+    private static boolean hasMorePages(String totalCount, int page, int received) {
+        try {
+            return totalCount != null
+                    ? (long) page * USER_BOOKINGS_PAGE_SIZE < Long.parseLong(totalCount)
+                    : received == USER_BOOKINGS_PAGE_SIZE;
+        } catch (NumberFormatException e) {
+            return received == USER_BOOKINGS_PAGE_SIZE;
+        }
+    }
+
+    // Offline (or the server failed): page through the copy kept on the device instead
+    private void serveCachedBookingsPage(String userId, boolean completed, int page, String error,
+                                         ApiCallback<BookingsPage> callback) {
+        cacheExecutor.execute(() -> {
+            if (isAbandoned(callback)) return;
+            List<Booking> cached = databaseManager.getUserBookingsPage(userId, completed, completed,
+                    USER_BOOKINGS_PAGE_SIZE, (page - 1) * USER_BOOKINGS_PAGE_SIZE);
+            mainHandler.post(() -> {
+                if (error != null && cached.isEmpty() && page == 1) {
+                    callback.onError(error);
+                    return;
+                }
+                BookingsPage result = new BookingsPage();
+                result.setItems(cached);
+                result.setNextCursor(cached.size() == USER_BOOKINGS_PAGE_SIZE ? String.valueOf(page + 1) : null);
+                result.setFromCache(true);
+                callback.onSuccess(result);
+            });
+        });
+    }
+
+    // Bookings with unsynced changes show their local version; ones cancelled locally are dropped,
+    // and bookings created offline (not on the server yet) lead the first upcoming page
+    private List<Booking> applyPendingChanges(String userId, boolean completed, int page, List<Booking> items) {
+        List<Booking> pending = databaseManager.getUserBookingsWithPendingOperations(userId);
+        if (pending.isEmpty() && !databaseManager.hasPendingBookingOperations()) {
+            return items;
+        }
+
+        Map<String, Booking> localById = new HashMap<>();
+        for (Booking booking : pending) {
+            localById.put(booking.getId(), booking);
+        }
+
+        List<Booking> merged = new ArrayList<>();
+        if (page == 1 && !completed) {
+            for (Booking booking : pending) {
+                if (BookingSyncWorker.isLocalId(booking.getId())) merged.add(booking);
+            }
+        }
+        for (Booking booking : items) {
+            if (!databaseManager.hasPendingBookingOperations(booking.getId())) {
+                merged.add(booking);
+            } else if (localById.containsKey(booking.getId())) {
+                merged.add(localById.get(booking.getId()));
+            }
+        }
+        return merged;
+    }
+
+    // A change queued offline that the server later refused, if any (reported once); null when none
+    public void takeBookingSyncError(ApiCallback<String> callback) {
+        databaseManager.runAsync(databaseManager::takeBookingSyncError, callback);
+    }
+
     public void updateBooking(String id, Booking booking, final ApiCallback<ApiResponse> callback) {
         Log.d(TAG, "Updating booking ID: " + id);
         Log.d(TAG, "Booking data - Station: " + booking.getStationName() +
                 ", Vehicle: " + booking.getVehicleType() +
                 ", Date: " + booking.getBookingDate());
 
-        Call<ApiResponse> call = apiService.updateBooking(id, booking);
+        final String idempotencyKey = UUID.randomUUID().toString();
+        whenQueueDecided(id,
+                () -> queueBookingOperation(DatabaseManager.OP_UPDATE, booking, idempotencyKey, callback),
+                () -> sendBookingUpdate(id, booking, idempotencyKey, callback));
+    }
+
+    private void sendBookingUpdate(String id, Booking booking, String idempotencyKey,
+                                   final ApiCallback<ApiResponse> callback) {
+        Call<ApiResponse> call = apiService.updateBooking(id, idempotencyKey, booking.getUpdatedAt(), booking);
         call.enqueue(new Callback<ApiResponse>() {
             @Override
             public void onResponse(Call<ApiResponse> call, Response<ApiResponse> response) {
@@ -251,6 +766,8 @@ public class ApiManager {
                 if (response.isSuccessful() && response.body() != null) {
                     Log.d(TAG, "Booking updated successfully");
                     callback.onSuccess(response.body());
+                } else if (response.code() == 409) {
+                    callback.onError("This booking was changed on the server - reload it and try again");
                 } else {
                     String errorMsg = "Booking update failed - HTTP " + response.code();
                     Log.e(TAG, errorMsg);
@@ -260,19 +777,42 @@ public class ApiManager {
 
             @Override
             public void onFailure(Call<ApiResponse> call, Throwable t) {
-                Log.e(TAG, "Update API call failed: " + t.getMessage());
-                callback.onError("Network error: " + t.getMessage());
+                Log.w(TAG, "Update API call failed: " + t.getMessage() + ", queueing for sync");
+                queueBookingOperation(DatabaseManager.OP_UPDATE, booking, idempotencyKey, callback);
             }
         });
     }
 
     public void cancelBooking(String id, final ApiCallback<ApiResponse> callback) {
-        Call<ApiResponse> call = apiService.cancelBooking(id);
+        final Booking booking = new Booking();
+        booking.setId(id);
+        final String idempotencyKey = UUID.randomUUID().toString();
+        whenQueueDecided(id,
+                () -> queueBookingOperation(DatabaseManager.OP_CANCEL, booking, idempotencyKey, callback),
+                () -> sendBookingCancel(id, booking, idempotencyKey, callback));
+    }
+
+    private void sendBookingCancel(String id, Booking booking, String idempotencyKey,
+                                   final ApiCallback<ApiResponse> callback) {
+        Call<ApiResponse> call = apiService.cancelBooking(id, idempotencyKey);
         call.enqueue(new Callback<ApiResponse>() {
             @Override
             public void onResponse(Call<ApiResponse> call, Response<ApiResponse> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    callback.onSuccess(response.body());
+                // 404: already gone on the server (e.g. an earlier attempt whose response was lost),
+                // which is what a cancel wants
+                boolean cancelled = response.isSuccessful() && response.body() != null;
+                if (cancelled || response.code() == 404) {
+                    ApiResponse body = cancelled ? response.body() : new ApiResponse();
+                    if (!cancelled) {
+                        body.setSuccess(true);
+                        body.setBookingId(id);
+                    }
+                    // Drop the cached copy before reporting, so a list reloaded on success can't show it
+                    databaseManager.runAsync(() -> {
+                        onBookingCancelledLocally(databaseManager.getBooking(id));
+                        databaseManager.deleteBooking(id);
+                        return body;
+                    }, callback);
                 } else {
                     callback.onError("Booking cancel failed");
                 }
@@ -280,7 +820,8 @@ public class ApiManager {
 
             @Override
             public void onFailure(Call<ApiResponse> call, Throwable t) {
-                callback.onError("Network error: " + t.getMessage());
+                Log.w(TAG, "Cancel booking failed: " + t.getMessage() + ", queueing for sync");
+                queueBookingOperation(DatabaseManager.OP_CANCEL, booking, idempotencyKey, callback);
             }
         });
     }
@@ -327,7 +868,7 @@ public class ApiManager {
         Log.d(TAG, "Generating QR code for booking: " + id);
 
         Call<ApiResponse> call = apiService.generateQRCode(id);
-        call.enqueue(new Callback<ApiResponse>() {
+        enqueue(call, callback, new Callback<ApiResponse>() {
             @Override
             public void onResponse(Call<ApiResponse> call, Response<ApiResponse> response) {
                 if (response.isSuccessful() && response.body() != null) {
@@ -349,8 +890,104 @@ public class ApiManager {
     }
 
 
-    public void getPendingBookings(final ApiCallback<List<Booking>> callback) {
-        callback.onSuccess(new ArrayList<>());
+    // One page of the operator queue. The first page is kept locally so the queue still opens offline
+    public void getPendingBookings(final String cursor, final ApiCallback<BookingsPage> callback) {
+        Call<BookingsPage> call = apiService.getPendingBookings(cursor, PENDING_PAGE_SIZE);
+        enqueue(call, callback, new Callback<BookingsPage>() {
+            @Override
+            public void onResponse(Call<BookingsPage> call, Response<BookingsPage> response) {
+                if (response.isSuccessful() && response.body() != null) {
+                    BookingsPage page = response.body();
+                    if (cursor == null) {
+                        cacheExecutor.execute(() -> databaseManager.cachePendingBookingsPage(page));
+                    }
+                    callback.onSuccess(page);
+                } else {
+                    onPendingPageFailed(cursor, "Failed to load pending bookings (HTTP " + response.code() + ")", callback);
+                }
+            }
+
+            @Override
+            public void onFailure(Call<BookingsPage> call, Throwable t) {
+                onPendingPageFailed(cursor, "Network error: " + t.getMessage(), callback);
+            }
+        });
+    }
+
+    private void onPendingPageFailed(String cursor, String error, ApiCallback<BookingsPage> callback) {
+        if (cursor != null) {
+            callback.onError(error);
+            return;
+        }
+        cacheExecutor.execute(() -> {
+            BookingsPage cached = databaseManager.getCachedPendingBookingsPage();
+            mainHandler.post(() -> {
+                if (cached != null) {
+                    // The cached cursor may be long gone on the server, so paging stops here
+                    cached.setNextCursor(null);
+                    cached.setFromCache(true);
+                    callback.onSuccess(cached);
+                } else {
+                    callback.onError(error);
+                }
+            });
+        });
+    }
+
+    // Operator multi-select: one request per BOOKING_BATCH_SIZE ids instead of one per booking
+    public void approveBookings(List<String> ids, final ApiCallback<BookingBatchResult> callback) {
+        runBookingBatches(apiService::approveBookings, ids, callback);
+    }
+
+    public void completeBookings(List<String> ids, final ApiCallback<BookingBatchResult> callback) {
+        runBookingBatches(apiService::completeBookings, ids, callback);
+    }
+
+    private interface BatchCall {
+        Call<BookingBatchResult> create(BookingBatchRequest request);
+    }
+
+    // Chunks run one after another so a large selection never has several batches in flight;
+    // a chunk that fails outright marks just its own ids as failed and the rest still run
+    private void runBookingBatches(BatchCall batchCall, List<String> ids, ApiCallback<BookingBatchResult> callback) {
+        List<List<String>> chunks = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += BOOKING_BATCH_SIZE) {
+            chunks.add(new ArrayList<>(ids.subList(i, Math.min(i + BOOKING_BATCH_SIZE, ids.size()))));
+        }
+        runBookingBatch(batchCall, chunks, 0, new BookingBatchResult(), callback);
+    }
+
+    private void runBookingBatch(BatchCall batchCall, List<List<String>> chunks, int index,
+                                 BookingBatchResult combined, ApiCallback<BookingBatchResult> callback) {
+        if (index >= chunks.size()) {
+            callback.onSuccess(combined);
+            return;
+        }
+
+        List<String> chunk = chunks.get(index);
+        batchCall.create(new BookingBatchRequest(chunk)).enqueue(new Callback<BookingBatchResult>() {
+            @Override
+            public void onResponse(Call<BookingBatchResult> call, Response<BookingBatchResult> response) {
+                if (response.isSuccessful() && response.body() != null) {
+                    combined.getResults().addAll(response.body().getResults());
+                } else {
+                    failChunk(chunk, "Batch failed (HTTP " + response.code() + ")", combined);
+                }
+                runBookingBatch(batchCall, chunks, index + 1, combined, callback);
+            }
+
+            @Override
+            public void onFailure(Call<BookingBatchResult> call, Throwable t) {
+                failChunk(chunk, "Network error: " + t.getMessage(), combined);
+                runBookingBatch(batchCall, chunks, index + 1, combined, callback);
+            }
+        });
+    }
+
+    private static void failChunk(List<String> chunk, String message, BookingBatchResult combined) {
+        for (String id : chunk) {
+            combined.getResults().add(new BookingBatchResult.Item(id, false, null, message));
+        }
     }
 
     // Update user profile
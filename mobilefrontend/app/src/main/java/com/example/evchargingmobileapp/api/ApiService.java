@@ -3,21 +3,28 @@ package com.example.evchargingmobileapp.api;
 import com.example.evchargingmobileapp.models.User;
 import com.example.evchargingmobileapp.models.Booking;
 import com.example.evchargingmobileapp.models.Station;
+import com.example.evchargingmobileapp.models.StationChanges;
 import com.example.evchargingmobileapp.models.ApiResponse;
 import com.example.evchargingmobileapp.models.UserUpdateRequest;
 import com.example.evchargingmobileapp.models.LoginRequest;
 import com.example.evchargingmobileapp.models.DashboardStats;
+import com.example.evchargingmobileapp.models.BookingBatchRequest;
+import com.example.evchargingmobileapp.models.BookingBatchResult;
+import com.example.evchargingmobileapp.models.BookingsPage;
 
 import java.util.List;
 
+import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.Body;
 import retrofit2.http.DELETE;
 import retrofit2.http.GET;
+import retrofit2.http.Header;
 import retrofit2.http.POST;
 import retrofit2.http.PUT;
 import retrofit2.http.Path;
 import retrofit2.http.Query;
+import retrofit2.http.Streaming;
 
 public interface ApiService {
 
@@ -38,24 +45,41 @@ public interface ApiService {
     Call<ApiResponse> deactivateUser(@Path("nic") String nic);
 
     // Station Endpoints
+    // Streamed so the catalog can be parsed incrementally (see StationJsonAdapter.readList)
+    @Streaming
     @GET("stations")
-    Call<List<Station>> getAllStations();
+    Call<ResponseBody> getAllStations(@Header("If-None-Match") String etag);
+
+    @GET("stations/changes")
+    Call<StationChanges> getStationChanges(@Query("since") long since);
 
     @GET("stations/nearby")
     Call<List<Station>> getNearbyStations(@Query("lat") double lat, @Query("lng") double lng);
 
     // Booking Endpoints
+    // Filtered / paged history; null parameters are left out of the query. from/to are ISO-8601
+    // start-time bounds, order is "asc" or "desc" by start time. Total matches come back in X-Total-Count
     @GET("bookings/user/{userId}")
-    Call<List<Booking>> getUserBookings(@Path("userId") String userId);
-
+    Call<List<Booking>> getUserBookings(@Path("userId") String userId,
+                                        @Query("status") String status,
+                                        @Query("completed") Boolean completed,
+                                        @Query("from") String from,
+                                        @Query("to") String to,
+                                        @Query("order") String order,
+                                        @Query("page") Integer page,
+                                        @Query("limit") Integer limit);
+
+    // Idempotency-Key lets a create be retried from the outbox without booking twice;
+    // X-Base-Updated-At is the server version an edit was made against (409 if it has moved on)
     @POST("bookings")
-    Call<ApiResponse> createBooking(@Body Booking booking);
+    Call<ApiResponse> createBooking(@Header("Idempotency-Key") String idempotencyKey, @Body Booking booking);
 
     @PUT("bookings/{id}")
-    Call<ApiResponse> updateBooking(@Path("id") String id, @Body Booking booking);
+    Call<ApiResponse> updateBooking(@Path("id") String id, @Header("Idempotency-Key") String idempotencyKey,
+                                    @Header("X-Base-Updated-At") String baseUpdatedAt, @Body Booking booking);
 
     @DELETE("bookings/{id}")
-    Call<ApiResponse> cancelBooking(@Path("id") String id);
+    Call<ApiResponse> cancelBooking(@Path("id") String id, @Header("Idempotency-Key") String idempotencyKey);
 
     @PUT("bookings/{id}/approve")
     Call<ApiResponse> approveBooking(@Path("id") String id);
@@ -70,8 +94,16 @@ public interface ApiService {
     @GET("dashboard/stats/{userId}")
     Call<DashboardStats> getUserStats(@Path("userId") String userId);
 
-    // For operator (add backend endpoint if needed: GET bookings/pending)
+    // Operator Endpoints
+    // Keyset paged, pass the previous page's nextCursor (null for the first page)
     @GET("bookings/pending")
-    Call<List<Booking>> getPendingBookings();
+    Call<BookingsPage> getPendingBookings(@Query("cursor") String cursor, @Query("limit") int limit);
+
+    // Up to 100 ids per call; the response carries one result per id
+    @POST("bookings/batch/approve")
+    Call<BookingBatchResult> approveBookings(@Body BookingBatchRequest request);
+
+    @POST("bookings/batch/complete")
+    Call<BookingBatchResult> completeBookings(@Body BookingBatchRequest request);
 
 }
\ No newline at end of file
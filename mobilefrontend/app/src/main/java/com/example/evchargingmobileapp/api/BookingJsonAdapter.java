@@ -0,0 +1,75 @@
+package com.example.evchargingmobileapp.api;
+
+import com.example.evchargingmobileapp.models.Booking;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+// Streaming Booking binding, field names match the reflective Gson output it replaces
+public class BookingJsonAdapter extends TypeAdapter<Booking> {
+
+    @Override
+    public Booking read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        Booking booking = new Booking();
+        in.beginObject();
+        while (in.hasNext()) {
+            String field = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (field) {
+                case "id": booking.setId(in.nextString()); break;
+                case "userId": booking.setUserId(in.nextString()); break;
+                case "stationId": booking.setStationId(in.nextString()); break;
+                case "stationName": booking.setStationName(in.nextString()); break;
+                case "bookingDate": booking.setBookingDate(in.nextString()); break;
+                case "startTime": booking.setStartTime(in.nextString()); break;
+                case "endTime": booking.setEndTime(in.nextString()); break;
+                case "status": booking.setStatus(in.nextString()); break;
+                case "isCompleted": booking.setCompleted(in.nextBoolean()); break;
+                case "vehicleType": booking.setVehicleType(in.nextString()); break;
+                case "totalCost": booking.setTotalCost(in.nextDouble()); break;
+                case "qrCodeData": booking.setQrCodeData(in.nextString()); break;
+                case "createdAt": booking.setCreatedAt(in.nextString()); break;
+                case "updatedAt": booking.setUpdatedAt(in.nextString()); break;
+                default: in.skipValue(); break;
+            }
+        }
+        in.endObject();
+        return booking;
+    }
+
+    @Override
+    public void write(JsonWriter out, Booking booking) throws IOException {
+        if (booking == null) {
+            out.nullValue();
+            return;
+        }
+        // JsonWriter drops null names/values the same way Gson does by default (serializeNulls off)
+        out.beginObject();
+        out.name("id").value(booking.getId());
+        out.name("userId").value(booking.getUserId());
+        out.name("stationId").value(booking.getStationId());
+        out.name("stationName").value(booking.getStationName());
+        out.name("bookingDate").value(booking.getBookingDate());
+        out.name("startTime").value(booking.getStartTime());
+        out.name("endTime").value(booking.getEndTime());
+        out.name("status").value(booking.getStatus());
+        out.name("isCompleted").value(booking.isCompleted());
+        out.name("vehicleType").value(booking.getVehicleType());
+        out.name("totalCost").value(booking.getTotalCost());
+        out.name("qrCodeData").value(booking.getQrCodeData());
+        out.name("createdAt").value(booking.getCreatedAt());
+        out.name("updatedAt").value(booking.getUpdatedAt());
+        out.endObject();
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.evchargingmobileapp.api;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.evchargingmobileapp.database.BookingOutboxEntry;
+import com.example.evchargingmobileapp.database.DatabaseManager;
+import com.example.evchargingmobileapp.models.ApiResponse;
+import com.example.evchargingmobileapp.models.Booking;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import retrofit2.Response;
+
+// Drains the booking outbox in order once the device is online. A transient failure stops the
+// drain so later operations can't overtake it; WorkManager retries with exponential backoff.
+public class BookingSyncWorker extends Worker {
+    private static final String TAG = "BookingSyncWorker";
+    private static final String UNIQUE_WORK_NAME = "booking-outbox-sync";
+    private static final String LOCAL_ID_PREFIX = "local-";
+    private static final long INITIAL_BACKOFF_SECONDS = 30;
+    private static final int MAX_ATTEMPTS = 10;
+
+    private enum Outcome { DONE, RETRY }
+
+    // One drain at a time. A run cancelled by resume() only notices between entries, so it may still
+    // be inside a blocking send; its replacement waits here instead of sending the same entry again
+    private static final Object DRAIN_LOCK = new Object();
+
+    public BookingSyncWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    public static void schedule(Context context) {
+        // APPEND_OR_REPLACE: an entry queued while a drain is finishing still gets its own run
+        WorkManager.getInstance(context.getApplicationContext())
+                .enqueueUniqueWork(UNIQUE_WORK_NAME, ExistingWorkPolicy.APPEND_OR_REPLACE, newRequest());
+    }
+
+    // Connectivity is back: drain the outbox now instead of waiting out a retry backoff. REPLACE can
+    // cancel a run that is mid-send, so the new run takes DRAIN_LOCK first - only creates are
+    // deduplicated by the server, an edit or cancel sent twice would come back as 409 / 404
+    public static void resume(Context context) {
+        WorkManager.getInstance(context.getApplicationContext())
+                .enqueueUniqueWork(UNIQUE_WORK_NAME, ExistingWorkPolicy.REPLACE, newRequest());
+    }
+
+    private static OneTimeWorkRequest newRequest() {
+        return new OneTimeWorkRequest.Builder(BookingSyncWorker.class)
+                .setConstraints(new Constraints.Builder()
+                        .setRequiredNetworkType(NetworkType.CONNECTED)
+                        .build())
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, INITIAL_BACKOFF_SECONDS, TimeUnit.SECONDS)
+                .build();
+    }
+
+    // Bookings created offline carry a temporary id until the server assigns the real one
+    public static String newLocalId() {
+        return LOCAL_ID_PREFIX + UUID.randomUUID();
+    }
+
+    public static boolean isLocalId(String id) {
+        return id != null && id.startsWith(LOCAL_ID_PREFIX);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        synchronized (DRAIN_LOCK) {
+            return drain();
+        }
+    }
+
+    private Result drain() {
+        Context context = getApplicationContext();
+        DatabaseManager databaseManager = DatabaseManager.getInstance(context);
+        ApiService apiService = ApiClient.getClient(context).create(ApiService.class);
+
+        while (!isStopped()) {
+            BookingOutboxEntry entry = databaseManager.claimNextOutboxEntry();
+            if (entry == null) return Result.success();
+
+            Outcome outcome;
+            try {
+                outcome = replay(apiService, databaseManager, entry);
+            } catch (IOException e) {
+                outcome = retryOrGiveUp(databaseManager, entry, "Network error: " + e.getMessage());
+            }
+            if (outcome == Outcome.RETRY) {
+                return Result.retry();
+            }
+        }
+        return Result.retry();
+    }
+
+    private Outcome replay(ApiService apiService, DatabaseManager databaseManager, BookingOutboxEntry entry) throws IOException {
+        switch (entry.op) {
+            case DatabaseManager.OP_CREATE:
+                return replayCreate(apiService, databaseManager, entry);
+            case DatabaseManager.OP_UPDATE:
+                return replayUpdate(apiService, databaseManager, entry);
+            case DatabaseManager.OP_CANCEL:
+                return replayCancel(apiService, databaseManager, entry);
+            default:
+                Log.w(TAG, "Dropping unknown outbox operation " + entry.op);
+                databaseManager.completeOutboxEntry(entry.seq);
+                return Outcome.DONE;
+        }
+    }
+
+    private Outcome replayCreate(ApiService apiService, DatabaseManager databaseManager, BookingOutboxEntry entry) throws IOException {
+        Booking booking = entry.booking;
+        booking.setId(null); // the server assigns the id
+
+        Response<ApiResponse> response = apiService.createBooking(entry.idempotencyKey, booking).execute();
+        if (response.isSuccessful()) {
+            String serverId = response.body() != null ? response.body().getBookingId() : null;
+            if (serverId != null) {
+                databaseManager.replaceBookingId(entry.bookingId, serverId);
+            }
+            databaseManager.completeOutboxEntry(entry.seq);
+            return Outcome.DONE;
+        }
+        if (isPermanent(response.code())) {
+            databaseManager.discardLocalBooking(entry.bookingId);
+        }
+        return handleFailure(databaseManager, entry, response.code(),
+                "Your booking at " + booking.getStationName() + " could not be created");
+    }
+
+    private Outcome replayUpdate(ApiService apiService, DatabaseManager databaseManager, BookingOutboxEntry entry) throws IOException {
+        Booking booking = entry.booking;
+        booking.setId(entry.bookingId);
+
+        Response<ApiResponse> response = apiService.updateBooking(entry.bookingId, entry.idempotencyKey,
+                entry.baseUpdatedAt, booking).execute();
+        if (response.isSuccessful()) {
+            databaseManager.completeOutboxEntry(entry.seq);
+            return Outcome.DONE;
+        }
+
+        if (response.code() == 404) {
+            // Gone on the server (cancelled elsewhere) - nothing left to edit
+            databaseManager.deleteBooking(entry.bookingId);
+            databaseManager.completeOutboxEntry(entry.seq);
+            databaseManager.setBookingSyncError("Your booking at " + booking.getStationName() + " no longer exists");
+            return Outcome.DONE;
+        }
+
+        if (response.code() == 409) {
+            Booking serverCopy = readBooking(response);
+            boolean stillPending = serverCopy != null && !serverCopy.isCompleted()
+                    && "pending".equalsIgnoreCase(serverCopy.getStatus());
+            boolean alreadyRebased = serverCopy != null && serverCopy.getUpdatedAt() != null
+                    && serverCopy.getUpdatedAt().equals(entry.baseUpdatedAt);
+
+            if (stillPending && !alreadyRebased && entry.attempts + 1 < MAX_ATTEMPTS) {
+                // Only the driver edits a pending booking, so their latest edit wins: rebase and resend
+                databaseManager.recordOutboxFailure(entry.seq, "Conflict, rebased");
+                databaseManager.rebaseOutboxEntry(entry.seq, serverCopy.getUpdatedAt());
+                return Outcome.DONE;
+            }
+
+            // The operator has acted on it (approved / completed) - the server copy wins
+            if (serverCopy != null) {
+                databaseManager.addBooking(serverCopy);
+            }
+            databaseManager.completeOutboxEntry(entry.seq);
+            databaseManager.setBookingSyncError("Your changes to the booking at " + booking.getStationName()
+                    + " were discarded because it was already " + (serverCopy != null ? serverCopy.getStatus() : "changed"));
+            return Outcome.DONE;
+        }
+
+        return handleFailure(databaseManager, entry, response.code(),
+                "Your changes to the booking at " + booking.getStationName() + " could not be saved");
+    }
+
+    private Outcome replayCancel(ApiService apiService, DatabaseManager databaseManager, BookingOutboxEntry entry) throws IOException {
+        Response<ApiResponse> response = apiService.cancelBooking(entry.bookingId, entry.idempotencyKey).execute();
+        // 404: already gone, which is what a cancel wants
+        if (response.isSuccessful() || response.code() == 404) {
+            databaseManager.completeOutboxEntry(entry.seq);
+            return Outcome.DONE;
+        }
+        return handleFailure(databaseManager, entry, response.code(), "A booking could not be cancelled");
+    }
+
+    private Outcome handleFailure(DatabaseManager databaseManager, BookingOutboxEntry entry, int code, String message) {
+        if (!isPermanent(code)) {
+            return retryOrGiveUp(databaseManager, entry, message + " (HTTP " + code + ")");
+        }
+        // Refused outright (e.g. the 12-hour rule) - drop it; the next refresh restores the server copy
+        Log.w(TAG, "Outbox " + entry.op + " for " + entry.bookingId + " rejected with HTTP " + code);
+        databaseManager.completeOutboxEntry(entry.seq);
+        databaseManager.setBookingSyncError(message);
+        return Outcome.DONE;
+    }
+
+    private Outcome retryOrGiveUp(DatabaseManager databaseManager, BookingOutboxEntry entry, String error) {
+        if (entry.attempts + 1 >= MAX_ATTEMPTS) {
+            Log.w(TAG, "Giving up on outbox " + entry.op + " for " + entry.bookingId + ": " + error);
+            databaseManager.completeOutboxEntry(entry.seq);
+            databaseManager.setBookingSyncError(error);
+            return Outcome.DONE;
+        }
+        databaseManager.recordOutboxFailure(entry.seq, error);
+        return Outcome.RETRY;
+    }
+
+    private static boolean isPermanent(int code) {
+        return code >= 400 && code < 500 && code != 408 && code != 429;
+    }
+
+    private static Booking readBooking(Response<?> response) {
+        if (response.errorBody() == null) return null;
+        try {
+            return ApiClient.getGson().fromJson(response.errorBody().charStream(), Booking.class);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
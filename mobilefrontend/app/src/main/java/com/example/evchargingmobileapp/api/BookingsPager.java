@@ -0,0 +1,126 @@
+package com.example.evchargingmobileapp.api;
+
+import com.example.evchargingmobileapp.interfaces.ApiCallback;
+import com.example.evchargingmobileapp.models.Booking;
+import com.example.evchargingmobileapp.models.BookingsPage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Walks a booking list one page at a time (the operator queue, a user's upcoming / past tabs).
+// Pages are only requested as the list is scrolled, and the next one is fetched while
+// PREFETCH_DISTANCE rows are still left to show.
+public class BookingsPager {
+
+    static final int PREFETCH_DISTANCE = 15;
+
+    // Loads the page after cursor (null for the first page)
+    public interface PageSource {
+        void loadPage(String cursor, ApiCallback<BookingsPage> callback);
+    }
+
+    public interface Listener {
+        void onBookingsChanged(List<Booking> bookings, boolean fromCache);
+        void onLoadingChanged(boolean loading);
+        void onError(String errorMessage);
+    }
+
+    private final PageSource source;
+    private final Listener listener;
+    private final List<Booking> loaded = new ArrayList<>();
+    private final Set<String> loadedIds = new HashSet<>();
+    private String nextCursor;
+    private boolean endReached = false;
+    private boolean loading = false;
+    // Bumped on refresh so a page that was in flight for the old list is dropped
+    private int generation = 0;
+    // While reloading, pages are fetched back to back until this many rows are loaded again
+    private int refillTarget = 0;
+
+    public BookingsPager(PageSource source, Listener listener) {
+        this.source = source;
+        this.listener = listener;
+    }
+
+    public void refresh() {
+        restart(0);
+    }
+
+    // Re-fetch every page loaded so far, e.g. after acting on some of the rows. The list is only
+    // republished once the same range is back, so rows further down don't drop out in between
+    public void reload() {
+        restart(loaded.size());
+    }
+
+    private void restart(int refill) {
+        generation++;
+        loaded.clear();
+        loadedIds.clear();
+        nextCursor = null;
+        endReached = false;
+        loading = false;
+        refillTarget = refill;
+        loadPage();
+    }
+
+    // Call from the list's scroll listener with the last visible adapter position
+    public void onScrolled(int lastVisiblePosition) {
+        if (lastVisiblePosition >= loaded.size() - PREFETCH_DISTANCE) {
+            loadNextPage();
+        }
+    }
+
+    public void loadNextPage() {
+        if (loading || endReached) return;
+        loadPage();
+    }
+
+    public List<Booking> getLoaded() {
+        return Collections.unmodifiableList(loaded);
+    }
+
+    private void loadPage() {
+        final int requestGeneration = generation;
+        final String cursor = nextCursor;
+        setLoading(true);
+
+        source.loadPage(cursor, new ApiCallback<BookingsPage>() {
+            @Override
+            public void onSuccess(BookingsPage page) {
+                if (requestGeneration != generation) return;
+
+                // A booking that moved between pages while paging would otherwise show up twice
+                for (Booking booking : page.getItems()) {
+                    if (loadedIds.add(booking.getId())) {
+                        loaded.add(booking);
+                    }
+                }
+                nextCursor = page.getNextCursor();
+                endReached = !page.hasMore();
+                if (loaded.size() < refillTarget && !endReached) {
+                    loadPage();
+                    return;
+                }
+                refillTarget = 0;
+                setLoading(false);
+                listener.onBookingsChanged(getLoaded(), page.isFromCache());
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                if (requestGeneration != generation) return;
+                refillTarget = 0;
+                setLoading(false);
+                listener.onError(errorMessage);
+            }
+        });
+    }
+
+    private void setLoading(boolean loading) {
+        this.loading = loading;
+        listener.onLoadingChanged(loading);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.evchargingmobileapp.api;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.DefaultLifecycleObserver;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+
+import com.example.evchargingmobileapp.interfaces.ApiCallback;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import retrofit2.Call;
+
+// Ties API callbacks to an Activity / Fragment. Once the owner is destroyed, bound callbacks are
+// dropped and the Retrofit calls ApiManager started for them are cancelled, so nothing more is
+// downloaded, parsed or delivered to dead views. Main thread only.
+public final class CallScope implements DefaultLifecycleObserver {
+
+    private static final Map<LifecycleOwner, CallScope> scopes = new WeakHashMap<>();
+
+    private final Set<Call<?>> calls = new HashSet<>();
+    private volatile boolean destroyed;
+
+    private CallScope() {}
+
+    public static CallScope of(LifecycleOwner owner) {
+        CallScope scope = scopes.get(owner);
+        if (scope == null) {
+            scope = new CallScope();
+            if (owner.getLifecycle().getCurrentState() == Lifecycle.State.DESTROYED) {
+                scope.destroyed = true;
+            } else {
+                owner.getLifecycle().addObserver(scope);
+                scopes.put(owner, scope);
+            }
+        }
+        return scope;
+    }
+
+    public <T> ApiCallback<T> bind(ApiCallback<T> callback) {
+        return new Bound<>(this, callback);
+    }
+
+    public boolean isDestroyed() {
+        return destroyed;
+    }
+
+    // The scope a callback was bound to, or null for unscoped (app-level) callers
+    static CallScope scopeOf(ApiCallback<?> callback) {
+        return callback instanceof Bound ? ((Bound<?>) callback).scope : null;
+    }
+
+    // false when the owner is already gone - the call is cancelled instead of being started
+    boolean add(Call<?> call) {
+        if (destroyed) {
+            call.cancel();
+            return false;
+        }
+        calls.add(call);
+        return true;
+    }
+
+    void remove(Call<?> call) {
+        calls.remove(call);
+    }
+
+    @Override
+    public void onDestroy(@NonNull LifecycleOwner owner) {
+        destroyed = true;
+        owner.getLifecycle().removeObserver(this);
+        scopes.remove(owner);
+        for (Call<?> call : new ArrayList<>(calls)) {
+            call.cancel();
+        }
+        calls.clear();
+    }
+
+    private static final class Bound<T> implements ApiCallback<T> {
+        private final CallScope scope;
+        private final ApiCallback<T> delegate;
+
+        Bound(CallScope scope, ApiCallback<T> delegate) {
+            this.scope = scope;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onSuccess(T result) {
+            if (!scope.destroyed) delegate.onSuccess(result);
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+            if (!scope.destroyed) delegate.onError(errorMessage);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.evchargingmobileapp.api;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+// Stops hammering a backend that keeps failing. After failureThreshold consecutive failures
+// (connection errors or 5xx, counted after retries) the circuit opens: for openDurationMs requests
+// fail fast, with GETs answered from the HTTP cache when possible. Then one trial request is let
+// through - success closes the circuit, failure re-opens it.
+public class CircuitBreaker implements Interceptor {
+
+    private static final String TAG = "CircuitBreaker";
+    private static final int OPEN_MAX_STALE_DAYS = 7;
+
+    private enum State { CLOSED, OPEN, HALF_OPEN }
+
+    // Monotonic milliseconds; tests swap in a manual clock
+    interface Clock {
+        long now();
+    }
+
+    private final int failureThreshold;
+    private final long openDurationMs;
+    private final Clock clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures = 0;
+    private long openedAt = 0L;
+
+    public CircuitBreaker(int failureThreshold, long openDurationMs) {
+        this(failureThreshold, openDurationMs, SystemClock::elapsedRealtime);
+    }
+
+    CircuitBreaker(int failureThreshold, long openDurationMs, Clock clock) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationMs = openDurationMs;
+        this.clock = clock;
+    }
+
+    // Thrown while the circuit is open and the HTTP cache can't answer the request either
+    public static class OpenException extends IOException {
+        OpenException() {
+            super("Server temporarily unavailable");
+        }
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        // Offline cache-only requests never reach the server, the stream manages its own reconnects
+        if (request.cacheControl().onlyIfCached() || RetryInterceptor.isEventStream(request)) {
+            return chain.proceed(request);
+        }
+
+        if (!allowRequest()) {
+            return failFast(chain, request);
+        }
+
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException e) {
+            if (chain.call().isCanceled()) {
+                onAbandoned();
+            } else {
+                onFailure();
+            }
+            throw e;
+        }
+        if (response.code() >= 500) {
+            onFailure();
+        } else {
+            onSuccess();
+        }
+        return response;
+    }
+
+    public synchronized boolean isOpen() {
+        return state == State.OPEN && clock.now() - openedAt < openDurationMs;
+    }
+
+    private synchronized boolean allowRequest() {
+        switch (state) {
+            case OPEN:
+                if (clock.now() - openedAt < openDurationMs) return false;
+                state = State.HALF_OPEN; // this caller is the trial request
+                return true;
+            case HALF_OPEN:
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    private synchronized void onSuccess() {
+        if (state != State.CLOSED) Log.d(TAG, "Backend healthy again, closing circuit");
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    private synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (state != State.OPEN) {
+                Log.w(TAG, "Opening circuit after " + consecutiveFailures + " failures");
+            }
+            state = State.OPEN;
+            openedAt = clock.now();
+        }
+    }
+
+    // A cancelled trial proved nothing - let the next request try instead
+    private synchronized void onAbandoned() {
+        if (state == State.HALF_OPEN) state = State.OPEN;
+    }
+
+    private Response failFast(Chain chain, Request request) throws IOException {
+        if ("GET".equals(request.method())) {
+            Response cached = chain.proceed(request.newBuilder()
+                    .cacheControl(new CacheControl.Builder()
+                            .onlyIfCached()
+                            .maxStale(OPEN_MAX_STALE_DAYS, TimeUnit.DAYS)
+                            .build())
+                    .build());
+            if (cached.code() != 504) {
+                return cached;
+            }
+            cached.close();
+        }
+        throw new OpenException();
+    }
+}
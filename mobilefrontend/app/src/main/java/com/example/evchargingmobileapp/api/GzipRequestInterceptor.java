@@ -0,0 +1,46 @@
+package com.example.evchargingmobileapp.api;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.Okio;
+
+// Gzips POST / PUT bodies above minBytes (batch approvals and the like). Small bodies are sent as
+// they are, compressing them costs more than it saves. The server decompresses Content-Encoding: gzip.
+public class GzipRequestInterceptor implements Interceptor {
+
+    private final long minBytes;
+
+    public GzipRequestInterceptor(long minBytes) {
+        this.minBytes = minBytes;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        RequestBody body = request.body();
+        if (body == null
+                || request.header("Content-Encoding") != null
+                || !("POST".equals(request.method()) || "PUT".equals(request.method()))
+                || body.contentLength() < minBytes) {
+            return chain.proceed(request);
+        }
+
+        // Compressed up front so the body keeps a known length and can be replayed by retries
+        Buffer compressed = new Buffer();
+        try (BufferedSink gzip = Okio.buffer(new GzipSink(compressed))) {
+            body.writeTo(gzip);
+        }
+        Request gzipped = request.newBuilder()
+                .header("Content-Encoding", "gzip")
+                .method(request.method(), RequestBody.create(compressed.readByteString(), body.contentType()))
+                .build();
+        return chain.proceed(gzipped);
+    }
+}
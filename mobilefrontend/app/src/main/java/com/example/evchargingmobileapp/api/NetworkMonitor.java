@@ -0,0 +1,159 @@
+package com.example.evchargingmobileapp.api;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+import android.net.NetworkInfo;
+import android.net.NetworkRequest;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Tracks the default network through ConnectivityManager callbacks instead of polling a snapshot on
+// every request: whether we are connected, whether the link is metered and its estimated bandwidth.
+// Fetch policies read it, and listeners hear about changes on the main thread.
+public class NetworkMonitor {
+
+    private static final String TAG = "NetworkMonitor";
+    // Below this a full catalog download is treated like a metered one (2G / very poor signal)
+    private static final int SLOW_LINK_KBPS = 150;
+
+    public interface Listener {
+        // reconnected is true when we just came back from having no network at all
+        void onNetworkChanged(NetworkMonitor monitor, boolean reconnected);
+    }
+
+    private static NetworkMonitor instance;
+
+    private final ConnectivityManager connectivityManager;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile boolean connected;
+    private volatile boolean metered;
+    private volatile int downstreamKbps;
+
+    public static synchronized NetworkMonitor getInstance(Context context) {
+        if (instance == null) {
+            instance = new NetworkMonitor(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private NetworkMonitor(Context context) {
+        connectivityManager = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        readActiveNetwork();
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+            connectivityManager.registerDefaultNetworkCallback(new ConnectivityManager.NetworkCallback() {
+                @Override
+                public void onCapabilitiesChanged(@NonNull Network network, @NonNull NetworkCapabilities capabilities) {
+                    update(true,
+                            !capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_NOT_METERED),
+                            capabilities.getLinkDownstreamBandwidthKbps());
+                }
+
+                @Override
+                public void onLost(@NonNull Network network) {
+                    update(false, metered, 0);
+                }
+            });
+        } else {
+            // No default-network callback before API 24: re-read the active network whenever any changes
+            NetworkRequest request = new NetworkRequest.Builder()
+                    .addCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET)
+                    .build();
+            connectivityManager.registerNetworkCallback(request, new ConnectivityManager.NetworkCallback() {
+                @Override
+                public void onAvailable(@NonNull Network network) {
+                    onLegacyChange();
+                }
+
+                @Override
+                public void onCapabilitiesChanged(@NonNull Network network, @NonNull NetworkCapabilities capabilities) {
+                    onLegacyChange();
+                }
+
+                @Override
+                public void onLost(@NonNull Network network) {
+                    onLegacyChange();
+                }
+            });
+        }
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    public boolean isMetered() {
+        return metered;
+    }
+
+    // Estimated by the platform, 0 when unknown
+    public int getDownstreamKbps() {
+        return downstreamKbps;
+    }
+
+    // Bulk downloads (the full station catalog) wait for an unmetered, reasonably fast link
+    public boolean allowsBulkDownloads() {
+        int kbps = downstreamKbps;
+        return connected && !metered && (kbps == 0 || kbps >= SLOW_LINK_KBPS);
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    @SuppressWarnings("deprecation")
+    private void readActiveNetwork() {
+        NetworkInfo info = connectivityManager.getActiveNetworkInfo();
+        connected = info != null && info.isConnectedOrConnecting();
+        metered = connectivityManager.isActiveNetworkMetered();
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+            Network network = connectivityManager.getActiveNetwork();
+            NetworkCapabilities capabilities = network != null ? connectivityManager.getNetworkCapabilities(network) : null;
+            downstreamKbps = capabilities != null ? capabilities.getLinkDownstreamBandwidthKbps() : 0;
+        }
+    }
+
+    private void onLegacyChange() {
+        boolean wasConnected = connected;
+        boolean wasMetered = metered;
+        readActiveNetwork();
+        notifyIfChanged(wasConnected, wasMetered);
+    }
+
+    private void update(boolean isConnected, boolean isMetered, int kbps) {
+        boolean wasConnected = connected;
+        boolean wasMetered = metered;
+        connected = isConnected;
+        metered = isMetered;
+        downstreamKbps = kbps;
+        notifyIfChanged(wasConnected, wasMetered);
+    }
+
+    // Bandwidth estimates wobble constantly, only connectivity and metering changes are announced
+    private void notifyIfChanged(boolean wasConnected, boolean wasMetered) {
+        if (wasConnected == connected && wasMetered == metered) return;
+        boolean reconnected = !wasConnected && connected;
+        Log.d(TAG, "Network " + (connected ? (metered ? "metered" : "unmetered") : "lost")
+                + (connected ? ", ~" + downstreamKbps + " kbps" : ""));
+        mainHandler.post(() -> {
+            for (Listener listener : listeners) {
+                listener.onNetworkChanged(this, reconnected);
+            }
+        });
+    }
+}
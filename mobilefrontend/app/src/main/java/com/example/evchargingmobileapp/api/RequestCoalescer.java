@@ -0,0 +1,155 @@
+package com.example.evchargingmobileapp.api;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import com.example.evchargingmobileapp.interfaces.ApiCallback;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Process-wide de-duplication of identical reads. The first caller for a key starts the request;
+// callers arriving while it is in flight join it, get the latest snapshot straight away and every
+// one after it. A successful result is memoized for memoizeMs so back-to-back screens share it.
+// All bookkeeping happens on the main thread, emitters may be fed from any thread.
+public final class RequestCoalescer {
+
+    public interface Request<T> {
+        void start(Emitter<T> emitter);
+    }
+
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private static final Map<String, Emitter<?>> inFlight = new HashMap<>();
+    private static final Map<String, Memo<?>> memos = new HashMap<>();
+    // Bumped by invalidate(); a request started under an older generation is never memoized or joined
+    private static final Map<String, Integer> generations = new HashMap<>();
+
+    private RequestCoalescer() {}
+
+    @SuppressWarnings("unchecked")
+    public static <T> void execute(String key, long memoizeMs, Request<T> request, ApiCallback<T> callback) {
+        runOnMain(() -> {
+            Memo<T> memo = (Memo<T>) memos.get(key);
+            if (memo != null && SystemClock.elapsedRealtime() < memo.expiresAt) {
+                callback.onSuccess(memo.value);
+                return;
+            }
+            memos.remove(key);
+
+            Emitter<T> running = (Emitter<T>) inFlight.get(key);
+            if (running != null) {
+                running.join(callback);
+                return;
+            }
+
+            Emitter<T> emitter = new Emitter<>(key, memoizeMs, generationOf(key));
+            emitter.join(callback);
+            inFlight.put(key, emitter);
+            request.start(emitter);
+        });
+    }
+
+    // Drop a memoized result, e.g. after a push made it stale. A request already in flight may have
+    // read the old data: its current waiters still get its result, but later callers start a fresh
+    // request instead of joining it, and its result is not memoized.
+    public static void invalidate(String key) {
+        runOnMain(() -> {
+            memos.remove(key);
+            generations.put(key, generationOf(key) + 1);
+            inFlight.remove(key);
+        });
+    }
+
+    private static int generationOf(String key) {
+        Integer generation = generations.get(key);
+        return generation != null ? generation : 0;
+    }
+
+    private static void runOnMain(Runnable action) {
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            action.run();
+        } else {
+            mainHandler.post(action);
+        }
+    }
+
+    private static final class Memo<T> {
+        final T value;
+        final long expiresAt;
+
+        Memo(T value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    // Handed to the request; next() may be called any number of times, then exactly one of
+    // complete() or fail() ends it
+    public static final class Emitter<T> {
+        private final String key;
+        private final long memoizeMs;
+        private final int generation;
+        private final List<ApiCallback<T>> waiters = new ArrayList<>();
+        private T latest;
+        private boolean finished = false;
+
+        private Emitter(String key, long memoizeMs, int generation) {
+            this.key = key;
+            this.memoizeMs = memoizeMs;
+            this.generation = generation;
+        }
+
+        private void join(ApiCallback<T> callback) {
+            waiters.add(callback);
+            if (latest != null) {
+                callback.onSuccess(latest);
+            }
+        }
+
+        public void next(T value) {
+            runOnMain(() -> {
+                if (finished) return;
+                latest = value;
+                for (ApiCallback<T> waiter : new ArrayList<>(waiters)) {
+                    waiter.onSuccess(value);
+                }
+            });
+        }
+
+        public void complete(T value) {
+            next(value);
+            complete();
+        }
+
+        // Ends the request without a new value (e.g. the snapshot already delivered is current)
+        public void complete() {
+            runOnMain(() -> {
+                if (!finish()) return;
+                if (latest != null && memoizeMs > 0 && generation == generationOf(key)) {
+                    memos.put(key, new Memo<>(latest, SystemClock.elapsedRealtime() + memoizeMs));
+                }
+            });
+        }
+
+        public void fail(String errorMessage) {
+            runOnMain(() -> {
+                if (!finish()) return;
+                for (ApiCallback<T> waiter : waiters) {
+                    waiter.onError(errorMessage);
+                }
+            });
+        }
+
+        private boolean finish() {
+            if (finished) return false;
+            finished = true;
+            if (inFlight.get(key) == this) {
+                inFlight.remove(key);
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.evchargingmobileapp.api;
+
+import android.util.Log;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+// Retries requests that are safe to repeat (GETs, and creates carrying an Idempotency-Key) when the
+// connection fails or the server answers 502/503/504. Waits use exponential backoff with full
+// jitter, so clients that failed together don't all come back at the same moment.
+public class RetryInterceptor implements Interceptor {
+
+    private static final String TAG = "RetryInterceptor";
+
+    private final int maxRetries;
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+
+    public RetryInterceptor(int maxRetries, long baseDelayMs, long maxDelayMs) {
+        this.maxRetries = maxRetries;
+        this.baseDelayMs = baseDelayMs;
+        this.maxDelayMs = maxDelayMs;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!isRetryable(request)) {
+            return chain.proceed(request);
+        }
+
+        for (int attempt = 0; ; attempt++) {
+            Response response = null;
+            IOException failure = null;
+            try {
+                response = chain.proceed(request);
+            } catch (IOException e) {
+                failure = e;
+            }
+
+            boolean transientFailure = failure != null || isTransientStatus(response.code());
+            if (!transientFailure || attempt >= maxRetries || chain.call().isCanceled()) {
+                if (failure != null) throw failure;
+                return response;
+            }
+
+            long delayMs = backoffDelay(attempt);
+            Log.d(TAG, request.method() + " " + request.url().encodedPath() + " failed ("
+                    + (failure != null ? failure.getMessage() : "HTTP " + response.code())
+                    + "), retry " + (attempt + 1) + " in " + delayMs + " ms");
+            if (response != null) response.close();
+
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Retry interrupted", e);
+            }
+            if (chain.call().isCanceled()) {
+                throw new IOException("Canceled");
+            }
+        }
+    }
+
+    // Full jitter: uniformly random in [0, min(maxDelay, base * 2^attempt)]
+    long backoffDelay(int attempt) {
+        long ceiling = Math.min(maxDelayMs, baseDelayMs << Math.min(attempt, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    static boolean isRetryable(Request request) {
+        // Cache-only requests can't get better by retrying; the availability stream reconnects itself
+        if (request.cacheControl().onlyIfCached() || isEventStream(request)) {
+            return false;
+        }
+        // The server only dedupes on the key for POST creates. A PUT or DELETE that committed before
+        // its response was lost would come back as 409 / 404 on a retry, so those pass straight through
+        return "GET".equals(request.method())
+                || ("POST".equals(request.method()) && request.header("Idempotency-Key") != null);
+    }
+
+    static boolean isEventStream(Request request) {
+        return "text/event-stream".equals(request.header("Accept"));
+    }
+
+    private static boolean isTransientStatus(int code) {
+        return code == 502 || code == 503 || code == 504;
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.evchargingmobileapp.api;
+
+import com.example.evchargingmobileapp.models.StationAvailability;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.sse.EventSource;
+import okhttp3.sse.EventSourceListener;
+import okhttp3.sse.EventSources;
+
+// Server-sent events feed of per-station slot availability. Keeps itself connected between
+// start() and stop(), reconnecting with exponential backoff and jitter whenever the stream drops.
+// Listener callbacks arrive on OkHttp's threads.
+public class StationAvailabilityStream {
+
+    public interface Listener {
+        void onAvailabilityChanged(StationAvailability availability);
+
+        // reconnected is true when an earlier connection dropped, i.e. pushes may have been missed
+        void onConnected(boolean reconnected);
+    }
+
+    static final long INITIAL_BACKOFF_MS = 1000;
+    static final long MAX_BACKOFF_MS = 60_000;
+    // The server sends a heartbeat every 15 s, so a silent connection this long is dead
+    private static final long HEARTBEAT_TIMEOUT_SECONDS = 45;
+    private static final String EVENT_AVAILABILITY = "availability";
+
+    private static final ScheduledExecutorService reconnectScheduler = Executors.newSingleThreadScheduledExecutor();
+
+    private final EventSource.Factory factory;
+    private final HttpUrl url;
+    private final Gson gson;
+    private final Listener listener;
+    private final Random jitter = new Random();
+
+    private EventSource eventSource;
+    private ScheduledFuture<?> pendingReconnect;
+    private boolean running;
+    private boolean connectedBefore;
+    private int failures;
+    private String lastEventId;
+
+    public StationAvailabilityStream(OkHttpClient client, HttpUrl url, Gson gson, Listener listener) {
+        // Shares the app's connection pool and dispatcher, only the read timeout differs
+        OkHttpClient streamClient = client.newBuilder()
+                .readTimeout(HEARTBEAT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .build();
+        this.factory = EventSources.createFactory(streamClient);
+        this.url = url;
+        this.gson = gson;
+        this.listener = listener;
+    }
+
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        connect();
+    }
+
+    public synchronized void stop() {
+        running = false;
+        if (pendingReconnect != null) {
+            pendingReconnect.cancel(false);
+            pendingReconnect = null;
+        }
+        if (eventSource != null) {
+            eventSource.cancel();
+            eventSource = null;
+        }
+    }
+
+    // The network just came back - skip whatever backoff is left and connect now
+    public synchronized void reconnectNow() {
+        if (!running || pendingReconnect == null) return;
+        pendingReconnect.cancel(false);
+        failures = 0;
+        connect();
+    }
+
+    public synchronized boolean isRunning() {
+        return running;
+    }
+
+    private synchronized void connect() {
+        pendingReconnect = null;
+        if (!running) return;
+
+        Request.Builder request = new Request.Builder()
+                .url(url)
+                .header("Accept", "text/event-stream");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        eventSource = factory.newEventSource(request.build(), new StreamListener());
+    }
+
+    private synchronized void scheduleReconnect(EventSource source) {
+        // Ignore callbacks from a source that stop() or a newer connection already replaced
+        if (!running || source != eventSource) return;
+        eventSource = null;
+        long delay = backoffDelayMs(failures++);
+        pendingReconnect = reconnectScheduler.schedule(this::connect, delay, TimeUnit.MILLISECONDS);
+    }
+
+    // Exponential backoff capped at MAX_BACKOFF_MS; half of each delay is random so a server
+    // restart isn't followed by every client reconnecting in the same instant
+    long backoffDelayMs(int attempt) {
+        long ceiling = Math.min(MAX_BACKOFF_MS, INITIAL_BACKOFF_MS << Math.min(attempt, 16));
+        long half = ceiling / 2;
+        return half + (long) (jitter.nextDouble() * half);
+    }
+
+    private synchronized boolean isCurrent(EventSource source) {
+        return source == eventSource;
+    }
+
+    private class StreamListener extends EventSourceListener {
+        @Override
+        public void onOpen(EventSource source, Response response) {
+            boolean reconnected;
+            synchronized (StationAvailabilityStream.this) {
+                if (source != eventSource) return;
+                failures = 0;
+                reconnected = connectedBefore;
+                connectedBefore = true;
+            }
+            listener.onConnected(reconnected);
+        }
+
+        @Override
+        public void onEvent(EventSource source, String id, String type, String data) {
+            if (!isCurrent(source)) return;
+            if (id != null) {
+                synchronized (StationAvailabilityStream.this) {
+                    lastEventId = id;
+                }
+            }
+            if (!EVENT_AVAILABILITY.equals(type)) return;
+
+            StationAvailability availability;
+            try {
+                availability = gson.fromJson(data, StationAvailability.class);
+            } catch (JsonParseException e) {
+                return; // a malformed push is dropped, the next delta sync will catch up
+            }
+            if (availability != null && availability.getStationId() != null) {
+                listener.onAvailabilityChanged(availability);
+            }
+        }
+
+        @Override
+        public void onClosed(EventSource source) {
+            scheduleReconnect(source);
+        }
+
+        @Override
+        public void onFailure(EventSource source, Throwable t, Response response) {
+            scheduleReconnect(source);
+        }
+    }
+}
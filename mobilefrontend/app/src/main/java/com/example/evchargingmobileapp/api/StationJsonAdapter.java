@@ -0,0 +1,176 @@
+package com.example.evchargingmobileapp.api;
+
+import com.example.evchargingmobileapp.models.Station;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// Streaming (token by token) Station binding - no reflection and no intermediate LinkedTreeMaps.
+// Accepts both the ChargingStation shape (nested location / operatingHours objects, enum type)
+// and the older flat shape (string location, top-level or "coordinates" lat/lng).
+public class StationJsonAdapter extends TypeAdapter<Station> {
+
+    public interface BatchListener {
+        // Receives a snapshot of everything parsed so far
+        void onBatch(List<Station> stationsSoFar);
+    }
+
+    private static final String[] STATION_TYPES = {"AC", "DC"};
+
+    // Parse a JSON array of stations straight off the wire, reporting progress every batchSize items
+    public List<Station> readList(Reader source, int batchSize, BatchListener listener) throws IOException {
+        List<Station> stations = new ArrayList<>();
+        JsonReader reader = new JsonReader(source);
+        try {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                stations.add(read(reader));
+                if (listener != null && stations.size() % batchSize == 0) {
+                    listener.onBatch(new ArrayList<>(stations));
+                }
+            }
+            reader.endArray();
+        } finally {
+            reader.close();
+        }
+        return stations;
+    }
+
+    @Override
+    public Station read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        Station station = new Station();
+        in.beginObject();
+        while (in.hasNext()) {
+            String field = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (field) {
+                case "id": station.setId(in.nextString()); break;
+                case "name": station.setName(in.nextString()); break;
+                case "type": station.setType(readType(in)); break;
+                case "availableSlots": station.setAvailableSlots(in.nextInt()); break;
+                case "totalSlots": station.setTotalSlots(in.nextInt()); break;
+                case "latitude": station.setLatitude(in.nextDouble()); break;
+                case "longitude": station.setLongitude(in.nextDouble()); break;
+                case "isActive": station.setActive(in.nextBoolean()); break;
+                case "rating": station.setRating(in.nextDouble()); break;
+                case "reviewsCount": station.setReviewsCount(in.nextInt()); break;
+                case "pricePerHour": station.setPricePerHour(in.nextString()); break;
+                case "location": readLocation(in, station); break;
+                case "coordinates": readCoordinates(in, station); break;
+                case "operatingHours": readOperatingHours(in, station); break;
+                default: in.skipValue(); break;
+            }
+        }
+        in.endObject();
+        return station;
+    }
+
+    // StationType is serialized as its enum ordinal (0 = AC, 1 = DC) unless configured otherwise
+    private String readType(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NUMBER) {
+            int ordinal = in.nextInt();
+            return ordinal >= 0 && ordinal < STATION_TYPES.length ? STATION_TYPES[ordinal] : null;
+        }
+        return in.nextString();
+    }
+
+    private void readLocation(JsonReader in, Station station) throws IOException {
+        if (in.peek() == JsonToken.STRING) {
+            station.setLocation(in.nextString());
+            return;
+        }
+        in.beginObject();
+        while (in.hasNext()) {
+            String field = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (field) {
+                case "address": station.setAddress(in.nextString()); break;
+                case "city": station.setCity(in.nextString()); break;
+                case "district": station.setDistrict(in.nextString()); break;
+                case "latitude": station.setLatitude(in.nextDouble()); break;
+                case "longitude": station.setLongitude(in.nextDouble()); break;
+                default: in.skipValue(); break;
+            }
+        }
+        in.endObject();
+    }
+
+    private void readCoordinates(JsonReader in, Station station) throws IOException {
+        in.beginObject();
+        while (in.hasNext()) {
+            String field = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (field) {
+                case "latitude": station.setLatitude(in.nextDouble()); break;
+                case "longitude": station.setLongitude(in.nextDouble()); break;
+                default: in.skipValue(); break;
+            }
+        }
+        in.endObject();
+    }
+
+    private void readOperatingHours(JsonReader in, Station station) throws IOException {
+        if (in.peek() == JsonToken.STRING) {
+            station.setOperatingHours(in.nextString());
+            return;
+        }
+        in.beginObject();
+        while (in.hasNext()) {
+            String field = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (field) {
+                case "openTime": station.setOpenTime(in.nextString()); break;
+                case "closeTime": station.setCloseTime(in.nextString()); break;
+                case "isOpen24Hours": station.setOpen24Hours(in.nextBoolean()); break;
+                default: in.skipValue(); break;
+            }
+        }
+        in.endObject();
+    }
+
+    @Override
+    public void write(JsonWriter out, Station station) throws IOException {
+        if (station == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("id").value(station.getId());
+        out.name("name").value(station.getName());
+        out.name("location").value(station.getLocation());
+        out.name("type").value(station.getType());
+        out.name("availableSlots").value(station.getAvailableSlots());
+        out.name("totalSlots").value(station.getTotalSlots());
+        out.name("latitude").value(station.getLatitude());
+        out.name("longitude").value(station.getLongitude());
+        out.name("isActive").value(station.isActive());
+        out.name("operatingHours").value(station.getOperatingHours());
+        out.name("pricePerHour").value(station.getPricePerHour());
+        out.name("rating").value(station.getRating());
+        out.name("reviewsCount").value(station.getReviewsCount());
+        out.endObject();
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.evchargingmobileapp.api;
+
+import android.util.Log;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+import okio.Source;
+
+// Byte counts for everything the app sends and receives: what actually crossed the network
+// (compressed, counted by a network interceptor) versus the JSON the app worked with (decoded,
+// counted by an application interceptor). The ratio shows what compression is saving.
+public final class TransferMetrics {
+
+    private static final String TAG = "TransferMetrics";
+
+    private static final AtomicLong wireBytesReceived = new AtomicLong();
+    private static final AtomicLong decodedBytesReceived = new AtomicLong();
+    private static final AtomicLong wireBytesSent = new AtomicLong();
+    private static final AtomicLong rawBytesSent = new AtomicLong();
+
+    private TransferMetrics() {}
+
+    public static long getWireBytesReceived() {
+        return wireBytesReceived.get();
+    }
+
+    public static long getDecodedBytesReceived() {
+        return decodedBytesReceived.get();
+    }
+
+    public static long getWireBytesSent() {
+        return wireBytesSent.get();
+    }
+
+    public static long getRawBytesSent() {
+        return rawBytesSent.get();
+    }
+
+    // Decoded / wire bytes received, 1.0 when nothing was compressed (or nothing received yet)
+    public static double getReceiveCompressionRatio() {
+        long wire = wireBytesReceived.get();
+        return wire > 0 ? (double) decodedBytesReceived.get() / wire : 1.0;
+    }
+
+    public static String summary() {
+        return String.format(Locale.US, "received %d B (%d B decoded, %.1fx), sent %d B (%d B raw)",
+                wireBytesReceived.get(), decodedBytesReceived.get(), getReceiveCompressionRatio(),
+                wireBytesSent.get(), rawBytesSent.get());
+    }
+
+    // Add with addNetworkInterceptor: sees compressed bodies exactly as they travel
+    public static Interceptor wireInterceptor() {
+        return chain -> count(chain, wireBytesSent, wireBytesReceived, false);
+    }
+
+    // Add as an application interceptor outside the compression interceptors: sees plain bodies.
+    // Only exchanges that went to the network count - see count()
+    public static Interceptor decodedInterceptor() {
+        return chain -> count(chain, rawBytesSent, decodedBytesReceived, true);
+    }
+
+    private static Response count(Interceptor.Chain chain, AtomicLong sent, AtomicLong received,
+                                  boolean decoded) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+        // Above the cache, a cache hit or a 304-revalidated body never crossed the wire; counting it
+        // as decoded would inflate the ratio against wire bytes that were never received
+        if (decoded && (response.networkResponse() == null || response.cacheResponse() != null)) {
+            return response;
+        }
+
+        if (request.body() != null) {
+            long length = request.body().contentLength();
+            if (length > 0) sent.addAndGet(length);
+        }
+        ResponseBody body = response.body();
+        if (body == null) return response;
+
+        String label = decoded ? request.method() + " " + request.url().encodedPath() : null;
+        return response.newBuilder()
+                .body(new CountingBody(body, received, label))
+                .build();
+    }
+
+    private static final class CountingBody extends ResponseBody {
+        private final ResponseBody delegate;
+        private final BufferedSource source;
+
+        CountingBody(ResponseBody delegate, AtomicLong counter, String label) {
+            this.delegate = delegate;
+            this.source = Okio.buffer(new CountingSource(delegate.source(), counter, label));
+        }
+
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return delegate.contentLength();
+        }
+
+        @Override
+        public BufferedSource source() {
+            return source;
+        }
+    }
+
+    private static final class CountingSource extends ForwardingSource {
+        private final AtomicLong counter;
+        private final String label;
+        private long bytes;
+
+        CountingSource(Source delegate, AtomicLong counter, String label) {
+            super(delegate);
+            this.counter = counter;
+            this.label = label;
+        }
+
+        @Override
+        public long read(Buffer sink, long byteCount) throws IOException {
+            long read = super.read(sink, byteCount);
+            if (read > 0) {
+                bytes += read;
+                counter.addAndGet(read);
+            } else if (read == -1 && label != null) {
+                Log.d(TAG, label + ": " + bytes + " B decoded; total " + summary());
+            }
+            return read;
+        }
+    }
+}
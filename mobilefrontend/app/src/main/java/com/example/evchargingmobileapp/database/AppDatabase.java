@@ -0,0 +1,132 @@
+package com.example.evchargingmobileapp.database;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.room.Database;
+import androidx.room.Room;
+import androidx.room.RoomDatabase;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+@Database(entities = {
+        UserEntity.class,
+        BookingEntity.class,
+        StationEntity.class,
+        SyncStateEntity.class,
+        BookingOutboxEntity.class
+}, version = 5, exportSchema = false)
+public abstract class AppDatabase extends RoomDatabase {
+    // Same file the SQLiteOpenHelper used, so existing installs migrate in place
+    private static final String DATABASE_NAME = "EVChargingDB";
+
+    public abstract UserDao userDao();
+
+    public abstract BookingDao bookingDao();
+
+    public abstract StationDao stationDao();
+
+    public abstract SyncStateDao syncStateDao();
+
+    public abstract BookingOutboxDao bookingOutboxDao();
+
+    static AppDatabase create(Context context) {
+        return create(context, DATABASE_NAME);
+    }
+
+    static AppDatabase create(Context context, String name) {
+        return Room.databaseBuilder(context, AppDatabase.class, name)
+                .addMigrations(MIGRATION_1_2, MIGRATION_2_3, MIGRATION_3_4, MIGRATION_4_5)
+                // Readers (screens, the sync worker) don't wait on a sync writing a page of rows, and a
+                // commit is one WAL append instead of a rollback-journal rewrite. Room would skip WAL on
+                // low-RAM devices, where the catalog syncs are the slowest
+                .setJournalMode(JournalMode.WRITE_AHEAD_LOGGING)
+                .build();
+    }
+
+    // v2 only adds the station cache, so keep locally stored users and bookings
+    static final Migration MIGRATION_1_2 = new Migration(1, 2) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE stations (id TEXT PRIMARY KEY, name TEXT, location TEXT, type TEXT, "
+                    + "available_slots INTEGER, total_slots INTEGER, latitude REAL, longitude REAL, is_active INTEGER, "
+                    + "operating_hours TEXT, price_per_hour TEXT, rating REAL, reviews_count INTEGER)");
+            db.execSQL("CREATE TABLE sync_state (sync_key TEXT PRIMARY KEY, sync_value TEXT)");
+        }
+    };
+
+    // v3 adds the booking outbox and the columns needed to cache server bookings locally
+    static final Migration MIGRATION_2_3 = new Migration(2, 3) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE bookings ADD COLUMN is_completed INTEGER DEFAULT 0");
+            db.execSQL("ALTER TABLE bookings ADD COLUMN updated_at TEXT");
+            db.execSQL("CREATE TABLE booking_outbox (seq INTEGER PRIMARY KEY AUTOINCREMENT, op TEXT NOT NULL, "
+                    + "booking_id TEXT NOT NULL, payload TEXT, idempotency_key TEXT NOT NULL UNIQUE, "
+                    + "base_updated_at TEXT, attempts INTEGER DEFAULT 0, last_error TEXT)");
+            db.execSQL("CREATE INDEX idx_outbox_booking ON booking_outbox(booking_id)");
+        }
+    };
+
+    // v4 moves to Room: every table is rebuilt with the schema the entities declare (NOT NULL keys
+    // and counters) and the booking indexes, copying the rows across - nothing cached is lost
+    static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE users_new (nic TEXT NOT NULL, name TEXT, email TEXT, password TEXT, "
+                    + "role TEXT, is_active INTEGER NOT NULL, created_at TEXT, PRIMARY KEY(nic))");
+            db.execSQL("INSERT INTO users_new SELECT nic, name, email, password, role, IFNULL(is_active, 0), created_at "
+                    + "FROM users WHERE nic IS NOT NULL");
+            replaceTable(db, "users");
+
+            db.execSQL("CREATE TABLE bookings_new (id TEXT NOT NULL, user_id TEXT, station_id TEXT, station_name TEXT, "
+                    + "booking_date TEXT, start_time TEXT, end_time TEXT, status TEXT, vehicle_type TEXT, "
+                    + "total_cost REAL NOT NULL, qr_code TEXT, is_completed INTEGER NOT NULL, updated_at TEXT, "
+                    + "PRIMARY KEY(id))");
+            db.execSQL("INSERT INTO bookings_new SELECT id, user_id, station_id, station_name, booking_date, start_time, "
+                    + "end_time, status, vehicle_type, IFNULL(total_cost, 0), qr_code, IFNULL(is_completed, 0), updated_at "
+                    + "FROM bookings WHERE id IS NOT NULL");
+            replaceTable(db, "bookings");
+            db.execSQL("CREATE INDEX index_bookings_user_id_booking_date ON bookings(user_id, booking_date)");
+            db.execSQL("CREATE INDEX index_bookings_user_id_is_completed_start_time ON bookings(user_id, is_completed, start_time)");
+            db.execSQL("CREATE INDEX index_bookings_status ON bookings(status)");
+
+            db.execSQL("CREATE TABLE stations_new (id TEXT NOT NULL, name TEXT, location TEXT, type TEXT, "
+                    + "available_slots INTEGER NOT NULL, total_slots INTEGER NOT NULL, latitude REAL NOT NULL, "
+                    + "longitude REAL NOT NULL, is_active INTEGER NOT NULL, operating_hours TEXT, price_per_hour TEXT, "
+                    + "rating REAL NOT NULL, reviews_count INTEGER NOT NULL, PRIMARY KEY(id))");
+            db.execSQL("INSERT INTO stations_new SELECT id, name, location, type, IFNULL(available_slots, 0), "
+                    + "IFNULL(total_slots, 0), IFNULL(latitude, 0), IFNULL(longitude, 0), IFNULL(is_active, 0), "
+                    + "operating_hours, price_per_hour, IFNULL(rating, 0), IFNULL(reviews_count, 0) "
+                    + "FROM stations WHERE id IS NOT NULL");
+            replaceTable(db, "stations");
+
+            db.execSQL("CREATE TABLE sync_state_new (sync_key TEXT NOT NULL, sync_value TEXT, PRIMARY KEY(sync_key))");
+            db.execSQL("INSERT INTO sync_state_new SELECT sync_key, sync_value FROM sync_state WHERE sync_key IS NOT NULL");
+            replaceTable(db, "sync_state");
+
+            db.execSQL("CREATE TABLE booking_outbox_new (seq INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, op TEXT NOT NULL, "
+                    + "booking_id TEXT NOT NULL, payload TEXT, idempotency_key TEXT NOT NULL, base_updated_at TEXT, "
+                    + "attempts INTEGER NOT NULL, last_error TEXT)");
+            db.execSQL("INSERT INTO booking_outbox_new SELECT seq, op, booking_id, payload, idempotency_key, "
+                    + "base_updated_at, IFNULL(attempts, 0), last_error FROM booking_outbox");
+            replaceTable(db, "booking_outbox");
+            db.execSQL("CREATE INDEX index_booking_outbox_booking_id ON booking_outbox(booking_id)");
+            db.execSQL("CREATE UNIQUE INDEX index_booking_outbox_idempotency_key ON booking_outbox(idempotency_key)");
+        }
+    };
+
+    // v5 marks outbox entries the sync worker has started sending
+    static final Migration MIGRATION_4_5 = new Migration(4, 5) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE booking_outbox ADD COLUMN claimed INTEGER NOT NULL DEFAULT 0");
+        }
+    };
+
+    // Indexes go with the dropped table, callers recreate the ones the entity declares
+    private static void replaceTable(SupportSQLiteDatabase db, String table) {
+        db.execSQL("DROP TABLE " + table);
+        db.execSQL("ALTER TABLE " + table + "_new RENAME TO " + table);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.evchargingmobileapp.database;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import java.util.List;
+
+@Dao
+public interface BookingDao {
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void upsert(BookingEntity booking);
+
+    // One prepared statement reused for every row; call inside a transaction for a single commit
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void upsertAll(List<BookingEntity> bookings);
+
+    @Query("SELECT * FROM bookings WHERE id = :id")
+    BookingEntity getBooking(String id);
+
+    @Query("SELECT * FROM bookings WHERE user_id = :userId ORDER BY booking_date DESC")
+    List<BookingEntity> getUserBookings(String userId);
+
+    // One page of the cached history for the upcoming / past tab, used while offline
+    @Query("SELECT * FROM bookings WHERE user_id = :userId AND is_completed = :completed "
+            + "ORDER BY start_time ASC LIMIT :limit OFFSET :offset")
+    List<BookingEntity> getUserBookingsPageOldestFirst(String userId, boolean completed, int limit, int offset);
+
+    @Query("SELECT * FROM bookings WHERE user_id = :userId AND is_completed = :completed "
+            + "ORDER BY start_time DESC LIMIT :limit OFFSET :offset")
+    List<BookingEntity> getUserBookingsPageNewestFirst(String userId, boolean completed, int limit, int offset);
+
+    // Cached rows that still have changes waiting in the outbox - the local copy wins over the server's
+    @Query("SELECT * FROM bookings WHERE user_id = :userId AND id IN (SELECT booking_id FROM booking_outbox)")
+    List<BookingEntity> getUserBookingsWithPendingOperations(String userId);
+
+    @Query("UPDATE bookings SET station_id = :stationId, station_name = :stationName, booking_date = :bookingDate, "
+            + "start_time = :startTime, end_time = :endTime, status = :status, vehicle_type = :vehicleType, "
+            + "total_cost = :totalCost, qr_code = :qrCode, is_completed = :completed WHERE id = :id")
+    void update(String id, String stationId, String stationName, String bookingDate, String startTime,
+                String endTime, String status, String vehicleType, double totalCost, String qrCode,
+                boolean completed);
+
+    @Query("DELETE FROM bookings WHERE id = :id")
+    void delete(String id);
+
+    @Query("DELETE FROM bookings WHERE user_id = :userId AND id NOT IN (SELECT booking_id FROM booking_outbox)")
+    void deleteUserBookingsWithoutPendingOperations(String userId);
+
+    @Query("UPDATE bookings SET id = :serverId WHERE id = :localId")
+    void changeId(String localId, String serverId);
+}
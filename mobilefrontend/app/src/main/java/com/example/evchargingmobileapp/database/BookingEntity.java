@@ -0,0 +1,96 @@
+package com.example.evchargingmobileapp.database;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+import com.example.evchargingmobileapp.models.Booking;
+
+// (user_id, booking_date) serves the full history, (user_id, is_completed, start_time) the paged
+// upcoming / past tabs and status the per-status counts - all index range scans, no table sorts
+@Entity(tableName = "bookings",
+        indices = {
+                @Index(value = {"user_id", "booking_date"}),
+                @Index(value = {"user_id", "is_completed", "start_time"}),
+                @Index(value = {"status"})
+        })
+public class BookingEntity {
+    @PrimaryKey
+    @NonNull
+    @ColumnInfo(name = "id")
+    public String id = "";
+
+    @ColumnInfo(name = "user_id")
+    public String userId;
+
+    @ColumnInfo(name = "station_id")
+    public String stationId;
+
+    @ColumnInfo(name = "station_name")
+    public String stationName;
+
+    @ColumnInfo(name = "booking_date")
+    public String bookingDate;
+
+    @ColumnInfo(name = "start_time")
+    public String startTime;
+
+    @ColumnInfo(name = "end_time")
+    public String endTime;
+
+    @ColumnInfo(name = "status")
+    public String status;
+
+    @ColumnInfo(name = "vehicle_type")
+    public String vehicleType;
+
+    @ColumnInfo(name = "total_cost")
+    public double totalCost;
+
+    @ColumnInfo(name = "qr_code")
+    public String qrCode;
+
+    @ColumnInfo(name = "is_completed")
+    public boolean isCompleted;
+
+    @ColumnInfo(name = "updated_at")
+    public String updatedAt;
+
+    static BookingEntity from(Booking booking) {
+        BookingEntity entity = new BookingEntity();
+        entity.id = booking.getId();
+        entity.userId = booking.getUserId();
+        entity.stationId = booking.getStationId();
+        entity.stationName = booking.getStationName();
+        entity.bookingDate = booking.getBookingDate();
+        entity.startTime = booking.getStartTime();
+        entity.endTime = booking.getEndTime();
+        entity.status = booking.getStatus();
+        entity.vehicleType = booking.getVehicleType();
+        entity.totalCost = booking.getTotalCost();
+        entity.qrCode = booking.getQrCodeData();
+        entity.isCompleted = booking.isCompleted();
+        entity.updatedAt = booking.getUpdatedAt();
+        return entity;
+    }
+
+    Booking toBooking() {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setUserId(userId);
+        booking.setStationId(stationId);
+        booking.setStationName(stationName);
+        booking.setBookingDate(bookingDate);
+        booking.setStartTime(startTime);
+        booking.setEndTime(endTime);
+        booking.setStatus(status);
+        booking.setVehicleType(vehicleType);
+        booking.setTotalCost(totalCost);
+        booking.setQrCodeData(qrCode);
+        booking.setCompleted(isCompleted);
+        booking.setUpdatedAt(updatedAt);
+        return booking;
+    }
+}
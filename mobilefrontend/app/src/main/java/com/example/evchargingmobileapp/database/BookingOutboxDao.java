@@ -0,0 +1,55 @@
+package com.example.evchargingmobileapp.database;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import java.util.List;
+
+@Dao
+public interface BookingOutboxDao {
+    // A reused idempotency key is a bug, so it throws rather than being ignored
+    @Insert(onConflict = OnConflictStrategy.ABORT)
+    long insert(BookingOutboxEntity entry);
+
+    @Query("SELECT seq FROM booking_outbox WHERE booking_id = :bookingId AND op = :op AND claimed = 0 "
+            + "ORDER BY seq ASC LIMIT 1")
+    Long findUnclaimedEntry(String bookingId, String op);
+
+    @Query("SELECT * FROM booking_outbox ORDER BY seq ASC LIMIT 1")
+    BookingOutboxEntity getNext();
+
+    @Query("SELECT COUNT(*) FROM booking_outbox")
+    long count();
+
+    @Query("SELECT COUNT(*) FROM booking_outbox WHERE booking_id = :bookingId")
+    long countForBooking(String bookingId);
+
+    @Query("SELECT DISTINCT booking_id FROM booking_outbox")
+    List<String> getPendingBookingIds();
+
+    @Query("UPDATE booking_outbox SET claimed = 1 WHERE seq = :seq")
+    void claim(long seq);
+
+    @Query("UPDATE booking_outbox SET payload = :payload WHERE seq = :seq")
+    void setPayload(long seq, String payload);
+
+    @Query("UPDATE booking_outbox SET base_updated_at = :baseUpdatedAt WHERE seq = :seq")
+    void setBase(long seq, String baseUpdatedAt);
+
+    @Query("UPDATE booking_outbox SET attempts = attempts + 1, last_error = :error WHERE seq = :seq")
+    void recordFailure(long seq, String error);
+
+    @Query("UPDATE booking_outbox SET booking_id = :serverId WHERE booking_id = :localId")
+    void changeBookingId(String localId, String serverId);
+
+    @Query("DELETE FROM booking_outbox WHERE seq = :seq")
+    void delete(long seq);
+
+    @Query("DELETE FROM booking_outbox WHERE booking_id = :bookingId")
+    void deleteForBooking(String bookingId);
+
+    @Query("DELETE FROM booking_outbox WHERE booking_id = :bookingId AND op = :op AND claimed = 0")
+    void deleteUnclaimed(String bookingId, String op);
+}
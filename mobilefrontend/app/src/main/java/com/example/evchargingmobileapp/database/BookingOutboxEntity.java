@@ -0,0 +1,48 @@
+package com.example.evchargingmobileapp.database;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+// Offline create/update/cancel, replayed in seq order by BookingSyncWorker
+@Entity(tableName = "booking_outbox",
+        indices = {
+                @Index(value = {"booking_id"}),
+                @Index(value = {"idempotency_key"}, unique = true)
+        })
+public class BookingOutboxEntity {
+    @PrimaryKey(autoGenerate = true)
+    @ColumnInfo(name = "seq")
+    public long seq;
+
+    @NonNull
+    @ColumnInfo(name = "op")
+    public String op = "";
+
+    @NonNull
+    @ColumnInfo(name = "booking_id")
+    public String bookingId = "";
+
+    @ColumnInfo(name = "payload")
+    public String payload;
+
+    @NonNull
+    @ColumnInfo(name = "idempotency_key")
+    public String idempotencyKey = "";
+
+    @ColumnInfo(name = "base_updated_at")
+    public String baseUpdatedAt;
+
+    @ColumnInfo(name = "attempts")
+    public int attempts;
+
+    @ColumnInfo(name = "last_error")
+    public String lastError;
+
+    // Set once the sync worker has picked the entry up. Its payload may already be on the server,
+    // so later changes to the booking are queued behind it instead of rewriting it
+    @ColumnInfo(name = "claimed", defaultValue = "0")
+    public boolean claimed;
+}
@@ -0,0 +1,25 @@
+package com.example.evchargingmobileapp.database;
+
+import com.example.evchargingmobileapp.models.Booking;
+
+// One queued booking operation, replayed by BookingSyncWorker
+public class BookingOutboxEntry {
+    public final long seq;
+    public final String op;
+    public final String bookingId;
+    public final Booking booking; // null for cancels
+    public final String idempotencyKey;
+    public final String baseUpdatedAt;
+    public final int attempts;
+
+    public BookingOutboxEntry(long seq, String op, String bookingId, Booking booking,
+                              String idempotencyKey, String baseUpdatedAt, int attempts) {
+        this.seq = seq;
+        this.op = op;
+        this.bookingId = bookingId;
+        this.booking = booking;
+        this.idempotencyKey = idempotencyKey;
+        this.baseUpdatedAt = baseUpdatedAt;
+        this.attempts = attempts;
+    }
+}
@@ -1,23 +1,111 @@
 package com.example.evchargingmobileapp.database;
 
 import android.content.Context;
-import android.database.Cursor;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import com.example.evchargingmobileapp.api.ApiClient;
+import com.example.evchargingmobileapp.interfaces.ApiCallback;
 import com.example.evchargingmobileapp.models.User;
 import com.example.evchargingmobileapp.models.Booking;
+import com.example.evchargingmobileapp.models.BookingsPage;
+import com.example.evchargingmobileapp.models.DashboardStats;
+import com.example.evchargingmobileapp.models.Station;
+import com.example.evchargingmobileapp.models.StationAvailability;
+import com.example.evchargingmobileapp.models.StationChanges;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class DatabaseManager {
-    private DatabaseHelper dbHelper;
+    private static final String TAG = "DatabaseManager";
+    private static final String SYNC_STATIONS_AT = "stations_synced_at";
+    private static final String SYNC_STATIONS_ETAG = "stations_etag";
+    private static final String SYNC_STATIONS_CURSOR = "stations_cursor";
+    private static final String SYNC_BOOKINGS_ERROR = "bookings_sync_error";
+    private static final String SYNC_PENDING_FIRST_PAGE = "pending_bookings_first_page";
+    private static final String SYNC_STATS_PREFIX = "dashboard_stats_";
+    private static final String SYNC_STATS_AT_PREFIX = "dashboard_stats_at_";
 
-    public DatabaseManager(Context context) {
-        dbHelper = new DatabaseHelper(context);
+    public static final String OP_CREATE = "create";
+    public static final String OP_UPDATE = "update";
+    public static final String OP_CANCEL = "cancel";
+
+    private final AppDatabase db;
+    private final UserDao userDao;
+    private final BookingDao bookingDao;
+    private final StationDao stationDao;
+    private final SyncStateDao syncStateDao;
+    private final BookingOutboxDao outboxDao;
+
+    // All disk access goes through this one thread. The UI thread never waits on SQLite, and writes
+    // run in the order they were issued (a cache write lands before the read queued after it)
+    private static final ExecutorService ioExecutor = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "database-io"));
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private static DatabaseManager instance;
+
+    // A single Room database (and so a single connection pool) shared by the whole app
+    public static synchronized DatabaseManager getInstance(Context context) {
+        if (instance == null) {
+            instance = new DatabaseManager(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private DatabaseManager(Context context) {
+        this(AppDatabase.create(context));
+    }
+
+    DatabaseManager(AppDatabase db) {
+        this.db = db;
+        userDao = db.userDao();
+        bookingDao = db.bookingDao();
+        stationDao = db.stationDao();
+        syncStateDao = db.syncStateDao();
+        outboxDao = db.bookingOutboxDao();
+    }
+
+    // The executor the synchronous methods below must be called on (or any other background thread)
+    public Executor getIoExecutor() {
+        return ioExecutor;
+    }
+
+    // Runs work on the I/O thread and delivers its result to callback on the main thread. The Future
+    // cancels work that hasn't started yet
+    public <T> Future<?> runAsync(Callable<T> work, ApiCallback<T> callback) {
+        return ioExecutor.submit(() -> {
+            T result;
+            try {
+                result = work.call();
+            } catch (Exception e) {
+                Log.e(TAG, "Local database operation failed", e);
+                mainHandler.post(() -> callback.onError("Could not access data on this device"));
+                return;
+            }
+            mainHandler.post(() -> callback.onSuccess(result));
+        });
+    }
+
+    public Future<?> getUserAsync(String nic, ApiCallback<User> callback) {
+        return runAsync(() -> getUser(nic), callback);
+    }
+
+    public Future<?> addUserAsync(User user, ApiCallback<Boolean> callback) {
+        return runAsync(() -> addUser(user), callback);
     }
 
     // User Operations
     public boolean addUser(User user) {
         try {
-            dbHelper.addUser(user);
+            userDao.insert(UserEntity.from(user));
             return true;
         } catch (Exception e) {
             e.printStackTrace();
@@ -25,14 +113,23 @@ public class DatabaseManager {
         }
     }
 
+    public void updateUser(User user) {
+        try {
+            userDao.updateProfile(user.getNic(), user.getName(), user.getEmail(), user.getPassword());
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
     public User getUser(String nic) {
-        return dbHelper.getUser(nic);
+        UserEntity user = userDao.getUser(nic);
+        return user != null ? user.toUser() : null;
     }
 
     // Booking Operations
     public boolean addBooking(Booking booking) {
         try {
-            dbHelper.addBooking(booking);
+            bookingDao.upsert(BookingEntity.from(booking));
             return true;
         } catch (Exception e) {
             e.printStackTrace();
@@ -41,37 +138,353 @@ public class DatabaseManager {
     }
 
     public List<Booking> getUserBookings(String userId) {
-        List<Booking> bookings = new ArrayList<>();
-        Cursor cursor = dbHelper.getUserBookings(userId);
-
-        if (cursor != null && cursor.moveToFirst()) {
-            do {
-                Booking booking = new Booking();
-                booking.setId(cursor.getString(0));
-                booking.setUserId(cursor.getString(1));
-                booking.setStationId(cursor.getString(2));
-                booking.setStationName(cursor.getString(3));
-                booking.setBookingDate(cursor.getString(4));
-                booking.setStartTime(cursor.getString(5));
-                booking.setEndTime(cursor.getString(6));
-                booking.setStatus(cursor.getString(7));
-                booking.setVehicleType(cursor.getString(8));
-                booking.setTotalCost(cursor.getDouble(9));
-                booking.setQrCodeData(cursor.getString(10));
-
-                bookings.add(booking);
-            } while (cursor.moveToNext());
-            cursor.close();
+        return toBookings(bookingDao.getUserBookings(userId));
+    }
+
+    public Booking getBooking(String id) {
+        BookingEntity booking = bookingDao.getBooking(id);
+        return booking != null ? booking.toBooking() : null;
+    }
+
+    public List<Booking> getUserBookingsPage(String userId, boolean completed, boolean newestFirst, int limit, int offset) {
+        return toBookings(newestFirst
+                ? bookingDao.getUserBookingsPageNewestFirst(userId, completed, limit, offset)
+                : bookingDao.getUserBookingsPageOldestFirst(userId, completed, limit, offset));
+    }
+
+    public List<Booking> getUserBookingsWithPendingOperations(String userId) {
+        return toBookings(bookingDao.getUserBookingsWithPendingOperations(userId));
+    }
+
+    private static List<Booking> toBookings(List<BookingEntity> entities) {
+        List<Booking> bookings = new ArrayList<>(entities.size());
+        for (BookingEntity entity : entities) {
+            bookings.add(entity.toBooking());
         }
         return bookings;
     }
 
-    // Add method
     public void updateBooking(Booking booking) {
         try {
-            dbHelper.updateBooking(booking);  // Implement in DatabaseHelper: UPDATE bookings SET ... WHERE id=?
+            bookingDao.update(booking.getId(), booking.getStationId(), booking.getStationName(),
+                    booking.getBookingDate(), booking.getStartTime(), booking.getEndTime(), booking.getStatus(),
+                    booking.getVehicleType(), booking.getTotalCost(), booking.getQrCodeData(), booking.isCompleted());
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    public void deleteBooking(String id) {
+        try {
+            bookingDao.delete(id);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    public boolean mergeBookings(List<Booking> bookings) {
+        try {
+            // Upsert a page of server bookings without touching rows that have unsynced local changes
+            db.runInTransaction(() -> upsertSyncedBookings(bookings));
+            return true;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    public boolean cacheUserBookings(String userId, List<Booking> bookings) {
+        try {
+            // Rows with an outbox entry still pending are left alone, so local changes keep
+            // showing until they've been synced
+            db.runInTransaction(() -> {
+                bookingDao.deleteUserBookingsWithoutPendingOperations(userId);
+                upsertSyncedBookings(bookings);
+            });
+            return true;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    // Whole page in one statement batch: the outbox is read once up front rather than per row
+    private void upsertSyncedBookings(List<Booking> bookings) {
+        Set<String> pendingIds = new HashSet<>(outboxDao.getPendingBookingIds());
+        List<BookingEntity> entities = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            if (booking.getId() == null || pendingIds.contains(booking.getId())) continue;
+            entities.add(BookingEntity.from(booking));
+        }
+        bookingDao.upsertAll(entities);
+    }
+
+    // Booking Outbox Operations
+    public boolean queueBookingOperation(String op, Booking booking, String idempotencyKey, String baseUpdatedAt) {
+        try {
+            String payload = OP_CANCEL.equals(op) ? null : ApiClient.getGson().toJson(booking);
+            db.runInTransaction(() -> queueOutboxEntry(op, booking.getId(), payload, idempotencyKey, baseUpdatedAt));
+            return true;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    // Queue an operation, folding it into what is already pending for the same booking:
+    // an update of a not-yet-created booking just rewrites the create, repeated updates collapse
+    // into one, and cancelling a booking the server never saw drops everything for it.
+    // Entries the sync worker has claimed may already be on the server, so they are never
+    // rewritten or dropped - the new operation is queued behind them instead.
+    private void queueOutboxEntry(String op, String bookingId, String payload, String idempotencyKey, String baseUpdatedAt) {
+        Long createSeq = outboxDao.findUnclaimedEntry(bookingId, OP_CREATE);
+        Long updateSeq = outboxDao.findUnclaimedEntry(bookingId, OP_UPDATE);
+
+        if (OP_UPDATE.equals(op) && (createSeq != null || updateSeq != null)) {
+            outboxDao.setPayload(createSeq != null ? createSeq : updateSeq, payload);
+        } else if (OP_CANCEL.equals(op) && createSeq != null) {
+            outboxDao.deleteForBooking(bookingId);
+        } else {
+            if (OP_CANCEL.equals(op)) {
+                outboxDao.deleteUnclaimed(bookingId, OP_UPDATE);
+            }
+            BookingOutboxEntity entry = new BookingOutboxEntity();
+            entry.op = op;
+            entry.bookingId = bookingId;
+            entry.payload = payload;
+            entry.idempotencyKey = idempotencyKey;
+            entry.baseUpdatedAt = baseUpdatedAt;
+            outboxDao.insert(entry);
+        }
+    }
+
+    // Head of the queue, claimed in the same transaction so a change queued while it is being sent
+    // can't be folded into it. A claim outlives a killed worker: the next run re-sends the entry
+    public BookingOutboxEntry claimNextOutboxEntry() {
+        BookingOutboxEntity entry = db.runInTransaction(() -> {
+            BookingOutboxEntity next = outboxDao.getNext();
+            if (next != null) outboxDao.claim(next.seq);
+            return next;
+        });
+        if (entry == null) return null;
+        return new BookingOutboxEntry(
+                entry.seq,
+                entry.op,
+                entry.bookingId,
+                entry.payload != null ? ApiClient.getGson().fromJson(entry.payload, Booking.class) : null,
+                entry.idempotencyKey,
+                entry.baseUpdatedAt,
+                entry.attempts);
+    }
+
+    public boolean hasPendingBookingOperations() {
+        return outboxDao.count() > 0;
+    }
+
+    public boolean hasPendingBookingOperations(String bookingId) {
+        return outboxDao.countForBooking(bookingId) > 0;
+    }
+
+    // A queued create was refused: the booking never existed on the server, so drop it along with
+    // anything queued behind the create
+    public void discardLocalBooking(String bookingId) {
+        db.runInTransaction(() -> {
+            bookingDao.delete(bookingId);
+            outboxDao.deleteForBooking(bookingId);
+        });
+    }
+
+    public void completeOutboxEntry(long seq) {
+        outboxDao.delete(seq);
+    }
+
+    public void recordOutboxFailure(long seq, String error) {
+        outboxDao.recordFailure(seq, error);
+    }
+
+    public void rebaseOutboxEntry(long seq, String baseUpdatedAt) {
+        outboxDao.setBase(seq, baseUpdatedAt);
+    }
+
+    // A queued create reached the server: swap the temporary local id for the real one everywhere
+    public void replaceBookingId(String localId, String serverId) {
+        db.runInTransaction(() -> {
+            bookingDao.changeId(localId, serverId);
+            outboxDao.changeBookingId(localId, serverId);
+        });
+    }
+
+    // Last change the server refused while syncing, shown to the user once
+    public void setBookingSyncError(String message) {
+        putSyncValue(SYNC_BOOKINGS_ERROR, message);
+    }
+
+    public String takeBookingSyncError() {
+        String message = getSyncValue(SYNC_BOOKINGS_ERROR);
+        if (message != null) {
+            putSyncValue(SYNC_BOOKINGS_ERROR, null);
+        }
+        return message;
+    }
+
+    // Dashboard Stats Cache
+    public void cacheDashboardStats(String userId, DashboardStats stats) {
+        putSyncValue(SYNC_STATS_PREFIX + userId, ApiClient.getGson().toJson(stats));
+        putSyncValue(SYNC_STATS_AT_PREFIX + userId, String.valueOf(System.currentTimeMillis()));
+    }
+
+    public DashboardStats getCachedDashboardStats(String userId) {
+        String json = getSyncValue(SYNC_STATS_PREFIX + userId);
+        try {
+            return json != null ? ApiClient.getGson().fromJson(json, DashboardStats.class) : null;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    // Returns 0 when the stats have never been fetched
+    public long getDashboardStatsSyncedAt(String userId) {
+        String value = getSyncValue(SYNC_STATS_AT_PREFIX + userId);
+        try {
+            return value != null ? Long.parseLong(value) : 0L;
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    // Local booking change: shift the cached counters without touching their age
+    public void adjustDashboardStats(String userId, int pendingDelta, int approvedDelta) {
+        DashboardStats stats = getCachedDashboardStats(userId);
+        if (stats == null) return;
+        stats.setPendingReservations(Math.max(0, stats.getPendingReservations() + pendingDelta));
+        stats.setApprovedReservations(Math.max(0, stats.getApprovedReservations() + approvedDelta));
+        putSyncValue(SYNC_STATS_PREFIX + userId, ApiClient.getGson().toJson(stats));
+    }
+
+    // Operator Queue Cache
+    // Only the first page is kept, deeper pages are always fetched on demand
+    public void cachePendingBookingsPage(BookingsPage page) {
+        putSyncValue(SYNC_PENDING_FIRST_PAGE, ApiClient.getGson().toJson(page));
+    }
+
+    public BookingsPage getCachedPendingBookingsPage() {
+        String json = getSyncValue(SYNC_PENDING_FIRST_PAGE);
+        try {
+            return json != null ? ApiClient.getGson().fromJson(json, BookingsPage.class) : null;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    // Station Cache Operations
+    // Full catalog download: replace the cache and remember the server's ETag / delta cursor
+    public boolean saveStations(List<Station> stations, String etag, String cursor) {
+        try {
+            db.runInTransaction(() -> {
+                stationDao.deleteAll();
+                stationDao.upsertAll(toStationEntities(stations));
+                putSyncValue(SYNC_STATIONS_ETAG, etag);
+                putSyncValue(SYNC_STATIONS_CURSOR, cursor);
+                markStationsSynced();
+            });
+            return true;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    // Delta download: apply only changed / removed stations
+    public boolean applyStationChanges(StationChanges changes) {
+        try {
+            // Changed stations, removals and the new cursor land together or not at all
+            db.runInTransaction(() -> {
+                stationDao.upsertAll(toStationEntities(changes.getStations()));
+                for (String id : changes.getRemovedIds()) {
+                    stationDao.delete(id);
+                }
+                putSyncValue(SYNC_STATIONS_CURSOR, String.valueOf(changes.getCursor()));
+                if (!changes.isEmpty()) {
+                    // The catalog changed, so the old ETag no longer describes it
+                    putSyncValue(SYNC_STATIONS_ETAG, null);
+                }
+                markStationsSynced();
+            });
+            return true;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    // Pushed availability delta: patch the cached row, the delta cursor stays where it is
+    public boolean applyStationAvailability(StationAvailability availability) {
+        try {
+            boolean updated = stationDao.updateSlots(availability.getStationId(),
+                    availability.getAvailableSlots(), availability.getTotalSlots()) > 0;
+            if (updated) {
+                putSyncValue(SYNC_STATIONS_ETAG, null);
+            }
+            return updated;
         } catch (Exception e) {
             e.printStackTrace();
+            return false;
         }
     }
+
+    public void markStationsSynced() {
+        putSyncValue(SYNC_STATIONS_AT, String.valueOf(System.currentTimeMillis()));
+    }
+
+    public String getStationsEtag() {
+        return getSyncValue(SYNC_STATIONS_ETAG);
+    }
+
+    // Returns null when no delta cursor is known yet
+    public Long getStationsCursor() {
+        String value = getSyncValue(SYNC_STATIONS_CURSOR);
+        try {
+            return value != null ? Long.parseLong(value) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public List<Station> getCachedStations() {
+        List<StationEntity> entities = stationDao.getAll();
+        List<Station> stations = new ArrayList<>(entities.size());
+        for (StationEntity entity : entities) {
+            stations.add(entity.toStation());
+        }
+        return stations;
+    }
+
+    private static List<StationEntity> toStationEntities(List<Station> stations) {
+        List<StationEntity> entities = new ArrayList<>(stations.size());
+        for (Station station : stations) {
+            if (station.getId() != null) entities.add(StationEntity.from(station));
+        }
+        return entities;
+    }
+
+    // Returns 0 when the station catalog has never been synced
+    public long getStationsSyncedAt() {
+        String value = getSyncValue(SYNC_STATIONS_AT);
+        try {
+            return value != null ? Long.parseLong(value) : 0L;
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    // Sync State
+    private void putSyncValue(String key, String value) {
+        syncStateDao.put(new SyncStateEntity(key, value));
+    }
+
+    private String getSyncValue(String key) {
+        return syncStateDao.get(key);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.example.evchargingmobileapp.database;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import java.util.List;
+
+@Dao
+public interface StationDao {
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void upsertAll(List<StationEntity> stations);
+
+    @Query("DELETE FROM stations")
+    void deleteAll();
+
+    @Query("DELETE FROM stations WHERE id = :id")
+    void delete(String id);
+
+    // Returns the number of rows changed, 0 when the station isn't cached
+    @Query("UPDATE stations SET available_slots = :availableSlots, total_slots = :totalSlots WHERE id = :id")
+    int updateSlots(String id, int availableSlots, int totalSlots);
+
+    @Query("SELECT * FROM stations ORDER BY name ASC")
+    List<StationEntity> getAll();
+}
@@ -0,0 +1,89 @@
+package com.example.evchargingmobileapp.database;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+import com.example.evchargingmobileapp.models.Station;
+
+// Offline copy of the station catalog
+@Entity(tableName = "stations")
+public class StationEntity {
+    @PrimaryKey
+    @NonNull
+    @ColumnInfo(name = "id")
+    public String id = "";
+
+    @ColumnInfo(name = "name")
+    public String name;
+
+    @ColumnInfo(name = "location")
+    public String location;
+
+    @ColumnInfo(name = "type")
+    public String type;
+
+    @ColumnInfo(name = "available_slots")
+    public int availableSlots;
+
+    @ColumnInfo(name = "total_slots")
+    public int totalSlots;
+
+    @ColumnInfo(name = "latitude")
+    public double latitude;
+
+    @ColumnInfo(name = "longitude")
+    public double longitude;
+
+    @ColumnInfo(name = "is_active")
+    public boolean isActive;
+
+    @ColumnInfo(name = "operating_hours")
+    public String operatingHours;
+
+    @ColumnInfo(name = "price_per_hour")
+    public String pricePerHour;
+
+    @ColumnInfo(name = "rating")
+    public double rating;
+
+    @ColumnInfo(name = "reviews_count")
+    public int reviewsCount;
+
+    static StationEntity from(Station station) {
+        StationEntity entity = new StationEntity();
+        entity.id = station.getId();
+        entity.name = station.getName();
+        entity.location = station.getLocation();
+        entity.type = station.getType();
+        entity.availableSlots = station.getAvailableSlots();
+        entity.totalSlots = station.getTotalSlots();
+        entity.latitude = station.getLatitude();
+        entity.longitude = station.getLongitude();
+        entity.isActive = station.isActive();
+        entity.operatingHours = station.getOperatingHours();
+        entity.pricePerHour = station.getPricePerHour();
+        entity.rating = station.getRating();
+        entity.reviewsCount = station.getReviewsCount();
+        return entity;
+    }
+
+    Station toStation() {
+        Station station = new Station();
+        station.setId(id);
+        station.setName(name);
+        station.setLocation(location);
+        station.setType(type);
+        station.setAvailableSlots(availableSlots);
+        station.setTotalSlots(totalSlots);
+        station.setLatitude(latitude);
+        station.setLongitude(longitude);
+        station.setActive(isActive);
+        station.setOperatingHours(operatingHours);
+        station.setPricePerHour(pricePerHour);
+        station.setRating(rating);
+        station.setReviewsCount(reviewsCount);
+        return station;
+    }
+}
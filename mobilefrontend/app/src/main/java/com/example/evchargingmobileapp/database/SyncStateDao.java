@@ -0,0 +1,15 @@
+package com.example.evchargingmobileapp.database;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+@Dao
+public interface SyncStateDao {
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void put(SyncStateEntity entry);
+
+    @Query("SELECT sync_value FROM sync_state WHERE sync_key = :key")
+    String get(String key);
+}
@@ -0,0 +1,27 @@
+package com.example.evchargingmobileapp.database;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Ignore;
+import androidx.room.PrimaryKey;
+
+// Key/value bookkeeping for cached data (ETags, delta cursors, cached pages and stats)
+@Entity(tableName = "sync_state")
+public class SyncStateEntity {
+    @PrimaryKey
+    @NonNull
+    @ColumnInfo(name = "sync_key")
+    public String key = "";
+
+    @ColumnInfo(name = "sync_value")
+    public String value;
+
+    SyncStateEntity() {}
+
+    @Ignore
+    SyncStateEntity(@NonNull String key, String value) {
+        this.key = key;
+        this.value = value;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.evchargingmobileapp.database;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+@Dao
+public interface UserDao {
+    // An existing row for the same NIC is kept
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    void insert(UserEntity user);
+
+    @Query("UPDATE users SET name = :name, email = :email, password = :password WHERE nic = :nic")
+    void updateProfile(String nic, String name, String email, String password);
+
+    @Query("SELECT * FROM users WHERE nic = :nic")
+    UserEntity getUser(String nic);
+}
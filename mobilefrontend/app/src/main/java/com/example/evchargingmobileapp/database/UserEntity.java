@@ -0,0 +1,58 @@
+package com.example.evchargingmobileapp.database;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+import com.example.evchargingmobileapp.models.User;
+
+@Entity(tableName = "users")
+public class UserEntity {
+    @PrimaryKey
+    @NonNull
+    @ColumnInfo(name = "nic")
+    public String nic = "";
+
+    @ColumnInfo(name = "name")
+    public String name;
+
+    @ColumnInfo(name = "email")
+    public String email;
+
+    @ColumnInfo(name = "password")
+    public String password;
+
+    @ColumnInfo(name = "role")
+    public String role;
+
+    @ColumnInfo(name = "is_active")
+    public boolean isActive;
+
+    @ColumnInfo(name = "created_at")
+    public String createdAt;
+
+    static UserEntity from(User user) {
+        UserEntity entity = new UserEntity();
+        entity.nic = user.getNic();
+        entity.name = user.getName();
+        entity.email = user.getEmail();
+        entity.password = user.getPassword();
+        entity.role = user.getRole();
+        entity.isActive = user.isActive();
+        entity.createdAt = user.getCreatedAt();
+        return entity;
+    }
+
+    User toUser() {
+        User user = new User();
+        user.setNic(nic);
+        user.setName(name);
+        user.setEmail(email);
+        user.setPassword(password);
+        user.setRole(role);
+        user.setActive(isActive);
+        user.setCreatedAt(createdAt);
+        return user;
+    }
+}
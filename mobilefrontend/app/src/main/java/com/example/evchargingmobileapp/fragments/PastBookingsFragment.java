@@ -5,6 +5,7 @@ import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
+import android.widget.Toast;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -15,6 +16,9 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.example.evchargingmobileapp.R;
 import com.example.evchargingmobileapp.activities.ViewBookingsActivity;
 import com.example.evchargingmobileapp.adapters.BookingsAdapter;
+import com.example.evchargingmobileapp.api.ApiManager;
+import com.example.evchargingmobileapp.api.BookingsPager;
+import com.example.evchargingmobileapp.api.CallScope;
 import com.example.evchargingmobileapp.models.Booking;
 
 import java.util.ArrayList;
@@ -22,17 +26,19 @@ import java.util.List;
 
 public class PastBookingsFragment extends Fragment {
 
-    private static final String ARG_BOOKINGS = "bookings";
+    private static final String ARG_USER_NIC = "user_nic";
 
-    private List<Booking> pastBookings = new ArrayList<>();
+    private String userNic;
+    private BookingsPager pager;
     private BookingsAdapter adapter;
     private RecyclerView recyclerView;
     private TextView tvEmptyState;
 
-    public static PastBookingsFragment newInstance(List<Booking> bookings) {
+    // Only this tab's slice is loaded, page by page, once the fragment is actually shown
+    public static PastBookingsFragment newInstance(String userNic) {
         PastBookingsFragment fragment = new PastBookingsFragment();
         Bundle args = new Bundle();
-        args.putSerializable(ARG_BOOKINGS, new ArrayList<>(bookings));
+        args.putString(ARG_USER_NIC, userNic);
         fragment.setArguments(args);
         return fragment;
     }
@@ -41,8 +47,14 @@ public class PastBookingsFragment extends Fragment {
     public void onCreate(@Nullable Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         if (getArguments() != null) {
-            pastBookings = (List<Booking>) getArguments().getSerializable(ARG_BOOKINGS);
+            userNic = getArguments().getString(ARG_USER_NIC);
         }
+        ApiManager apiManager = ApiManager.getInstance(requireContext());
+        // Page loads still running when the fragment is destroyed are cancelled
+        CallScope calls = CallScope.of(this);
+        pager = new BookingsPager(
+                (cursor, callback) -> apiManager.getUserBookingsPage(userNic, true, cursor, calls.bind(callback)),
+                pagerListener);
     }
 
     @Nullable
@@ -54,19 +66,29 @@ public class PastBookingsFragment extends Fragment {
         tvEmptyState = view.findViewById(R.id.tvEmptyState);
 
         setupRecyclerView();
-        updateEmptyState();
+        tvEmptyState.setVisibility(View.GONE);
+        pager.refresh();
 
         return view;
     }
 
     private void setupRecyclerView() {
-        adapter = new BookingsAdapter(pastBookings,
+        adapter = new BookingsAdapter(new ArrayList<>(),
                 this::onBookingClick,
                 this::onBookingLongClick
         );
 
-        recyclerView.setLayoutManager(new LinearLayoutManager(getContext()));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(getContext());
+        recyclerView.setLayoutManager(layoutManager);
         recyclerView.setAdapter(adapter);
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                if (dy > 0) {
+                    pager.onScrolled(layoutManager.findLastVisibleItemPosition());
+                }
+            }
+        });
     }
 
     private void onBookingClick(Booking booking) {
@@ -81,8 +103,31 @@ public class PastBookingsFragment extends Fragment {
         }
     }
 
-    private void updateEmptyState() {
-        if (pastBookings.isEmpty()) {
+    private final BookingsPager.Listener pagerListener = new BookingsPager.Listener() {
+        @Override
+        public void onBookingsChanged(List<Booking> bookings, boolean fromCache) {
+            if (adapter == null) return;
+            adapter.updateData(bookings);
+            updateEmptyState(bookings.isEmpty());
+        }
+
+        @Override
+        public void onLoadingChanged(boolean loading) {
+            // The list simply grows as pages arrive
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+            if (getContext() == null) return;
+            Toast.makeText(getContext(), "Failed to load bookings: " + errorMessage, Toast.LENGTH_SHORT).show();
+            if (adapter != null) {
+                updateEmptyState(adapter.getItemCount() == 0);
+            }
+        }
+    };
+
+    private void updateEmptyState(boolean empty) {
+        if (empty) {
             tvEmptyState.setVisibility(View.VISIBLE);
             recyclerView.setVisibility(View.GONE);
         } else {
@@ -91,12 +136,10 @@ public class PastBookingsFragment extends Fragment {
         }
     }
 
-    public void updateBookings(List<Booking> bookings) {
-        this.pastBookings.clear();
-        this.pastBookings.addAll(bookings);
-        if (adapter != null) {
-            adapter.updateData(bookings);
-            updateEmptyState();
+    // Reload from the first page, e.g. after a booking was edited or cancelled
+    public void refresh() {
+        if (pager != null && adapter != null) {
+            pager.refresh();
         }
     }
 }
\ No newline at end of file
@@ -4,6 +4,8 @@ public class ApiResponse {
     private boolean success;
     private String message;
     private Object data;
+    private String bookingId;
+    private transient boolean queued; // saved to the outbox, not yet confirmed by the server
 
     public ApiResponse() {}
 
@@ -15,4 +17,10 @@ public class ApiResponse {
 
     public Object getData() { return data; }
     public void setData(Object data) { this.data = data; }
+
+    public String getBookingId() { return bookingId; }
+    public void setBookingId(String bookingId) { this.bookingId = bookingId; }
+
+    public boolean isQueued() { return queued; }
+    public void setQueued(boolean queued) { this.queued = queued; }
 }
\ No newline at end of file
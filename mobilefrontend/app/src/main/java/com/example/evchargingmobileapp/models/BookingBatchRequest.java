@@ -0,0 +1,23 @@
+/*******************************************************
+ *file :         BookingBatchRequest.java
+ *Author:        IT22278180 - Narangoda D.A.S.
+ ********************************************************/
+
+package com.example.evchargingmobileapp.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Body of POST bookings/batch/approve and bookings/batch/complete
+public class BookingBatchRequest {
+    private List<String> ids;
+
+    public BookingBatchRequest() {}
+
+    public BookingBatchRequest(List<String> ids) {
+        this.ids = new ArrayList<>(ids);
+    }
+
+    public List<String> getIds() { return ids; }
+    public void setIds(List<String> ids) { this.ids = ids; }
+}
@@ -0,0 +1,59 @@
+/*******************************************************
+ *file :         BookingBatchResult.java
+ *Author:        IT22278180 - Narangoda D.A.S.
+ ********************************************************/
+
+package com.example.evchargingmobileapp.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Per-booking outcome of a batch approve/complete
+public class BookingBatchResult {
+    private List<Item> results;
+
+    public BookingBatchResult() {}
+
+    public List<Item> getResults() {
+        if (results == null) results = new ArrayList<>();
+        return results;
+    }
+    public void setResults(List<Item> results) { this.results = results; }
+
+    public int getSucceededCount() {
+        int count = 0;
+        for (Item item : getResults()) {
+            if (item.isSuccess()) count++;
+        }
+        return count;
+    }
+
+    public List<Item> getFailed() {
+        List<Item> failed = new ArrayList<>();
+        for (Item item : getResults()) {
+            if (!item.isSuccess()) failed.add(item);
+        }
+        return failed;
+    }
+
+    public static class Item {
+        private String id;
+        private boolean success;
+        private String status;
+        private String message;
+
+        public Item() {}
+
+        public Item(String id, boolean success, String status, String message) {
+            this.id = id;
+            this.success = success;
+            this.status = status;
+            this.message = message;
+        }
+
+        public String getId() { return id; }
+        public boolean isSuccess() { return success; }
+        public String getStatus() { return status; }
+        public String getMessage() { return message; }
+    }
+}
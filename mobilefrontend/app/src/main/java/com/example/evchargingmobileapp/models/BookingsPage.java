@@ -0,0 +1,31 @@
+/*******************************************************
+ *file :         BookingsPage.java
+ *Author:        IT22149626 - Chandrasiri G.A.S.D.
+ ********************************************************/
+
+package com.example.evchargingmobileapp.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// One page of bookings; nextCursor is an opaque token for the following page, null on the last one
+public class BookingsPage {
+    private List<Booking> items;
+    private String nextCursor;
+    private transient boolean fromCache; // served from the local copy while offline
+
+    public BookingsPage() {}
+
+    public List<Booking> getItems() {
+        return items != null ? items : new ArrayList<>();
+    }
+    public void setItems(List<Booking> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean hasMore() { return nextCursor != null; }
+
+    public boolean isFromCache() { return fromCache; }
+    public void setFromCache(boolean fromCache) { this.fromCache = fromCache; }
+}
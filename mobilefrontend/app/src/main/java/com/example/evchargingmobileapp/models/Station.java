@@ -5,17 +5,21 @@
 
 package com.example.evchargingmobileapp.models;
 
-import com.google.gson.annotations.SerializedName;
-
 public class Station {
     private String id;
     private String name;
 
-    @SerializedName("location")
-    private Object location;
+    // Location - the API sends an object, older payloads and the local cache a plain string
+    private String location;
+    private String address;
+    private String city;
+    private String district;
 
-    @SerializedName("operatingHours")
-    private Object operatingHours;
+    // Operating hours - same story: {openTime, closeTime, isOpen24Hours} or a display string
+    private String operatingHours;
+    private String openTime;
+    private String closeTime;
+    private boolean open24Hours;
 
     private String type;
     private int availableSlots;
@@ -26,7 +30,7 @@ public class Station {
     private double rating = 4.5;
     private int reviewsCount = 85;
     private String pricePerHour = "Rs2000/hr";
-    private double distance = 2.3;
+    private double distance = -1; // km from the user, -1 until a location fix is known
 
     // Constructors
     public Station() {}
@@ -43,7 +47,31 @@ public class Station {
         this.operatingHours = "24/7";
     }
 
-    // Getters and Setters with robust object handling
+    // Shallow copy - lets callers derive an updated station without mutating one that is on screen
+    public Station(Station other) {
+        this.id = other.id;
+        this.name = other.name;
+        this.location = other.location;
+        this.address = other.address;
+        this.city = other.city;
+        this.district = other.district;
+        this.operatingHours = other.operatingHours;
+        this.openTime = other.openTime;
+        this.closeTime = other.closeTime;
+        this.open24Hours = other.open24Hours;
+        this.type = other.type;
+        this.availableSlots = other.availableSlots;
+        this.totalSlots = other.totalSlots;
+        this.latitude = other.latitude;
+        this.longitude = other.longitude;
+        this.isActive = other.isActive;
+        this.rating = other.rating;
+        this.reviewsCount = other.reviewsCount;
+        this.pricePerHour = other.pricePerHour;
+        this.distance = other.distance;
+    }
+
+    // Getters and Setters
     public String getId() { return id; }
     public void setId(String id) { this.id = id; }
 
@@ -51,28 +79,54 @@ public class Station {
     public void setName(String name) { this.name = name; }
 
     public String getLocation() {
-        return extractStringFromObject(location, name + " Charging Station");
+        if (location != null && !location.isEmpty()) {
+            return location;
+        }
+        if (address != null && !address.isEmpty()) {
+            return city != null && !city.isEmpty() ? address + ", " + city : address;
+        }
+        return name + " Charging Station";
     }
 
     public void setLocation(String location) {
         this.location = location;
     }
 
+    public String getAddress() { return address; }
+    public void setAddress(String address) { this.address = address; }
+
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = city; }
+
+    public String getDistrict() { return district; }
+    public void setDistrict(String district) { this.district = district; }
+
     public String getOperatingHours() {
-        return extractStringFromObject(operatingHours, "24/7");
+        if (operatingHours != null && !operatingHours.isEmpty()) {
+            return operatingHours;
+        }
+        if (!open24Hours && openTime != null && closeTime != null) {
+            return shortTime(openTime) + " - " + shortTime(closeTime);
+        }
+        return "24/7";
     }
 
     public void setOperatingHours(String operatingHours) {
         this.operatingHours = operatingHours;
     }
 
-    // Helper method to extract string from object
-    private String extractStringFromObject(Object obj, String defaultValue) {
-        if (obj instanceof String) {
-            return (String) obj;
-        }
-        // You could add more complex object parsing here if needed
-        return defaultValue;
+    public String getOpenTime() { return openTime; }
+    public void setOpenTime(String openTime) { this.openTime = openTime; }
+
+    public String getCloseTime() { return closeTime; }
+    public void setCloseTime(String closeTime) { this.closeTime = closeTime; }
+
+    public boolean isOpen24Hours() { return open24Hours; }
+    public void setOpen24Hours(boolean open24Hours) { this.open24Hours = open24Hours; }
+
+    // "08:00:00" -> "08:00"
+    private String shortTime(String time) {
+        return time.length() >= 5 ? time.substring(0, 5) : time;
     }
 
     // Other getters and setters remain the same...
@@ -0,0 +1,57 @@
+/*******************************************************
+ *file :         StationAvailability.java
+ *Author:        IT22278180 - Narangoda D.A.S.
+ ********************************************************/
+
+package com.example.evchargingmobileapp.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// One slot-availability delta pushed on GET stations/availability/stream
+public class StationAvailability {
+    private String stationId;
+    private int availableSlots;
+    private int totalSlots;
+
+    public StationAvailability() {}
+
+    public StationAvailability(String stationId, int availableSlots, int totalSlots) {
+        this.stationId = stationId;
+        this.availableSlots = availableSlots;
+        this.totalSlots = totalSlots;
+    }
+
+    public String getStationId() { return stationId; }
+    public void setStationId(String stationId) { this.stationId = stationId; }
+
+    public int getAvailableSlots() { return availableSlots; }
+    public void setAvailableSlots(int availableSlots) { this.availableSlots = availableSlots; }
+
+    public int getTotalSlots() { return totalSlots; }
+    public void setTotalSlots(int totalSlots) { this.totalSlots = totalSlots; }
+
+    // New list with this delta applied to the matching station, or null if nothing changes
+    public List<Station> applyTo(List<Station> stations) {
+        for (int i = 0; i < stations.size(); i++) {
+            Station station = stations.get(i);
+            if (stationId.equals(station.getId())) {
+                if (station.getAvailableSlots() == availableSlots && station.getTotalSlots() == totalSlots) {
+                    return null;
+                }
+                List<Station> updated = new ArrayList<>(stations);
+                updated.set(i, applyTo(station));
+                return updated;
+            }
+        }
+        return null;
+    }
+
+    // Station with this delta applied, leaving the original untouched
+    public Station applyTo(Station station) {
+        Station updated = new Station(station);
+        updated.setAvailableSlots(availableSlots);
+        updated.setTotalSlots(totalSlots);
+        return updated;
+    }
+}
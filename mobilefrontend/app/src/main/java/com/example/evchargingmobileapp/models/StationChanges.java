@@ -0,0 +1,35 @@
+/*******************************************************
+ *file :         StationChanges.java
+ *Author:        IT22278180 - Narangoda D.A.S.
+ ********************************************************/
+
+package com.example.evchargingmobileapp.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Delta returned by GET stations/changes?since={cursor}
+public class StationChanges {
+    private List<Station> stations;
+    private List<String> removedIds;
+    private long cursor;
+
+    public StationChanges() {}
+
+    public List<Station> getStations() {
+        return stations != null ? stations : new ArrayList<>();
+    }
+    public void setStations(List<Station> stations) { this.stations = stations; }
+
+    public List<String> getRemovedIds() {
+        return removedIds != null ? removedIds : new ArrayList<>();
+    }
+    public void setRemovedIds(List<String> removedIds) { this.removedIds = removedIds; }
+
+    public long getCursor() { return cursor; }
+    public void setCursor(long cursor) { this.cursor = cursor; }
+
+    public boolean isEmpty() {
+        return getStations().isEmpty() && getRemovedIds().isEmpty();
+    }
+}
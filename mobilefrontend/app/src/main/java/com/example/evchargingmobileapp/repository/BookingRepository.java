@@ -0,0 +1,91 @@
+package com.example.evchargingmobileapp.repository;
+
+import android.content.Context;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.example.evchargingmobileapp.api.ApiManager;
+import com.example.evchargingmobileapp.interfaces.ApiCallback;
+import com.example.evchargingmobileapp.models.ApiResponse;
+import com.example.evchargingmobileapp.models.Booking;
+import com.example.evchargingmobileapp.models.DashboardStats;
+
+// App-wide entry point for booking changes and the signed-in user's dashboard counters.
+// Every create / edit / cancel made through here republishes getStats(), so a dashboard
+// further down the back stack is already current when the user returns to it. Main thread only.
+public class BookingRepository {
+
+    private static BookingRepository instance;
+
+    private final ApiManager apiManager;
+    private final MutableLiveData<DashboardStats> stats = new MutableLiveData<>();
+    private String statsUserId;
+
+    public static synchronized BookingRepository getInstance(Context context) {
+        if (instance == null) {
+            instance = new BookingRepository(ApiManager.getInstance(context));
+        }
+        return instance;
+    }
+
+    private BookingRepository(ApiManager apiManager) {
+        this.apiManager = apiManager;
+    }
+
+    public LiveData<DashboardStats> getStats() {
+        return stats;
+    }
+
+    // Cheap to call often: ApiManager answers from its short-lived stats cache
+    public void loadStats(String userId, ApiCallback<DashboardStats> callback) {
+        if (!userId.equals(statsUserId)) {
+            statsUserId = userId;
+            stats.setValue(null);
+        }
+        apiManager.getUserStats(userId, new ApiCallback<DashboardStats>() {
+            @Override
+            public void onSuccess(DashboardStats result) {
+                if (userId.equals(statsUserId)) {
+                    stats.setValue(result);
+                }
+                if (callback != null) callback.onSuccess(result);
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                if (callback != null) callback.onError(errorMessage);
+            }
+        });
+    }
+
+    public void createBooking(Booking booking, ApiCallback<ApiResponse> callback) {
+        apiManager.createBooking(booking, republishingStats(callback));
+    }
+
+    public void updateBooking(String id, Booking booking, ApiCallback<ApiResponse> callback) {
+        apiManager.updateBooking(id, booking, republishingStats(callback));
+    }
+
+    public void cancelBooking(String id, ApiCallback<ApiResponse> callback) {
+        apiManager.cancelBooking(id, republishingStats(callback));
+    }
+
+    private ApiCallback<ApiResponse> republishingStats(final ApiCallback<ApiResponse> callback) {
+        return new ApiCallback<ApiResponse>() {
+            @Override
+            public void onSuccess(ApiResponse response) {
+                // ApiManager has already adjusted the cached counters for this change
+                if (statsUserId != null) {
+                    loadStats(statsUserId, null);
+                }
+                callback.onSuccess(response);
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                callback.onError(errorMessage);
+            }
+        };
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.evchargingmobileapp.repository;
+
+import android.content.Context;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.example.evchargingmobileapp.api.ApiManager;
+import com.example.evchargingmobileapp.api.NetworkMonitor;
+import com.example.evchargingmobileapp.api.StationAvailabilityStream;
+import com.example.evchargingmobileapp.interfaces.ApiCallback;
+import com.example.evchargingmobileapp.models.Station;
+import com.example.evchargingmobileapp.models.StationAvailability;
+
+import java.util.List;
+
+// App-wide station catalog. Screens observe getStations() instead of each loading their own copy:
+// the last catalog is kept in memory, availability pushes and refreshes publish a new list, and
+// the live stream stays open while at least one screen wants it. Main thread only.
+public class StationRepository {
+
+    private static StationRepository instance;
+
+    private final ApiManager apiManager;
+    private final MutableLiveData<List<Station>> stations = new MutableLiveData<>();
+    private long loadedAt = 0L;
+    private int liveUpdateClients = 0;
+    // The last availability push: the list it was applied to, the list it published and the station it changed
+    private List<Station> patchedFrom;
+    private List<Station> patchedTo;
+    private Station patchedStation;
+
+    public static synchronized StationRepository getInstance(Context context) {
+        if (instance == null) {
+            instance = new StationRepository(ApiManager.getInstance(context));
+            NetworkMonitor.getInstance(context).addListener(instance::onNetworkChanged);
+        }
+        return instance;
+    }
+
+    private StationRepository(ApiManager apiManager) {
+        this.apiManager = apiManager;
+    }
+
+    // Lists published here are shared by every observer and must not be modified
+    public LiveData<List<Station>> getStations() {
+        return stations;
+    }
+
+    // The station a single availability push changed, if that push is all that separates previous from
+    // current; null for a load or refresh, or when pushes were missed. Lets a screen patch its indexes
+    // for one station instead of rebuilding them over the whole catalog
+    public Station getAvailabilityChange(List<Station> previous, List<Station> current) {
+        return previous != null && previous == patchedFrom && current == patchedTo ? patchedStation : null;
+    }
+
+    // Loads the catalog unless a recent one is already in memory. callback (may be null) is told
+    // about this request's outcome; the stations themselves arrive through getStations()
+    public void loadStations(ApiCallback<List<Station>> callback) {
+        boolean fresh = stations.getValue() != null
+                && System.currentTimeMillis() - loadedAt < ApiManager.DEFAULT_STATION_CACHE_TTL_MS;
+        if (fresh) {
+            if (callback != null) callback.onSuccess(stations.getValue());
+            return;
+        }
+        // Concurrent loads from several screens are merged by ApiManager's request coalescing
+        apiManager.getAllStations(publishing(callback));
+    }
+
+    // Network refresh regardless of what is in memory
+    public void refreshStations(ApiCallback<List<Station>> callback) {
+        apiManager.refreshStations(publishing(callback));
+    }
+
+    public void startLiveUpdates() {
+        if (liveUpdateClients++ == 0) {
+            apiManager.startAvailabilityUpdates(availabilityListener);
+        }
+    }
+
+    public void stopLiveUpdates() {
+        if (liveUpdateClients > 0 && --liveUpdateClients == 0) {
+            apiManager.stopAvailabilityUpdates();
+        }
+    }
+
+    // Catch up once the network allows: a delta sync after an outage (the live stream does this itself
+    // when it is running), or the full catalog download that was put off on a metered link
+    private void onNetworkChanged(NetworkMonitor monitor, boolean reconnected) {
+        if (stations.getValue() == null) return;
+        boolean owedFullSync = apiManager.hasDeferredStationSync() && monitor.allowsBulkDownloads();
+        if (owedFullSync || (reconnected && liveUpdateClients == 0)) {
+            refreshStations(null);
+        }
+    }
+
+    private ApiCallback<List<Station>> publishing(final ApiCallback<List<Station>> callback) {
+        return new ApiCallback<List<Station>>() {
+            @Override
+            public void onSuccess(List<Station> result) {
+                loadedAt = System.currentTimeMillis();
+                patchedFrom = null;
+                patchedTo = null;
+                patchedStation = null;
+                stations.setValue(result);
+                if (callback != null) callback.onSuccess(result);
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                if (callback != null) callback.onError(errorMessage);
+            }
+        };
+    }
+
+    // Live slot counts: patch the one station that changed instead of re-fetching the catalog
+    private final StationAvailabilityStream.Listener availabilityListener = new StationAvailabilityStream.Listener() {
+        @Override
+        public void onAvailabilityChanged(StationAvailability availability) {
+            List<Station> current = stations.getValue();
+            List<Station> updated = current != null ? availability.applyTo(current) : null;
+            if (updated == null) return;
+            for (Station station : updated) {
+                if (availability.getStationId().equals(station.getId())) {
+                    patchedStation = station;
+                    break;
+                }
+            }
+            patchedFrom = current;
+            patchedTo = updated;
+            stations.setValue(updated);
+        }
+
+        @Override
+        public void onConnected(boolean reconnected) {
+            // Pushes sent while we were disconnected are gone - a delta sync catches up cheaply
+            if (reconnected) {
+                refreshStations(null);
+            }
+        }
+    };
+}
@@ -0,0 +1,94 @@
+package com.example.evchargingmobileapp.repository;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.example.evchargingmobileapp.api.ApiManager;
+import com.example.evchargingmobileapp.database.DatabaseManager;
+import com.example.evchargingmobileapp.interfaces.ApiCallback;
+import com.example.evchargingmobileapp.models.ApiResponse;
+import com.example.evchargingmobileapp.models.User;
+
+import java.util.concurrent.Executor;
+
+// The signed-in user, read once from the local database and kept in memory for every screen.
+// Profile edits update it in place. Main thread only.
+public class UserRepository {
+
+    private static UserRepository instance;
+
+    private final ApiManager apiManager;
+    private final DatabaseManager databaseManager;
+    private final Executor dbExecutor;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final MutableLiveData<User> currentUser = new MutableLiveData<>();
+
+    public static synchronized UserRepository getInstance(Context context) {
+        if (instance == null) {
+            instance = new UserRepository(ApiManager.getInstance(context), DatabaseManager.getInstance(context));
+        }
+        return instance;
+    }
+
+    private UserRepository(ApiManager apiManager, DatabaseManager databaseManager) {
+        this.apiManager = apiManager;
+        this.databaseManager = databaseManager;
+        this.dbExecutor = databaseManager.getIoExecutor();
+    }
+
+    // Loads the user from the device the first time (or after switching accounts)
+    public LiveData<User> getUser(String nic) {
+        User user = currentUser.getValue();
+        if (user == null || !nic.equals(user.getNic())) {
+            currentUser.setValue(null);
+            dbExecutor.execute(() -> {
+                User stored = databaseManager.getUser(nic);
+                mainHandler.post(() -> {
+                    User latest = currentUser.getValue();
+                    if (stored != null && (latest == null || !nic.equals(latest.getNic()))) {
+                        currentUser.setValue(stored);
+                    }
+                });
+            });
+        }
+        return currentUser;
+    }
+
+    public void loginUser(String nic, String password, String role, ApiCallback<ApiResponse> callback) {
+        apiManager.loginUser(nic, password, role, callback);
+    }
+
+    public void updateUser(String nic, User updated, ApiCallback<ApiResponse> callback) {
+        apiManager.updateUser(nic, updated, new ApiCallback<ApiResponse>() {
+            @Override
+            public void onSuccess(ApiResponse response) {
+                User user = currentUser.getValue();
+                if (user != null && nic.equals(user.getNic())) {
+                    user.setName(updated.getName());
+                    user.setEmail(updated.getEmail());
+                    if (updated.getPassword() != null) user.setPassword(updated.getPassword());
+                    currentUser.setValue(user);
+                    dbExecutor.execute(() -> databaseManager.updateUser(user));
+                }
+                callback.onSuccess(response);
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                callback.onError(errorMessage);
+            }
+        });
+    }
+
+    public void deactivateUser(String nic, ApiCallback<ApiResponse> callback) {
+        apiManager.deactivateUser(nic, callback);
+    }
+
+    public void signOut() {
+        currentUser.setValue(null);
+    }
+}
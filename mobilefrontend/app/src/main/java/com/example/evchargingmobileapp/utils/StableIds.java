@@ -0,0 +1,24 @@
+package com.example.evchargingmobileapp.utils;
+
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Maps server string ids to RecyclerView stable ids. A counter is used instead of
+// String.hashCode() so two different ids can never share an item id.
+public class StableIds {
+
+    private final Map<String, Long> ids = new HashMap<>();
+    private long nextId = 1;
+
+    public long get(String key) {
+        if (key == null) return RecyclerView.NO_ID;
+        Long id = ids.get(key);
+        if (id == null) {
+            id = nextId++;
+            ids.put(key, id);
+        }
+        return id;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.evchargingmobileapp.utils;
+
+import com.example.evchargingmobileapp.models.Station;
+import com.google.android.gms.maps.model.LatLng;
+import com.google.maps.android.clustering.ClusterItem;
+
+// Map-side wrapper for a Station so the ClusterManager can place and group it
+public class StationClusterItem implements ClusterItem {
+
+    private Station station;
+    private final LatLng position;
+
+    public StationClusterItem(Station station) {
+        this.station = station;
+        this.position = new LatLng(station.getLatitude(), station.getLongitude());
+    }
+
+    public Station getStation() {
+        return station;
+    }
+
+    // The position is fixed for the item's lifetime - a station that moved needs a new item
+    public void setStation(Station station) {
+        this.station = station;
+    }
+
+    @Override
+    public LatLng getPosition() {
+        return position;
+    }
+
+    @Override
+    public String getTitle() {
+        return station.getName();
+    }
+
+    @Override
+    public String getSnippet() {
+        return station.getType() + " • " + station.getAvailableSlots() + "/" + station.getTotalSlots() + " available";
+    }
+
+    public Float getZIndex() {
+        return null;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.evchargingmobileapp.utils;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+
+import com.google.android.gms.maps.GoogleMap;
+import com.google.android.gms.maps.model.BitmapDescriptor;
+import com.google.android.gms.maps.model.BitmapDescriptorFactory;
+import com.google.android.gms.maps.model.Marker;
+import com.google.android.gms.maps.model.MarkerOptions;
+import com.google.maps.android.clustering.ClusterManager;
+import com.google.maps.android.clustering.view.DefaultClusterRenderer;
+
+// Green pin when a station has free slots, red when it is full
+public class StationClusterRenderer extends DefaultClusterRenderer<StationClusterItem> {
+
+    public StationClusterRenderer(Context context, GoogleMap map, ClusterManager<StationClusterItem> clusterManager) {
+        super(context, map, clusterManager);
+    }
+
+    @Override
+    protected void onBeforeClusterItemRendered(@NonNull StationClusterItem item, @NonNull MarkerOptions markerOptions) {
+        markerOptions.title(item.getTitle())
+                .snippet(item.getSnippet())
+                .icon(iconFor(item));
+    }
+
+    @Override
+    protected void onClusterItemUpdated(@NonNull StationClusterItem item, @NonNull Marker marker) {
+        marker.setTitle(item.getTitle());
+        marker.setSnippet(item.getSnippet());
+        marker.setIcon(iconFor(item));
+        marker.setPosition(item.getPosition());
+        if (marker.isInfoWindowShown()) {
+            marker.showInfoWindow();
+        }
+    }
+
+    private BitmapDescriptor iconFor(StationClusterItem item) {
+        return BitmapDescriptorFactory.defaultMarker(item.getStation().getAvailableSlots() > 0
+                ? BitmapDescriptorFactory.HUE_GREEN
+                : BitmapDescriptorFactory.HUE_RED);
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.evchargingmobileapp.utils;
+
+import com.example.evchargingmobileapp.models.Station;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Per-attribute bitsets over one catalog (charger type, free slots, price, opening hours), so
+// toggling a filter chip is a handful of word-wide ANDs rather than re-parsing every station.
+// Distance goes to the catalog's StationSpatialIndex as a radius query. Results keep catalog order;
+// callers wanting nearest first ask the spatial index for the nearest matches. A changed station is
+// patched in with replace(). Not thread-safe: keep it on the same thread as its spatial index.
+public class StationFilterIndex {
+
+    public static final int TYPE_AC = 1;
+    public static final int TYPE_DC = 1 << 1;
+
+    public enum Sort { LIST_ORDER, CHEAPEST }
+
+    // What to keep. Unset criteria don't filter; set ones must all hold
+    public static class Criteria {
+        int types;
+        boolean availableOnly;
+        boolean openNow;
+        double maxPricePerHour = Double.NaN;
+        double maxDistanceKm = Double.NaN;
+        Sort sort = Sort.LIST_ORDER;
+
+        // Any of the given TYPE_ flags
+        public Criteria types(int types) {
+            this.types = types;
+            return this;
+        }
+
+        public Criteria availableOnly(boolean availableOnly) {
+            this.availableOnly = availableOnly;
+            return this;
+        }
+
+        public Criteria openNow(boolean openNow) {
+            this.openNow = openNow;
+            return this;
+        }
+
+        public Criteria maxPricePerHour(double maxPricePerHour) {
+            this.maxPricePerHour = maxPricePerHour;
+            return this;
+        }
+
+        // Measured from the origin passed to apply; with no origin nothing matches
+        public Criteria maxDistanceKm(double maxDistanceKm) {
+            this.maxDistanceKm = maxDistanceKm;
+            return this;
+        }
+
+        public Criteria sort(Sort sort) {
+            this.sort = sort;
+            return this;
+        }
+
+        public Sort getSort() {
+            return sort;
+        }
+
+        public boolean limitsDistance() {
+            return !Double.isNaN(maxDistanceKm);
+        }
+
+        // True when no station would be left out (the sort order may still differ)
+        public boolean keepsEverything() {
+            return (types == 0 || types == (TYPE_AC | TYPE_DC)) && !availableOnly && !openNow
+                    && Double.isNaN(maxPricePerHour) && Double.isNaN(maxDistanceKm);
+        }
+    }
+
+    private static final Pattern HOURS = Pattern.compile("(\\d{1,2}):(\\d{2})\\s*-\\s*(\\d{1,2}):(\\d{2})");
+    private static final Pattern NUMBER = Pattern.compile("\\d+(\\.\\d+)?");
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final Station[] stations;
+    private final StationSpatialIndex spatialIndex;
+    private final Map<String, Integer> positions;
+    private final BitSet all;
+    private final BitSet dc;
+    private final BitSet ac;
+    private final BitSet available;
+    // Opening hours as minutes of the day; -1 when the station is always open or the hours can't be read
+    private final int[] opensAt;
+    private final int[] closesAt;
+    private final double[] price; // NaN when unknown
+
+    // spatialIndex must be built over the same stations
+    public StationFilterIndex(List<Station> source, StationSpatialIndex spatialIndex) {
+        int n = source.size();
+        stations = source.toArray(new Station[0]);
+        this.spatialIndex = spatialIndex;
+        positions = new HashMap<>(n * 2);
+        all = new BitSet(n);
+        all.set(0, n);
+        dc = new BitSet(n);
+        ac = new BitSet(n);
+        available = new BitSet(n);
+        opensAt = new int[n];
+        closesAt = new int[n];
+        price = new double[n];
+
+        for (int i = 0; i < n; i++) {
+            positions.put(stations[i].getId(), i);
+            read(stations[i], i);
+        }
+    }
+
+    // Swaps in a newer copy of an indexed station, e.g. after an availability push, re-reading only
+    // its own bits. Returns false if the station isn't indexed
+    public boolean replace(Station station) {
+        Integer position = positions.get(station.getId());
+        if (position == null) return false;
+        stations[position] = station;
+        read(station, position);
+        return true;
+    }
+
+    public int size() {
+        return stations.length;
+    }
+
+    public List<Station> apply(Criteria criteria, Calendar now) {
+        return apply(criteria, now, Double.NaN, Double.NaN);
+    }
+
+    // latitude / longitude: where maxDistanceKm is measured from, NaN when unknown
+    public List<Station> apply(Criteria criteria, Calendar now, double latitude, double longitude) {
+        BitSet matches = (BitSet) all.clone();
+
+        if (criteria.types != 0 && criteria.types != (TYPE_AC | TYPE_DC)) {
+            matches.and((criteria.types & TYPE_DC) != 0 ? dc : ac);
+        }
+        if (criteria.availableOnly) {
+            matches.and(available);
+        }
+        if (!Double.isNaN(criteria.maxDistanceKm)) {
+            BitSet nearby = new BitSet(stations.length);
+            if (!Double.isNaN(latitude) && !Double.isNaN(longitude)) {
+                for (Station station : spatialIndex.withinRadius(latitude, longitude, criteria.maxDistanceKm)) {
+                    Integer position = positions.get(station.getId());
+                    if (position != null) nearby.set(position);
+                }
+            }
+            matches.and(nearby);
+        }
+        // The remaining criteria depend on the query's values, so they only visit stations still matching
+        if (criteria.openNow) {
+            int minute = now.get(Calendar.HOUR_OF_DAY) * 60 + now.get(Calendar.MINUTE);
+            for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+                if (!isOpen(i, minute)) matches.clear(i);
+            }
+        }
+        if (!Double.isNaN(criteria.maxPricePerHour)) {
+            for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+                if (!(price[i] <= criteria.maxPricePerHour)) matches.clear(i);
+            }
+        }
+
+        List<Integer> order = new ArrayList<>(matches.cardinality());
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            order.add(i);
+        }
+        // Stable sort, so ties keep catalog order
+        if (criteria.sort == Sort.CHEAPEST) {
+            Collections.sort(order, (a, b) -> Double.compare(sortablePrice(a), sortablePrice(b)));
+        }
+
+        List<Station> results = new ArrayList<>(order.size());
+        for (int i : order) {
+            results.add(stations[i]);
+        }
+        return results;
+    }
+
+    private void read(Station station, int i) {
+        String type = station.getType();
+        boolean isDc = type != null && type.toUpperCase(Locale.ROOT).contains("DC");
+        dc.set(i, isDc);
+        ac.set(i, !isDc);
+        available.set(i, station.getAvailableSlots() > 0);
+        readHours(station.getOperatingHours(), i);
+        price[i] = parsePrice(station.getPricePerHour());
+    }
+
+    // Unknown prices sort last
+    private double sortablePrice(int i) {
+        return Double.isNaN(price[i]) ? Double.MAX_VALUE : price[i];
+    }
+
+    // Hours we can't read count as open - better to show a station than hide it by mistake
+    private boolean isOpen(int i, int minute) {
+        int open = opensAt[i];
+        int close = closesAt[i];
+        if (open < 0) return true;
+        if (open == close) return true;
+        return open < close
+                ? minute >= open && minute < close
+                : minute >= open || minute < close; // past midnight, e.g. 18:00 - 02:00
+    }
+
+    // "24/7" or "08:00 - 22:00"
+    private void readHours(String hours, int i) {
+        opensAt[i] = -1;
+        closesAt[i] = -1;
+        if (hours == null) return;
+        Matcher matcher = HOURS.matcher(hours);
+        if (!matcher.find()) return;
+        opensAt[i] = (Integer.parseInt(matcher.group(1)) * 60 + Integer.parseInt(matcher.group(2))) % MINUTES_PER_DAY;
+        closesAt[i] = (Integer.parseInt(matcher.group(3)) * 60 + Integer.parseInt(matcher.group(4))) % MINUTES_PER_DAY;
+    }
+
+    // "Rs2000/hr", "Rs 1,500 / hour" -> 2000, 1500
+    private static double parsePrice(String pricePerHour) {
+        if (pricePerHour == null) return Double.NaN;
+        Matcher matcher = NUMBER.matcher(pricePerHour.replace(",", ""));
+        return matcher.find() ? Double.parseDouble(matcher.group()) : Double.NaN;
+    }
+}
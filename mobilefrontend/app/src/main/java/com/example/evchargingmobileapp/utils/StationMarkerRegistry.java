@@ -0,0 +1,97 @@
+package com.example.evchargingmobileapp.utils;
+
+import com.example.evchargingmobileapp.models.Station;
+import com.google.maps.android.clustering.ClusterManager;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Keeps one cluster item per station id so a refresh only touches what actually changed:
+// new stations are added, changed ones updated in place (re-added if they moved), missing ones removed.
+public class StationMarkerRegistry {
+
+    private final ClusterManager<StationClusterItem> clusterManager;
+    private final Map<String, StationClusterItem> itemsById = new HashMap<>();
+
+    public StationMarkerRegistry(ClusterManager<StationClusterItem> clusterManager) {
+        this.clusterManager = clusterManager;
+    }
+
+    // Returns true if anything on the map changed
+    public boolean sync(List<Station> stations) {
+        Set<String> seen = new HashSet<>();
+        boolean changed = false;
+
+        for (Station station : stations) {
+            String key = keyFor(station);
+            if (!seen.add(key)) continue;
+
+            StationClusterItem item = itemsById.get(key);
+            if (item == null) {
+                item = new StationClusterItem(station);
+                itemsById.put(key, item);
+                clusterManager.addItem(item);
+                changed = true;
+            } else if (hasMoved(item.getStation(), station)) {
+                // The algorithm's quadtree finds items by their position, so a moved item is taken out
+                // where it was and a fresh one added where it is now
+                clusterManager.removeItem(item);
+                item = new StationClusterItem(station);
+                itemsById.put(key, item);
+                clusterManager.addItem(item);
+                changed = true;
+            } else if (isVisiblyDifferent(item.getStation(), station)) {
+                item.setStation(station);
+                clusterManager.updateItem(item);
+                changed = true;
+            } else {
+                // Same marker, but keep the click target pointing at the latest object
+                item.setStation(station);
+            }
+        }
+
+        Iterator<Map.Entry<String, StationClusterItem>> it = itemsById.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, StationClusterItem> entry = it.next();
+            if (!seen.contains(entry.getKey())) {
+                clusterManager.removeItem(entry.getValue());
+                it.remove();
+                changed = true;
+            }
+        }
+
+        if (changed) {
+            clusterManager.cluster();
+        }
+        return changed;
+    }
+
+    public StationClusterItem get(String stationId) {
+        return itemsById.get(stationId);
+    }
+
+    private String keyFor(Station station) {
+        if (station.getId() != null) return station.getId();
+        return station.getName() + "@" + station.getLatitude() + "," + station.getLongitude();
+    }
+
+    private boolean hasMoved(Station old, Station updated) {
+        return old.getLatitude() != updated.getLatitude() || old.getLongitude() != updated.getLongitude();
+    }
+
+    // Anything else shown by the marker itself: title, snippet or availability colour
+    private boolean isVisiblyDifferent(Station old, Station updated) {
+        return old.getAvailableSlots() != updated.getAvailableSlots()
+                || old.getTotalSlots() != updated.getTotalSlots()
+                || !equalsNullable(old.getName(), updated.getName())
+                || !equalsNullable(old.getType(), updated.getType());
+    }
+
+    private boolean equalsNullable(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.evchargingmobileapp.utils;
+
+import com.example.evchargingmobileapp.models.Station;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+// Immutable trie over the words of each station's name, location and charger type, for
+// search-as-you-type. Every query word must match the start of some indexed word, allowing a
+// typo or two for longer words: the trie is walked with one Levenshtein row per node, so whole
+// branches are skipped as soon as they can no longer match.
+public class StationSearchIndex {
+
+    // Field rank in postings and scores: a hit on the name beats one on the location or type
+    private static final int FIELD_NAME = 0;
+    private static final int FIELD_LOCATION = 1;
+    private static final int FIELD_TYPE = 2;
+    private static final int FIELD_BITS = 2;
+
+    // Per-word cost: each edit outweighs any prefix / field difference
+    private static final int COST_PER_EDIT = 10;
+    private static final int COST_PARTIAL_WORD = 3;
+    private static final int NO_MATCH = Integer.MAX_VALUE;
+
+    private final Station[] stations;
+    private final Node root = new Node();
+    private int maxDepth;
+
+    public StationSearchIndex(List<Station> source) {
+        stations = source.toArray(new Station[0]);
+        for (int i = 0; i < stations.length; i++) {
+            addWords(stations[i].getName(), i, FIELD_NAME);
+            addWords(stations[i].getLocation(), i, FIELD_LOCATION);
+            addWords(stations[i].getType(), i, FIELD_TYPE);
+        }
+    }
+
+    public int size() {
+        return stations.length;
+    }
+
+    // Stations matching every word of the query, best first (fewest typos, whole words, name hits),
+    // ties in catalog order. A blank query returns nothing - callers show the unfiltered list
+    public List<Station> search(String query, int limit) {
+        return search(query, limit, null);
+    }
+
+    // Only stations the filter accepts (null accepts all) count towards the limit
+    public List<Station> search(String query, int limit, StationSpatialIndex.Filter filter) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty() || stations.length == 0 || limit <= 0) return new ArrayList<>();
+
+        int[] total = new int[stations.length];
+        int[] wordCost = new int[stations.length];
+        for (String word : words) {
+            Arrays.fill(wordCost, NO_MATCH);
+            char[] chars = word.toCharArray();
+            // One Levenshtein row per trie depth, reused across branches instead of allocated per node
+            int[][] rows = new int[maxDepth + 1][chars.length + 1];
+            for (int i = 0; i <= chars.length; i++) rows[0][i] = i;
+            int maxEdits = maxEdits(chars.length);
+            for (int c = 0; c < root.size; c++) {
+                walk(root.children[c], root.labels[c], chars, rows, 1, maxEdits, NO_MATCH, wordCost);
+            }
+            for (int i = 0; i < stations.length; i++) {
+                total[i] = total[i] == NO_MATCH || wordCost[i] == NO_MATCH ? NO_MATCH : total[i] + wordCost[i];
+            }
+        }
+
+        List<Integer> hits = new ArrayList<>();
+        for (int i = 0; i < stations.length; i++) {
+            if (total[i] != NO_MATCH && (filter == null || filter.accepts(stations[i]))) hits.add(i);
+        }
+        Collections.sort(hits, (a, b) -> total[a] != total[b] ? Integer.compare(total[a], total[b]) : Integer.compare(a, b));
+
+        List<Station> results = new ArrayList<>(Math.min(limit, hits.size()));
+        for (int i = 0; i < hits.size() && i < limit; i++) {
+            results.add(stations[hits.get(i)]);
+        }
+        return results;
+    }
+
+    // Short words must be typed exactly, otherwise "ac" would match nearly everything
+    private static int maxEdits(int length) {
+        return length <= 2 ? 0 : length <= 5 ? 1 : 2;
+    }
+
+    // bestPrefix is the fewest edits with which the query matched a prefix of the path so far
+    private void walk(Node node, char label, char[] query, int[][] rows, int depth, int maxEdits, int bestPrefix,
+                      int[] wordCost) {
+        int m = query.length;
+        int[] prevRow = rows[depth - 1];
+        int[] row = rows[depth];
+        row[0] = prevRow[0] + 1;
+        int rowMin = row[0];
+        for (int i = 1; i <= m; i++) {
+            int substitute = prevRow[i - 1] + (query[i - 1] == label ? 0 : 1);
+            row[i] = Math.min(substitute, Math.min(row[i - 1] + 1, prevRow[i] + 1));
+            rowMin = Math.min(rowMin, row[i]);
+        }
+        bestPrefix = Math.min(bestPrefix, row[m]);
+
+        if (bestPrefix <= maxEdits && node.postings != null) {
+            // The path spells a whole indexed word here; row[m] is the distance to all of it
+            int partial = row[m] == bestPrefix ? 0 : COST_PARTIAL_WORD;
+            int base = bestPrefix * COST_PER_EDIT + partial;
+            for (int posting : node.postings) {
+                int station = posting >>> FIELD_BITS;
+                int cost = base + (posting & ((1 << FIELD_BITS) - 1));
+                if (cost < wordCost[station]) wordCost[station] = cost;
+            }
+        }
+
+        // Below here nothing can match any more unless a prefix already did
+        if (rowMin > maxEdits && bestPrefix > maxEdits) return;
+        for (int c = 0; c < node.size; c++) {
+            walk(node.children[c], node.labels[c], query, rows, depth + 1, maxEdits, bestPrefix, wordCost);
+        }
+    }
+
+    private void addWords(String text, int station, int field) {
+        for (String word : tokenize(text)) {
+            Node node = root;
+            for (int i = 0; i < word.length(); i++) {
+                node = node.child(word.charAt(i));
+            }
+            maxDepth = Math.max(maxDepth, word.length());
+            node.addPosting((station << FIELD_BITS) | field);
+        }
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) return words;
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}]+")) {
+            if (!word.isEmpty()) words.add(word);
+        }
+        return words;
+    }
+
+    private static class Node {
+        char[] labels = new char[0];
+        Node[] children = new Node[0];
+        int size;
+        int[] postings;
+
+        Node child(char label) {
+            for (int i = 0; i < size; i++) {
+                if (labels[i] == label) return children[i];
+            }
+            if (size == labels.length) {
+                int capacity = Math.max(2, size * 2);
+                labels = Arrays.copyOf(labels, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            Node node = new Node();
+            labels[size] = label;
+            children[size++] = node;
+            return node;
+        }
+
+        void addPosting(int posting) {
+            if (postings == null) {
+                postings = new int[]{posting};
+                return;
+            }
+            for (int existing : postings) {
+                if (existing == posting) return;
+            }
+            postings = Arrays.copyOf(postings, postings.length + 1);
+            postings[postings.length - 1] = posting;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.evchargingmobileapp.utils;
+
+import com.example.evchargingmobileapp.models.Station;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+// KD-tree over station coordinates for on-device nearby queries.
+// Points are stored as unit vectors on the sphere: straight-line (chord) distance between
+// them grows monotonically with great-circle distance, so a plain 3D KD-tree gives exact
+// k-nearest / radius answers without any projection error near the poles or the date line.
+// The tree never changes shape; replace() only swaps the station stored at a point. Not thread-safe:
+// keep queries and replacements on one thread.
+public class StationSpatialIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    // Which stations a query may return, e.g. those passing the dashboard's filter chips
+    public interface Filter {
+        boolean accepts(Station station);
+    }
+
+    private final Station[] stations;
+    private final double[][] points;
+    private final Map<String, Integer> positions;
+
+    public StationSpatialIndex(List<Station> source) {
+        int n = source.size();
+        Integer[] order = new Integer[n];
+        double[][] raw = new double[n][];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+            raw[i] = toUnitVector(source.get(i).getLatitude(), source.get(i).getLongitude());
+        }
+
+        build(order, raw, 0, n, 0);
+
+        stations = new Station[n];
+        points = new double[n][];
+        positions = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            stations[i] = source.get(order[i]);
+            points[i] = raw[order[i]];
+            positions.put(stations[i].getId(), i);
+        }
+    }
+
+    public int size() {
+        return stations.length;
+    }
+
+    // Swaps in a newer copy of an indexed station, e.g. after an availability push. Returns false,
+    // leaving the index as it was, if the station isn't indexed or has moved - that needs a rebuild
+    public boolean replace(Station station) {
+        Integer position = positions.get(station.getId());
+        if (position == null) return false;
+        Station old = stations[position];
+        if (old.getLatitude() != station.getLatitude() || old.getLongitude() != station.getLongitude()) return false;
+        stations[position] = station;
+        return true;
+    }
+
+    // The k closest stations, nearest first, with their distance filled in
+    public List<Station> nearest(double latitude, double longitude, int k) {
+        return nearest(latitude, longitude, k, null);
+    }
+
+    // The k closest stations the filter accepts (null accepts all); rejected stations still guide
+    // the descent but never take a slot, so pruning stays as tight as the accepted ones allow
+    public List<Station> nearest(double latitude, double longitude, int k, Filter filter) {
+        if (k <= 0 || stations.length == 0) return new ArrayList<>();
+
+        double[] query = toUnitVector(latitude, longitude);
+        PriorityQueue<Candidate> best = new PriorityQueue<>(k, (a, b) -> Double.compare(b.chord2, a.chord2));
+        searchNearest(query, k, filter, 0, stations.length, 0, best);
+        return toResults(new ArrayList<>(best));
+    }
+
+    // Every station within radiusKm, nearest first, with their distance filled in
+    public List<Station> withinRadius(double latitude, double longitude, double radiusKm) {
+        if (stations.length == 0) return new ArrayList<>();
+
+        double[] query = toUnitVector(latitude, longitude);
+        double chord = 2 * Math.sin(Math.min(Math.PI, radiusKm / EARTH_RADIUS_KM) / 2);
+        List<Candidate> hits = new ArrayList<>();
+        searchRadius(query, chord * chord, 0, stations.length, 0, hits);
+        return toResults(hits);
+    }
+
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        return chordToKm(Math.sqrt(chord2(toUnitVector(lat1, lng1), toUnitVector(lat2, lng2))));
+    }
+
+    // Recursively orders [lo, hi) so the median on the current axis sits in the middle
+    private static void build(Integer[] order, double[][] raw, int lo, int hi, int depth) {
+        if (hi - lo <= 1) return;
+        final int axis = depth % 3;
+        Arrays.sort(order, lo, hi, Comparator.comparingDouble(i -> raw[i][axis]));
+        int mid = (lo + hi) >>> 1;
+        build(order, raw, lo, mid, depth + 1);
+        build(order, raw, mid + 1, hi, depth + 1);
+    }
+
+    private void searchNearest(double[] query, int k, Filter filter, int lo, int hi, int depth,
+                               PriorityQueue<Candidate> best) {
+        if (lo >= hi) return;
+        int mid = (lo + hi) >>> 1;
+        int axis = depth % 3;
+
+        if (filter == null || filter.accepts(stations[mid])) {
+            double d2 = chord2(points[mid], query);
+            if (best.size() < k) {
+                best.add(new Candidate(mid, d2));
+            } else if (d2 < best.peek().chord2) {
+                best.poll();
+                best.add(new Candidate(mid, d2));
+            }
+        }
+
+        double diff = query[axis] - points[mid][axis];
+        if (diff < 0) {
+            searchNearest(query, k, filter, lo, mid, depth + 1, best);
+            if (best.size() < k || diff * diff < best.peek().chord2) {
+                searchNearest(query, k, filter, mid + 1, hi, depth + 1, best);
+            }
+        } else {
+            searchNearest(query, k, filter, mid + 1, hi, depth + 1, best);
+            if (best.size() < k || diff * diff < best.peek().chord2) {
+                searchNearest(query, k, filter, lo, mid, depth + 1, best);
+            }
+        }
+    }
+
+    private void searchRadius(double[] query, double maxChord2, int lo, int hi, int depth, List<Candidate> hits) {
+        if (lo >= hi) return;
+        int mid = (lo + hi) >>> 1;
+        int axis = depth % 3;
+
+        double d2 = chord2(points[mid], query);
+        if (d2 <= maxChord2) {
+            hits.add(new Candidate(mid, d2));
+        }
+
+        double diff = query[axis] - points[mid][axis];
+        if (diff < 0 || diff * diff <= maxChord2) {
+            searchRadius(query, maxChord2, lo, mid, depth + 1, hits);
+        }
+        if (diff >= 0 || diff * diff <= maxChord2) {
+            searchRadius(query, maxChord2, mid + 1, hi, depth + 1, hits);
+        }
+    }
+
+    private List<Station> toResults(List<Candidate> candidates) {
+        Collections.sort(candidates, (a, b) -> Double.compare(a.chord2, b.chord2));
+        List<Station> results = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            // Copies, so a query never rewrites distances on stations another list is showing
+            Station station = new Station(stations[candidate.index]);
+            station.setDistance(chordToKm(Math.sqrt(candidate.chord2)));
+            results.add(station);
+        }
+        return results;
+    }
+
+    private static double[] toUnitVector(double latitude, double longitude) {
+        double lat = Math.toRadians(latitude);
+        double lng = Math.toRadians(longitude);
+        double cosLat = Math.cos(lat);
+        return new double[]{cosLat * Math.cos(lng), cosLat * Math.sin(lng), Math.sin(lat)};
+    }
+
+    private static double chord2(double[] a, double[] b) {
+        double dx = a[0] - b[0];
+        double dy = a[1] - b[1];
+        double dz = a[2] - b[2];
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static double chordToKm(double chord) {
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, chord / 2));
+    }
+
+    private static class Candidate {
+        final int index;
+        final double chord2;
+
+        Candidate(int index, double chord2) {
+            this.index = index;
+            this.chord2 = chord2;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.evchargingmobileapp.api;
+
+import com.example.evchargingmobileapp.models.Booking;
+import com.example.evchargingmobileapp.models.BookingsPage;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class BookingsPagerTest {
+
+    private static final int PAGE_SIZE = 2;
+
+    // Serves rows PAGE_SIZE at a time; the cursor is the index of the next row
+    private final List<String> rows = new ArrayList<>();
+    private final List<String> requestedCursors = new ArrayList<>();
+    private final List<List<String>> published = new ArrayList<>();
+
+    private final BookingsPager pager = new BookingsPager((cursor, callback) -> {
+        requestedCursors.add(cursor);
+        int start = cursor != null ? Integer.parseInt(cursor) : 0;
+        int end = Math.min(rows.size(), start + PAGE_SIZE);
+        BookingsPage page = new BookingsPage();
+        List<Booking> items = new ArrayList<>();
+        for (int i = start; i < end; i++) {
+            Booking booking = new Booking();
+            booking.setId(rows.get(i));
+            items.add(booking);
+        }
+        page.setItems(items);
+        page.setNextCursor(end < rows.size() ? String.valueOf(end) : null);
+        callback.onSuccess(page);
+    }, new BookingsPager.Listener() {
+        @Override
+        public void onBookingsChanged(List<Booking> bookings, boolean fromCache) {
+            List<String> ids = new ArrayList<>();
+            for (Booking booking : bookings) ids.add(booking.getId());
+            published.add(ids);
+        }
+
+        @Override
+        public void onLoadingChanged(boolean loading) {
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+        }
+    });
+
+    @Test
+    public void reloadRefetchesEveryLoadedPageBeforePublishing() {
+        for (int i = 0; i < 7; i++) rows.add("b" + i);
+        pager.refresh();
+        pager.loadNextPage();
+        assertEquals(2 * PAGE_SIZE, published.get(published.size() - 1).size());
+
+        // Two of the loaded bookings were approved and left the queue
+        rows.remove("b0");
+        rows.remove("b3");
+        published.clear();
+        requestedCursors.clear();
+        pager.reload();
+
+        assertEquals(1, published.size());
+        assertEquals(list("b1", "b2", "b4", "b5"), published.get(0));
+        assertEquals(2, requestedCursors.size());
+    }
+
+    @Test
+    public void reloadStopsAtTheEndOfTheList() {
+        for (int i = 0; i < 4; i++) rows.add("b" + i);
+        pager.refresh();
+        pager.loadNextPage();
+
+        rows.clear();
+        rows.add("b3");
+        published.clear();
+        pager.reload();
+
+        assertEquals(1, published.size());
+        assertEquals(list("b3"), published.get(0));
+    }
+
+    @Test
+    public void refreshPublishesTheFirstPageOnly() {
+        for (int i = 0; i < 6; i++) rows.add("b" + i);
+        pager.refresh();
+        pager.loadNextPage();
+        published.clear();
+
+        pager.refresh();
+
+        assertEquals(1, published.size());
+        assertEquals(list("b0", "b1"), published.get(0));
+    }
+
+    private static List<String> list(String... ids) {
+        List<String> list = new ArrayList<>();
+        for (String id : ids) list.add(id);
+        return list;
+    }
+}
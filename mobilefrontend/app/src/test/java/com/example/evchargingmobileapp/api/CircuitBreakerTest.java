@@ -0,0 +1,127 @@
+package com.example.evchargingmobileapp.api;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CircuitBreakerTest {
+
+    private static final int THRESHOLD = 2;
+    private static final long OPEN_MS = 1000;
+
+    private final AtomicLong now = new AtomicLong(10_000);
+    private MockWebServer server;
+    private CircuitBreaker breaker;
+    private OkHttpClient client;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        breaker = new CircuitBreaker(THRESHOLD, OPEN_MS, now::get);
+        client = new OkHttpClient.Builder()
+                .addInterceptor(breaker)
+                .retryOnConnectionFailure(false)
+                .build();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void opensAfterConsecutiveFailuresAndFailsFast() throws Exception {
+        open();
+
+        assertTrue(breaker.isOpen());
+        assertFailsFast();
+        assertEquals(THRESHOLD, server.getRequestCount());
+    }
+
+    @Test
+    public void clientErrorsDoNotCountAsFailures() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(500));
+        server.enqueue(new MockResponse().setResponseCode(404));
+        server.enqueue(new MockResponse().setResponseCode(500));
+
+        assertEquals(500, code());
+        assertEquals(404, code());
+        assertEquals(500, code());
+        assertFalse(breaker.isOpen());
+    }
+
+    @Test
+    public void successfulTrialClosesTheCircuit() throws Exception {
+        open();
+        now.addAndGet(OPEN_MS - 1);
+        assertFailsFast();
+
+        // Half-open: one trial goes through, and its success closes the circuit
+        now.addAndGet(1);
+        server.enqueue(new MockResponse().setResponseCode(200));
+        assertEquals(200, code());
+        assertFalse(breaker.isOpen());
+
+        // Closed again: a single failure is below the threshold
+        server.enqueue(new MockResponse().setResponseCode(500));
+        server.enqueue(new MockResponse().setResponseCode(200));
+        assertEquals(500, code());
+        assertEquals(200, code());
+        assertEquals(THRESHOLD + 3, server.getRequestCount());
+    }
+
+    @Test
+    public void failedTrialReopensTheCircuit() throws Exception {
+        open();
+        now.addAndGet(OPEN_MS);
+
+        server.enqueue(new MockResponse().setResponseCode(503));
+        assertEquals(503, code());
+        assertTrue(breaker.isOpen());
+        assertFailsFast();
+        assertEquals(THRESHOLD + 1, server.getRequestCount());
+
+        // The open window restarts from the failed trial
+        now.addAndGet(OPEN_MS);
+        server.enqueue(new MockResponse().setResponseCode(200));
+        assertEquals(200, code());
+        assertFalse(breaker.isOpen());
+    }
+
+    private void open() throws Exception {
+        for (int i = 0; i < THRESHOLD; i++) {
+            server.enqueue(new MockResponse().setResponseCode(500));
+            assertEquals(500, code());
+        }
+    }
+
+    private void assertFailsFast() throws Exception {
+        try {
+            code();
+            fail("Expected the open circuit to fail fast");
+        } catch (CircuitBreaker.OpenException expected) {
+            // No HTTP cache is configured, so there is nothing to fall back to
+        }
+    }
+
+    private int code() throws Exception {
+        Request request = new Request.Builder().url(server.url("/api/stations")).build();
+        try (Response response = client.newCall(request).execute()) {
+            return response.code();
+        }
+    }
+}
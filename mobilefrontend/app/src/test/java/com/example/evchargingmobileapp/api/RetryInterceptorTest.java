@@ -0,0 +1,147 @@
+package com.example.evchargingmobileapp.api;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RetryInterceptorTest {
+
+    private static final int MAX_RETRIES = 2;
+    private static final MediaType JSON = MediaType.get("application/json");
+
+    private MockWebServer server;
+    private OkHttpClient client;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        client = new OkHttpClient.Builder()
+                .addInterceptor(new RetryInterceptor(MAX_RETRIES, 1, 5))
+                .retryOnConnectionFailure(false)
+                .build();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void getIsRetriedUntilItSucceeds() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setResponseCode(200).setBody("ok"));
+
+        try (Response response = execute(get())) {
+            assertEquals(200, response.code());
+        }
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void retriesStopAtTheCap() throws Exception {
+        for (int i = 0; i <= MAX_RETRIES + 1; i++) {
+            server.enqueue(new MockResponse().setResponseCode(502));
+        }
+
+        try (Response response = execute(get())) {
+            assertEquals(502, response.code());
+        }
+        assertEquals(MAX_RETRIES + 1, server.getRequestCount());
+    }
+
+    @Test
+    public void connectionFailureIsRetried() throws Exception {
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+        server.enqueue(new MockResponse().setResponseCode(200));
+
+        try (Response response = execute(get())) {
+            assertEquals(200, response.code());
+        }
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void clientErrorsAreNotRetried() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(404));
+
+        try (Response response = execute(get())) {
+            assertEquals(404, response.code());
+        }
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void createWithIdempotencyKeyIsRetried() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(504));
+        server.enqueue(new MockResponse().setResponseCode(201));
+
+        try (Response response = execute(write("POST", "key-1"))) {
+            assertEquals(201, response.code());
+        }
+        assertEquals(2, server.getRequestCount());
+        assertEquals("key-1", server.takeRequest().getHeader("Idempotency-Key"));
+        assertEquals("key-1", server.takeRequest().getHeader("Idempotency-Key"));
+    }
+
+    @Test
+    public void writesTheServerCannotDedupePassThrough() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setResponseCode(503));
+
+        // The server only honours the key on creates, so an edit or cancel is sent exactly once
+        try (Response response = execute(write("PUT", "key-2"))) {
+            assertEquals(503, response.code());
+        }
+        try (Response response = execute(write("DELETE", "key-3"))) {
+            assertEquals(503, response.code());
+        }
+        try (Response response = execute(write("POST", null))) {
+            assertEquals(503, response.code());
+        }
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    public void backoffIsJitteredBelowAGrowingCeiling() {
+        RetryInterceptor interceptor = new RetryInterceptor(MAX_RETRIES, 100, 1000);
+        for (int attempt = 0; attempt < 30; attempt++) {
+            long ceiling = Math.min(1000, 100L << Math.min(attempt, 20));
+            for (int sample = 0; sample < 50; sample++) {
+                long delay = interceptor.backoffDelay(attempt);
+                assertTrue("attempt " + attempt + " delay " + delay, delay >= 0 && delay <= ceiling);
+            }
+        }
+    }
+
+    private Response execute(Request request) throws Exception {
+        return client.newCall(request).execute();
+    }
+
+    private Request get() {
+        return new Request.Builder().url(server.url("/api/stations")).build();
+    }
+
+    private Request write(String method, String idempotencyKey) {
+        Request.Builder builder = new Request.Builder()
+                .url(server.url("/api/bookings/b1"))
+                .method(method, RequestBody.create("{}", JSON));
+        if (idempotencyKey != null) {
+            builder.header("Idempotency-Key", idempotencyKey);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.evchargingmobileapp.api;
+
+import com.example.evchargingmobileapp.models.StationAvailability;
+import com.google.gson.Gson;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class StationAvailabilityStreamTest {
+
+    private MockWebServer server;
+    private StationAvailabilityStream stream;
+    private final BlockingQueue<StationAvailability> pushes = new LinkedBlockingQueue<>();
+    private final BlockingQueue<Boolean> connections = new LinkedBlockingQueue<>();
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        stream = new StationAvailabilityStream(new OkHttpClient(), server.url("/api/stations/availability/stream"),
+                new Gson(), new StationAvailabilityStream.Listener() {
+                    @Override
+                    public void onAvailabilityChanged(StationAvailability availability) {
+                        pushes.add(availability);
+                    }
+
+                    @Override
+                    public void onConnected(boolean reconnected) {
+                        connections.add(reconnected);
+                    }
+                });
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        stream.stop();
+        server.shutdown();
+    }
+
+    @Test
+    public void deliversPushesAndResumesAfterDisconnect() throws Exception {
+        server.enqueue(sse("id: 1\nevent: availability\ndata: {\"stationId\":\"s1\",\"availableSlots\":2,\"totalSlots\":4}\n\n"
+                + ": heartbeat\n\n"
+                + "id: 2\nevent: availability\ndata: {\"stationId\":\"s2\",\"availableSlots\":0,\"totalSlots\":3}\n\n"));
+        server.enqueue(sse("id: 3\nevent: availability\ndata: {\"stationId\":\"s1\",\"availableSlots\":1,\"totalSlots\":4}\n\n"));
+
+        stream.start();
+
+        assertEquals(Boolean.FALSE, connections.poll(5, TimeUnit.SECONDS));
+        StationAvailability first = pushes.poll(5, TimeUnit.SECONDS);
+        assertNotNull(first);
+        assertEquals("s1", first.getStationId());
+        assertEquals(2, first.getAvailableSlots());
+        assertEquals(4, first.getTotalSlots());
+        assertEquals("s2", pushes.poll(5, TimeUnit.SECONDS).getStationId());
+
+        // The server closed the first stream, so the client comes back on its own
+        assertEquals(Boolean.TRUE, connections.poll(5, TimeUnit.SECONDS));
+        assertEquals(1, pushes.poll(5, TimeUnit.SECONDS).getAvailableSlots());
+
+        RecordedRequest initial = server.takeRequest(5, TimeUnit.SECONDS);
+        assertEquals("text/event-stream", initial.getHeader("Accept"));
+        assertNull(initial.getHeader("Last-Event-ID"));
+        RecordedRequest resumed = server.takeRequest(5, TimeUnit.SECONDS);
+        assertEquals("2", resumed.getHeader("Last-Event-ID"));
+    }
+
+    @Test
+    public void skipsUnknownAndMalformedEvents() throws Exception {
+        server.enqueue(sse("event: other\ndata: {\"stationId\":\"x\"}\n\n"
+                + "event: availability\ndata: not-json\n\n"
+                + "event: availability\ndata: {\"availableSlots\":3}\n\n"
+                + "event: availability\ndata: {\"stationId\":\"s3\",\"availableSlots\":5,\"totalSlots\":5}\n\n"));
+
+        stream.start();
+
+        StationAvailability only = pushes.poll(5, TimeUnit.SECONDS);
+        assertNotNull(only);
+        assertEquals("s3", only.getStationId());
+        assertNull(pushes.poll(300, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void stopPreventsReconnect() throws Exception {
+        server.enqueue(sse(""));
+
+        stream.start();
+        assertEquals(Boolean.FALSE, connections.poll(5, TimeUnit.SECONDS));
+        stream.stop();
+
+        assertNull(connections.poll(StationAvailabilityStream.INITIAL_BACKOFF_MS * 2, TimeUnit.MILLISECONDS));
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void backoffGrowsWithJitterUpToCap() {
+        for (int attempt = 0; attempt < 30; attempt++) {
+            long ceiling = Math.min(StationAvailabilityStream.MAX_BACKOFF_MS,
+                    StationAvailabilityStream.INITIAL_BACKOFF_MS << Math.min(attempt, 16));
+            long delay = stream.backoffDelayMs(attempt);
+            assertTrue("attempt " + attempt + " delay " + delay, delay >= ceiling / 2 && delay <= ceiling);
+        }
+    }
+
+    private static MockResponse sse(String body) {
+        return new MockResponse()
+                .setHeader("Content-Type", "text/event-stream")
+                .setBody(body);
+    }
+}
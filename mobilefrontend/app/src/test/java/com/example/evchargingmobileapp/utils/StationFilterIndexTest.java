@@ -0,0 +1,205 @@
+package com.example.evchargingmobileapp.utils;
+
+import com.example.evchargingmobileapp.models.Station;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class StationFilterIndexTest {
+
+    private static final Calendar NOON = at(12, 0);
+
+    @Test
+    public void typeMasksSplitAcFromDc() {
+        StationFilterIndex index = index(
+                station("s1", "AC"),
+                station("s2", "DC Fast"),
+                station("s3", "dc"),
+                station("s4", null));
+
+        assertEquals(ids("s2", "s3"), apply(index, criteria().types(StationFilterIndex.TYPE_DC), NOON));
+        // Anything not DC counts as AC, including an unknown type
+        assertEquals(ids("s1", "s4"), apply(index, criteria().types(StationFilterIndex.TYPE_AC), NOON));
+        int both = StationFilterIndex.TYPE_AC | StationFilterIndex.TYPE_DC;
+        assertEquals(ids("s1", "s2", "s3", "s4"), apply(index, criteria().types(both), NOON));
+        assertTrue(criteria().types(both).keepsEverything());
+    }
+
+    @Test
+    public void availableOnlyNeedsAFreeSlot() {
+        Station full = station("s1", "AC");
+        full.setAvailableSlots(0);
+        Station free = station("s2", "AC");
+        free.setAvailableSlots(2);
+        StationFilterIndex index = index(full, free);
+
+        assertEquals(ids("s2"), apply(index, criteria().availableOnly(true), NOON));
+    }
+
+    @Test
+    public void openNowReadsDayAndOvernightHours() {
+        StationFilterIndex index = index(
+                hours("day", "08:00 - 22:00"),
+                hours("overnight", "18:00 - 02:00"),
+                hours("roundTheClock", "00:00 - 00:00"),
+                hours("allDay", "24/7"),
+                hours("unknown", null),
+                hours("garbled", "until late"));
+        StationFilterIndex.Criteria openNow = criteria().openNow(true);
+
+        assertEquals(ids("day", "roundTheClock", "allDay", "unknown", "garbled"), apply(index, openNow, NOON));
+        assertEquals(ids("day", "overnight", "roundTheClock", "allDay", "unknown", "garbled"),
+                apply(index, openNow, at(21, 59)));
+        assertEquals(ids("overnight", "roundTheClock", "allDay", "unknown", "garbled"), apply(index, openNow, at(1, 30)));
+        // Closing time is exclusive, opening time inclusive
+        assertEquals(ids("roundTheClock", "allDay", "unknown", "garbled"), apply(index, openNow, at(2, 0)));
+        assertEquals(ids("day", "roundTheClock", "allDay", "unknown", "garbled"), apply(index, openNow, at(8, 0)));
+    }
+
+    @Test
+    public void maxPriceReadsTheFirstNumber() {
+        StationFilterIndex index = index(
+                price("plain", "Rs2000/hr"),
+                price("grouped", "Rs 1,500 / hour"),
+                price("decimal", "LKR 999.50 per hour"),
+                price("unknown", "Ask at the counter"),
+                price("missing", null));
+
+        assertEquals(ids("grouped", "decimal"), apply(index, criteria().maxPricePerHour(1500), NOON));
+        assertEquals(ids("decimal"), apply(index, criteria().maxPricePerHour(1499.99), NOON));
+        assertEquals(ids("plain", "grouped", "decimal"), apply(index, criteria().maxPricePerHour(2000), NOON));
+    }
+
+    @Test
+    public void cheapestFirstIsStableAndPutsUnknownPricesLast() {
+        StationFilterIndex index = index(
+                price("unknown", null),
+                price("b", "Rs1500/hr"),
+                price("c", "Rs900/hr"),
+                price("a", "Rs1500/hr"));
+
+        assertEquals(ids("c", "b", "a", "unknown"),
+                apply(index, criteria().sort(StationFilterIndex.Sort.CHEAPEST), NOON));
+        assertEquals(ids("unknown", "b", "c", "a"), apply(index, criteria(), NOON));
+    }
+
+    @Test
+    public void distanceNeedsAnOriginAndUsesTheSpatialIndex() {
+        Station colombo = located("colombo", 6.9271, 79.8612);
+        Station dehiwala = located("dehiwala", 6.8511, 79.8659);
+        Station kandy = located("kandy", 7.2906, 80.6337);
+        StationFilterIndex index = index(colombo, dehiwala, kandy);
+        StationFilterIndex.Criteria nearby = criteria().maxDistanceKm(10);
+
+        assertFalse(nearby.keepsEverything());
+        // Unknown location: nothing can be shown as nearby
+        assertEquals(ids(), apply(index, nearby, NOON));
+        assertEquals(ids("colombo", "dehiwala"),
+                ids(index.apply(nearby, NOON, 6.9271, 79.8612)));
+        assertEquals(ids("colombo", "dehiwala", "kandy"),
+                ids(index.apply(criteria().maxDistanceKm(200), NOON, 6.9271, 79.8612)));
+    }
+
+    @Test
+    public void replaceRereadsOnlyThatStation() {
+        Station full = station("s1", "AC");
+        full.setAvailableSlots(0);
+        Station free = station("s2", "AC");
+        StationFilterIndex index = index(full, free);
+        StationFilterIndex.Criteria availableOnly = criteria().availableOnly(true);
+
+        Station freed = new Station(full);
+        freed.setAvailableSlots(2);
+        assertTrue(index.replace(freed));
+        assertEquals(ids("s1", "s2"), apply(index, availableOnly, NOON));
+        assertTrue(index.apply(availableOnly, NOON).get(0) == freed);
+
+        Station filled = new Station(free);
+        filled.setAvailableSlots(0);
+        filled.setType("DC");
+        assertTrue(index.replace(filled));
+        assertEquals(ids("s1"), apply(index, availableOnly, NOON));
+        assertEquals(ids("s2"), apply(index, criteria().types(StationFilterIndex.TYPE_DC), NOON));
+        assertEquals(ids("s1"), apply(index, criteria().types(StationFilterIndex.TYPE_AC), NOON));
+
+        assertFalse(index.replace(station("unknown", "AC")));
+    }
+
+    @Test
+    public void criteriaCombine() {
+        Station cheapDc = price("cheapDc", "Rs1000/hr");
+        cheapDc.setType("DC");
+        Station dearDc = price("dearDc", "Rs3000/hr");
+        dearDc.setType("DC");
+        Station cheapAc = price("cheapAc", "Rs500/hr");
+        StationFilterIndex index = index(cheapDc, dearDc, cheapAc);
+
+        assertEquals(ids("cheapDc"), apply(index,
+                criteria().types(StationFilterIndex.TYPE_DC).maxPricePerHour(1500), NOON));
+    }
+
+    private static StationFilterIndex.Criteria criteria() {
+        return new StationFilterIndex.Criteria();
+    }
+
+    private static StationFilterIndex index(Station... stations) {
+        List<Station> list = Arrays.asList(stations);
+        return new StationFilterIndex(list, new StationSpatialIndex(list));
+    }
+
+    private static List<String> apply(StationFilterIndex index, StationFilterIndex.Criteria criteria, Calendar now) {
+        return ids(index.apply(criteria, now));
+    }
+
+    private static Station station(String id, String type) {
+        Station station = new Station();
+        station.setId(id);
+        station.setType(type);
+        station.setAvailableSlots(1);
+        return station;
+    }
+
+    private static Station hours(String id, String operatingHours) {
+        Station station = station(id, "AC");
+        station.setOperatingHours(operatingHours);
+        return station;
+    }
+
+    private static Station price(String id, String pricePerHour) {
+        Station station = station(id, "AC");
+        station.setPricePerHour(pricePerHour);
+        return station;
+    }
+
+    private static Station located(String id, double latitude, double longitude) {
+        Station station = station(id, "AC");
+        station.setLatitude(latitude);
+        station.setLongitude(longitude);
+        return station;
+    }
+
+    private static Calendar at(int hour, int minute) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(Calendar.HOUR_OF_DAY, hour);
+        calendar.set(Calendar.MINUTE, minute);
+        return calendar;
+    }
+
+    private static List<String> ids(String... ids) {
+        return new ArrayList<>(Arrays.asList(ids));
+    }
+
+    private static List<String> ids(List<Station> stations) {
+        List<String> ids = new ArrayList<>();
+        for (Station station : stations) ids.add(station.getId());
+        return ids;
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.evchargingmobileapp.utils;
+
+import com.example.evchargingmobileapp.models.Station;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class StationSearchIndexTest {
+
+    @Test
+    public void shortWordsMustBeExact() {
+        StationSearchIndex index = index(
+                station("s1", "Town Hall", "Colombo", "AC"),
+                station("s2", "Harbour", "Galle", "DC"));
+
+        assertEquals(ids("s1"), search(index, "ac"));
+        assertEquals(ids(), search(index, "ax"));
+    }
+
+    @Test
+    public void mediumWordsAllowOneTypo() {
+        StationSearchIndex index = index(station("s1", "Hill Top", "Kandy", "AC"));
+
+        assertEquals(ids("s1"), search(index, "kandi"));
+        assertEquals(ids(), search(index, "kxndi"));
+    }
+
+    @Test
+    public void longWordsAllowTwoTypos() {
+        StationSearchIndex index = index(station("s1", "Fort", "Colombo", "AC"));
+
+        assertEquals(ids("s1"), search(index, "colmobo"));
+        assertEquals(ids(), search(index, "cxlmxbx"));
+    }
+
+    @Test
+    public void prefixesMatchButWholeWordsRankFirst() {
+        StationSearchIndex index = index(
+                station("galle", "Galle Face", "Colombo", "AC"),
+                station("gal", "Gal Oya", "Ampara", "AC"));
+
+        assertEquals(ids("gal", "galle"), search(index, "gal"));
+    }
+
+    @Test
+    public void nameHitsRankAboveLocationHits() {
+        StationSearchIndex index = index(
+                station("inKandy", "Central Hub", "Kandy", "AC"),
+                station("namedKandy", "Kandy Charge", "Town", "AC"));
+
+        assertEquals(ids("namedKandy", "inKandy"), search(index, "kandy"));
+    }
+
+    @Test
+    public void fewerTyposOutrankTheField() {
+        StationSearchIndex index = index(
+                station("typoInName", "Kandi Point", "Town", "AC"),
+                station("exactLocation", "Central Hub", "Kandy", "AC"));
+
+        assertEquals(ids("exactLocation", "typoInName"), search(index, "kandy"));
+    }
+
+    @Test
+    public void everyWordMustMatch() {
+        StationSearchIndex index = index(
+                station("fast", "Colombo Fast", "Fort", "DC"),
+                station("slow", "Colombo Slow", "Fort", "AC"));
+
+        assertEquals(ids("fast"), search(index, "colombo dc"));
+        assertEquals(ids("fast", "slow"), search(index, "COLOMBO, fort"));
+    }
+
+    @Test
+    public void tiesKeepCatalogOrderAndLimitApplies() {
+        StationSearchIndex index = index(
+                station("one", "Hub One", "Fort", "AC"),
+                station("two", "Hub Two", "Fort", "AC"),
+                station("three", "Hub Three", "Fort", "AC"));
+
+        assertEquals(ids("one", "two", "three"), search(index, "hub"));
+        assertEquals(ids("one", "two"), ids(index.search("hub", 2)));
+    }
+
+    @Test
+    public void filterAppliesBeforeTheLimit() {
+        StationSearchIndex index = index(
+                station("one", "Hub One", "Fort", "AC"),
+                station("two", "Hub Two", "Fort", "AC"),
+                station("three", "Hub Three", "Fort", "AC"));
+
+        assertEquals(ids("two", "three"), ids(index.search("hub", 2, station -> !station.getId().equals("one"))));
+        assertEquals(ids("one", "two"), ids(index.search("hub", 2, null)));
+    }
+
+    @Test
+    public void blankQueriesAndEmptyIndexesReturnNothing() {
+        StationSearchIndex index = index(station("s1", "Hub", "Fort", "AC"));
+
+        assertTrue(index.search("   ", 10).isEmpty());
+        assertTrue(index.search("hub", 0).isEmpty());
+        assertTrue(index().search("hub", 10).isEmpty());
+    }
+
+    private static StationSearchIndex index(Station... stations) {
+        return new StationSearchIndex(Arrays.asList(stations));
+    }
+
+    private static List<String> search(StationSearchIndex index, String query) {
+        return ids(index.search(query, 50));
+    }
+
+    private static Station station(String id, String name, String location, String type) {
+        Station station = new Station();
+        station.setId(id);
+        station.setName(name);
+        station.setLocation(location);
+        station.setType(type);
+        return station;
+    }
+
+    private static List<String> ids(String... ids) {
+        return new ArrayList<>(Arrays.asList(ids));
+    }
+
+    private static List<String> ids(List<Station> stations) {
+        List<String> ids = new ArrayList<>();
+        for (Station station : stations) ids.add(station.getId());
+        return ids;
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.evchargingmobileapp.utils;
+
+import com.example.evchargingmobileapp.models.Station;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+// The KD-tree queries against a brute-force scan over the same stations
+public class StationSpatialIndexTest {
+
+    private static final double EPSILON_KM = 1e-6;
+
+    private final Random random = new Random(42);
+
+    @Test
+    public void nearestMatchesBruteForce() {
+        List<Station> stations = randomStations(2000);
+        StationSpatialIndex index = new StationSpatialIndex(stations);
+
+        for (int query = 0; query < 50; query++) {
+            double latitude = 5.9 + random.nextDouble() * 4;
+            double longitude = 79.5 + random.nextDouble() * 2.5;
+            for (int k : new int[]{1, 10, 50}) {
+                assertSameStations(bruteForce(stations, latitude, longitude, Double.MAX_VALUE, null, k),
+                        index.nearest(latitude, longitude, k));
+            }
+        }
+    }
+
+    @Test
+    public void filteredNearestOnlyReturnsAcceptedStations() {
+        List<Station> stations = randomStations(2000);
+        StationSpatialIndex index = new StationSpatialIndex(stations);
+        StationSpatialIndex.Filter dcOnly = station -> "DC".equals(station.getType());
+
+        for (int query = 0; query < 50; query++) {
+            double latitude = 5.9 + random.nextDouble() * 4;
+            double longitude = 79.5 + random.nextDouble() * 2.5;
+            List<Station> nearest = index.nearest(latitude, longitude, 20, dcOnly);
+            assertSameStations(bruteForce(stations, latitude, longitude, Double.MAX_VALUE, dcOnly, 20), nearest);
+        }
+    }
+
+    @Test
+    public void withinRadiusMatchesBruteForce() {
+        List<Station> stations = randomStations(2000);
+        StationSpatialIndex index = new StationSpatialIndex(stations);
+
+        for (int query = 0; query < 50; query++) {
+            double latitude = 5.9 + random.nextDouble() * 4;
+            double longitude = 79.5 + random.nextDouble() * 2.5;
+            for (double radiusKm : new double[]{0.5, 10, 60}) {
+                assertSameStations(bruteForce(stations, latitude, longitude, radiusKm, null, Integer.MAX_VALUE),
+                        index.withinRadius(latitude, longitude, radiusKm));
+            }
+        }
+    }
+
+    @Test
+    public void queriesCopyStationsWithTheirDistance() {
+        List<Station> stations = randomStations(10);
+        StationSpatialIndex index = new StationSpatialIndex(stations);
+
+        Station nearest = index.nearest(6.9, 79.8, 1).get(0);
+        Station original = null;
+        for (Station station : stations) {
+            if (station.getId().equals(nearest.getId())) original = station;
+        }
+        assertTrue(nearest != original);
+        assertEquals(-1, original.getDistance(), 0);
+        assertEquals(StationSpatialIndex.distanceKm(6.9, 79.8, original.getLatitude(), original.getLongitude()),
+                nearest.getDistance(), EPSILON_KM);
+    }
+
+    @Test
+    public void replaceSwapsAStationInPlaceUnlessItMoved() {
+        List<Station> stations = randomStations(20);
+        StationSpatialIndex index = new StationSpatialIndex(stations);
+        Station original = stations.get(7);
+
+        Station busier = new Station(original);
+        busier.setAvailableSlots(original.getAvailableSlots() + 3);
+        assertTrue(index.replace(busier));
+        Station nearest = index.nearest(original.getLatitude(), original.getLongitude(), 1).get(0);
+        assertEquals(original.getId(), nearest.getId());
+        assertEquals(busier.getAvailableSlots(), nearest.getAvailableSlots());
+
+        Station moved = new Station(busier);
+        moved.setLatitude(original.getLatitude() + 1);
+        assertFalse(index.replace(moved));
+        Station unknown = new Station(busier);
+        unknown.setId("elsewhere");
+        assertFalse(index.replace(unknown));
+        assertEquals(busier.getAvailableSlots(),
+                index.nearest(original.getLatitude(), original.getLongitude(), 1).get(0).getAvailableSlots());
+    }
+
+    @Test
+    public void emptyIndexAnswersNothing() {
+        StationSpatialIndex index = new StationSpatialIndex(new ArrayList<>());
+        assertTrue(index.nearest(6.9, 79.8, 5).isEmpty());
+        assertTrue(index.withinRadius(6.9, 79.8, 100).isEmpty());
+    }
+
+    private List<Station> randomStations(int count) {
+        List<Station> stations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Station station = new Station();
+            station.setId("station-" + i);
+            station.setType(i % 3 == 0 ? "DC" : "AC");
+            station.setLatitude(5.9 + random.nextDouble() * 4);
+            station.setLongitude(79.5 + random.nextDouble() * 2.5);
+            stations.add(station);
+        }
+        return stations;
+    }
+
+    private static List<Station> bruteForce(List<Station> stations, double latitude, double longitude,
+                                            double radiusKm, StationSpatialIndex.Filter filter, int k) {
+        List<Station> hits = new ArrayList<>();
+        for (Station station : stations) {
+            if (filter != null && !filter.accepts(station)) continue;
+            double distance = StationSpatialIndex.distanceKm(latitude, longitude,
+                    station.getLatitude(), station.getLongitude());
+            if (distance > radiusKm) continue;
+            Station copy = new Station(station);
+            copy.setDistance(distance);
+            hits.add(copy);
+        }
+        Collections.sort(hits, (a, b) -> Double.compare(a.getDistance(), b.getDistance()));
+        return hits.size() > k ? hits.subList(0, k) : hits;
+    }
+
+    // Same stations at the same distances, nearest first
+    private static void assertSameStations(List<Station> expected, List<Station> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getDistance(), actual.get(i).getDistance(), EPSILON_KM);
+            if (i > 0) {
+                assertTrue(actual.get(i - 1).getDistance() <= actual.get(i).getDistance());
+            }
+        }
+        List<String> expectedIds = ids(expected);
+        List<String> actualIds = ids(actual);
+        Collections.sort(expectedIds);
+        Collections.sort(actualIds);
+        assertEquals(expectedIds, actualIds);
+    }
+
+    private static List<String> ids(List<Station> stations) {
+        List<String> ids = new ArrayList<>();
+        for (Station station : stations) ids.add(station.getId());
+        return ids;
+    }
+}